@@ -0,0 +1,210 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.model.Categoria;
+import com.projetointegrador.estoque.model.Fornecedor;
+import com.projetointegrador.estoque.model.Marca;
+import com.projetointegrador.estoque.model.Produto;
+import com.projetointegrador.estoque.model.Usuario;
+import com.projetointegrador.estoque.repository.Especificacoes;
+import com.projetointegrador.estoque.util.TextoUtil;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Buscas "contém, ignorando caixa" dos repositórios. Nomes são comparados já normalizados
+ * (coluna nome_normalizado, sem acentos), os demais campos por upper(coluna). No Postgres o
+ * like é servido por um índice GIN pg_trgm na mesma expressão; no MySQL um índice FULLTEXT com
+ * parser ngram filtra as linhas e o like só confirma o trecho. Os índices são criados na
+ * subida, depois do schema do Hibernate; enquanto um deles não existir (ou em outros bancos,
+ * como o H2 dos testes) a busca fica só com o like.
+ */
+@Component
+public class BuscaTextual {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaTextual.class);
+
+    // Tamanho padrão de ngram_token_size: trechos menores não geram tokens no índice.
+    private static final int MENOR_TOKEN_NGRAM = 2;
+
+    public static final String NOME_NORMALIZADO = "nomeNormalizado";
+
+    private static final List<Campo> CAMPOS = List.of(
+            new Campo(Produto.class, NOME_NORMALIZADO),
+            new Campo(Produto.class, "codigo"),
+            new Campo(Categoria.class, NOME_NORMALIZADO),
+            new Campo(Marca.class, NOME_NORMALIZADO),
+            new Campo(Fornecedor.class, NOME_NORMALIZADO),
+            new Campo(Usuario.class, "nome"));
+
+    enum Banco { POSTGRES, MYSQL, OUTRO }
+
+    record Campo(Class<?> entidade, String atributo) {
+
+        String tabela() {
+            return entidade.getAnnotation(Table.class).name();
+        }
+
+        String coluna() {
+            return atributo.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+        }
+
+        // Colunas normalizadas já estão em minúsculas: o índice e o like vão direto nelas.
+        String expressao() {
+            return atributo.equals(NOME_NORMALIZADO) ? coluna() : "upper(" + coluna() + ")";
+        }
+
+        String indice(String sufixo) {
+            return "idx_" + tabela() + "_" + coluna() + "_" + sufixo;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Banco banco;
+    private final Set<Campo> indexados = ConcurrentHashMap.newKeySet();
+
+    public BuscaTextual(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.banco = identificar(entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect());
+    }
+
+    static Banco identificar(Dialect dialeto) {
+        if (dialeto instanceof PostgreSQLDialect) {
+            return Banco.POSTGRES;
+        }
+        // O MariaDB não tem o parser ngram.
+        if (dialeto instanceof MySQLDialect && !(dialeto instanceof MariaDBDialect)) {
+            return Banco.MYSQL;
+        }
+        return Banco.OUTRO;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void criarIndices() {
+        if (banco == Banco.OUTRO) {
+            return;
+        }
+        for (Campo campo : CAMPOS) {
+            try {
+                if (banco == Banco.POSTGRES) {
+                    criarIndiceTrigramas(campo);
+                } else {
+                    criarIndiceFullText(campo);
+                }
+                indexados.add(campo);
+            } catch (DataAccessException e) {
+                log.warn("Índice de busca textual de {}.{} não criado; a busca segue só com like: {}",
+                        campo.tabela(), campo.atributo(), e.getMessage());
+            }
+        }
+    }
+
+    private void criarIndiceTrigramas(Campo campo) {
+        jdbcTemplate.execute("create extension if not exists pg_trgm");
+        jdbcTemplate.execute("create index if not exists " + campo.indice("trgm") + " on " + campo.tabela()
+                + " using gin (" + campo.expressao() + " gin_trgm_ops)");
+    }
+
+    private void criarIndiceFullText(Campo campo) {
+        Integer existentes = jdbcTemplate.queryForObject("select count(*) from information_schema.statistics "
+                        + "where table_schema = database() and table_name = ? and index_name = ?",
+                Integer.class, campo.tabela(), campo.indice("ngram"));
+        if (existentes != null && existentes > 0) {
+            return;
+        }
+        // Com a lista padrão de stopwords o ngram descarta tokens como "ab" (contém "a"),
+        // e a lista vale para o índice a partir da criação: por isso a mesma conexão.
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute("set session innodb_ft_enable_stopword = 0");
+                try {
+                    comando.execute("alter table " + campo.tabela() + " add fulltext index "
+                            + campo.indice("ngram") + " (" + campo.coluna() + ") with parser ngram");
+                } finally {
+                    comando.execute("set session innodb_ft_enable_stopword = 1");
+                }
+            }
+            return null;
+        });
+    }
+
+    public <T> List<T> buscarPorNome(Class<T> entidade, String nome, String... associacoes) {
+        return buscar(entidade, NOME_NORMALIZADO, TextoUtil.normalizar(nome), associacoes);
+    }
+
+    public <T> List<T> buscar(Class<T> entidade, String atributo, String termo, String... associacoes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entidade);
+        Root<T> root = query.from(entidade);
+        query.where(contem(entidade, atributo, termo).toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("id")));
+
+        var consulta = entityManager.createQuery(query);
+        if (associacoes.length > 0) {
+            EntityGraph<T> grafo = entityManager.createEntityGraph(entidade);
+            grafo.addAttributeNodes(associacoes);
+            consulta.setHint("jakarta.persistence.fetchgraph", grafo);
+        }
+        return consulta.getResultList();
+    }
+
+    public <T> Specification<T> contem(Class<T> entidade, String atributo, String termo) {
+        Specification<T> like = atributo.equals(NOME_NORMALIZADO)
+                ? Especificacoes.contem(atributo, termo)
+                : Especificacoes.contemIgnorandoCaixa(atributo, termo);
+        if (banco != Banco.MYSQL || !indexados.contains(new Campo(entidade, atributo))) {
+            return like;
+        }
+        String frase = fraseBooleana(termo);
+        if (frase.isEmpty()) {
+            return like;
+        }
+        Specification<T> fullText = (root, query, cb) -> cb.gt(
+                cb.function(FuncoesBuscaTextual.MATCH_NGRAM, Double.class, root.get(atributo), cb.literal(frase)), 0);
+        return fullText.and(like);
+    }
+
+    /*
+     * Cada trecho sem espaços vira uma frase obrigatória, que o parser ngram quebra em tokens
+     * consecutivos. Aspas saem do termo e trechos curtos demais ficam só para o like.
+     */
+    static String fraseBooleana(String termo) {
+        StringJoiner frase = new StringJoiner(" ");
+        for (String trecho : termo.replace("\"", " ").trim().split("\\s+")) {
+            if (trecho.length() >= MENOR_TOKEN_NGRAM) {
+                frase.add("+\"" + trecho + "\"");
+            }
+        }
+        return frase.toString();
+    }
+}
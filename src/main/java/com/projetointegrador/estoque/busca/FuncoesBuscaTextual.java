@@ -0,0 +1,23 @@
+package com.projetointegrador.estoque.busca;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/*
+ * match ... against não tem forma de chamada de função, então é registrado como padrão
+ * para poder entrar nas Specifications. Registrado via META-INF/services.
+ */
+public class FuncoesBuscaTextual implements FunctionContributor {
+
+    public static final String MATCH_NGRAM = "match_ngram";
+
+    @Override
+    public void contributeFunctions(FunctionContributions funcoes) {
+        if (funcoes.getDialect() instanceof MySQLDialect) {
+            funcoes.getFunctionRegistry().registerPattern(MATCH_NGRAM, "match(?1) against (?2 in boolean mode)",
+                    funcoes.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+        }
+    }
+}
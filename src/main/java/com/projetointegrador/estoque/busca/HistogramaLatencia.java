@@ -0,0 +1,60 @@
+package com.projetointegrador.estoque.busca;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Latências em faixas de potência de dois, em microssegundos: a faixa i conta o que ficou entre
+ * 2^(i-1) e 2^i, e a última recebe tudo acima de ~33 s. Os percentis saem do limite superior da
+ * faixa, então erram para cima em no máximo o dobro; em troca, registrar é só um incremento.
+ */
+final class HistogramaLatencia {
+
+    private static final int FAIXAS = 26;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS + 1);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maxima = new LongAccumulator(Math::max, 0);
+
+    void registrar(long micros) {
+        int faixa = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+        contagens.incrementAndGet(Math.min(faixa, FAIXAS));
+        total.increment();
+        soma.add(micros);
+        maxima.accumulate(micros);
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    double media() {
+        long quantidade = total.sum();
+        return quantidade == 0 ? 0 : (double) soma.sum() / quantidade;
+    }
+
+    long maxima() {
+        return maxima.get();
+    }
+
+    long percentil(double fracao) {
+        long quantidade = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            quantidade += contagens.get(i);
+        }
+        if (quantidade == 0) {
+            return 0;
+        }
+        long alvo = (long) Math.ceil(fracao * quantidade);
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(1L << i, maxima.get());
+            }
+        }
+        return maxima.get();
+    }
+}
@@ -0,0 +1,198 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.NomeIndexavelDTO;
+import com.projetointegrador.estoque.dto.SugestaoDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.enums.TipoSugestao;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.CategoriaRepository;
+import com.projetointegrador.estoque.repository.FornecedorRepository;
+import com.projetointegrador.estoque.repository.MarcaRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import com.projetointegrador.estoque.util.TextoUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+ * Sugestões por prefixo do nome para a caixa de busca. Os produtos vêm do IndiceProduto; marcas,
+ * categorias e fornecedores são tabelas pequenas, então cada alteração recarrega a tabela
+ * inteira numa instância nova, trocada de uma vez. As teclas só leem o último índice publicado:
+ * a verificação periódica das versões, para escritas de outras instâncias, e as recargas que
+ * ela dispara rodam numa thread à parte. Cada fonte contribui com no máximo
+ * "limite" candidatos, e o ranking só reordena esses: exatos primeiro, depois os mais curtos.
+ */
+@Component
+public class IndiceAutocomplete {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceAutocomplete.class);
+
+    public static final int LIMITE_MAXIMO = 20;
+
+    private static final Comparator<Candidato> RANKING = Comparator
+            .comparing((Candidato candidato) -> !candidato.exato())
+            .thenComparingInt(candidato -> candidato.entrada().normalizado().length())
+            .thenComparing(Candidato::tipo)
+            .thenComparing(candidato -> candidato.entrada().normalizado());
+
+    private record Candidato(TipoSugestao tipo, IndicePrefixos.Entrada entrada, boolean exato) {
+    }
+
+    private record Fonte(TabelaVersionada tabela, Supplier<List<NomeIndexavelDTO>> nomes) {
+    }
+
+    private final IndiceProduto indiceProduto;
+    private final VersaoTabelaRepository versaoTabelaRepository;
+    private final long intervaloVerificacao;
+    private final Map<TipoSugestao, Fonte> fontes = new EnumMap<>(TipoSugestao.class);
+
+    private final Map<TipoSugestao, IndicePrefixos> indices = new ConcurrentHashMap<>();
+    private final Map<TipoSugestao, Long> versoesCarregadas = new ConcurrentHashMap<>();
+    private volatile long ultimaVerificacao;
+
+    private final ExecutorService verificador = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "autocomplete");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean verificacaoPendente = new AtomicBoolean();
+
+    public IndiceAutocomplete(
+            IndiceProduto indiceProduto,
+            MarcaRepository marcaRepository,
+            CategoriaRepository categoriaRepository,
+            FornecedorRepository fornecedorRepository,
+            VersaoTabelaRepository versaoTabelaRepository,
+            @Value("${estoque.busca.indice.intervalo-verificacao:5s}") Duration intervaloVerificacao
+    ) {
+        this.indiceProduto = indiceProduto;
+        this.versaoTabelaRepository = versaoTabelaRepository;
+        this.intervaloVerificacao = intervaloVerificacao.toNanos();
+
+        fontes.put(TipoSugestao.MARCA, new Fonte(TabelaVersionada.MARCAS, marcaRepository::listarNomes));
+        fontes.put(TipoSugestao.CATEGORIA, new Fonte(TabelaVersionada.CATEGORIAS, categoriaRepository::listarNomes));
+        fontes.put(TipoSugestao.FORNECEDOR, new Fonte(TabelaVersionada.FORNECEDORES, fornecedorRepository::listarNomes));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        fontes.keySet().forEach(this::recarregar);
+        ultimaVerificacao = System.nanoTime();
+    }
+
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        fontes.forEach((tipo, fonte) -> {
+            if (evento.tabelas().contains(fonte.tabela())) {
+                recarregar(tipo);
+            }
+        });
+    }
+
+    public List<SugestaoDTO> sugerir(String termo, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        String prefixo = termo == null ? "" : TextoUtil.normalizar(termo.strip());
+        if (prefixo.isEmpty()) {
+            return List.of();
+        }
+        if (System.nanoTime() - ultimaVerificacao > intervaloVerificacao) {
+            agendarVerificacao();
+        }
+
+        List<IndicePrefixos.Entrada> entradas = new ArrayList<>(limite);
+        List<Candidato> candidatos = new ArrayList<>(limite * TipoSugestao.values().length);
+        for (TipoSugestao tipo : TipoSugestao.values()) {
+            entradas.clear();
+            if (tipo == TipoSugestao.PRODUTO) {
+                indiceProduto.sugerir(prefixo, limite, entradas);
+            } else {
+                IndicePrefixos indice = indices.get(tipo);
+                if (indice != null) {
+                    indice.coletar(prefixo, limite, entradas);
+                }
+            }
+            for (IndicePrefixos.Entrada entrada : entradas) {
+                candidatos.add(new Candidato(tipo, entrada, entrada.normalizado().equals(prefixo)));
+            }
+        }
+
+        candidatos.sort(RANKING);
+        List<SugestaoDTO> sugestoes = new ArrayList<>(Math.min(limite, candidatos.size()));
+        for (int i = 0; i < candidatos.size() && i < limite; i++) {
+            Candidato candidato = candidatos.get(i);
+            sugestoes.add(new SugestaoDTO(candidato.tipo(), candidato.entrada().id(), candidato.entrada().nome()));
+        }
+        return sugestoes;
+    }
+
+    private void agendarVerificacao() {
+        ultimaVerificacao = System.nanoTime();
+        if (verificacaoPendente.compareAndSet(false, true)) {
+            verificador.execute(() -> {
+                verificacaoPendente.set(false);
+                try {
+                    verificarVersoes();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao verificar as versões das sugestões", e);
+                }
+            });
+        }
+    }
+
+    // Escritas de outras instâncias não geram evento aqui.
+    private void verificarVersoes() {
+        Map<String, Long> versoes = versaoTabelaRepository.findAllById(
+                        fontes.values().stream().map(fonte -> fonte.tabela().name()).toList())
+                .stream()
+                .collect(Collectors.toMap(VersaoTabela::getTabela, VersaoTabela::getVersao));
+        fontes.forEach((tipo, fonte) -> {
+            Long versao = versoes.getOrDefault(fonte.tabela().name(), 0L);
+            if (!versao.equals(versoesCarregadas.get(tipo))) {
+                recarregar(tipo);
+            }
+        });
+    }
+
+    // A versão é lida antes dos nomes: se uma escrita entrar no meio, a próxima verificação recarrega.
+    private synchronized void recarregar(TipoSugestao tipo) {
+        Fonte fonte = fontes.get(tipo);
+        Long versao = versaoDa(fonte.tabela());
+        IndicePrefixos novo = new IndicePrefixos();
+        for (NomeIndexavelDTO nome : fonte.nomes().get()) {
+            novo.adicionar(nome.id(), nome.nome(), TextoUtil.normalizar(nome.nome()));
+        }
+        indices.put(tipo, novo);
+        versoesCarregadas.put(tipo, versao);
+    }
+
+    private Long versaoDa(TabelaVersionada tabela) {
+        return versaoTabelaRepository.findById(tabela.name())
+                .map(VersaoTabela::getVersao)
+                .orElse(0L);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        verificador.shutdownNow();
+    }
+}
@@ -0,0 +1,441 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.ProdutoDocumentoDTO;
+import com.projetointegrador.estoque.dto.ReconstrucaoIndiceDTO;
+import com.projetointegrador.estoque.enums.SituacaoReconstrucao;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.ProdutoRemovidoRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+/*
+ * Índice Lucene em disco para a pesquisa por relevância, tolerante a erros de digitação, em
+ * nome, descrição, código, marca e categoria. Segue a mesma sequência de alteração do
+ * IndiceProduto, mas fora da requisição: cada escrita local enfileira uma sincronização numa
+ * única thread de indexação, que aplica o que mudou e reabre o leitor (near-real-time) sem
+ * esperar commit. A sequência aplicada vai junto de cada commit, então depois de reiniciar só o
+ * que mudou desde o último commit é reaplicado.
+ */
+@Component
+public class IndiceLucene {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceLucene.class);
+
+    public static final int LIMITE_MAXIMO = 100;
+
+    static final String ID = "id";
+    static final String NOME = "nome";
+    static final String DESCRICAO = "descricao";
+    static final String CODIGO = "codigo";
+    static final String MARCA = "marca";
+    static final String CATEGORIA = "categoria";
+
+    private static final String SEQUENCIA = "sequencia";
+    private static final int LOTE = 1000;
+    private static final long INTERVALO_COMMIT = TimeUnit.SECONDS.toNanos(5);
+
+    private static final Map<String, Float> PESOS = Map.of(
+            CODIGO, 4f, NOME, 3f, MARCA, 2f, CATEGORIA, 2f, DESCRICAO, 1f);
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoRemovidoRepository produtoRemovidoRepository;
+    private final VersaoTabelaRepository versaoTabelaRepository;
+    private final long intervaloVerificacao;
+    private final int paralelismo;
+
+    private final Analyzer analisador = new Analisador();
+    private final Path caminho;
+    private final boolean temporario;
+    private final Directory diretorio;
+    private final IndexWriter escritor;
+    private final SearcherManager leitores;
+
+    private final ExecutorService indexador = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "indexador-lucene");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean sincronizacaoPendente = new AtomicBoolean();
+    private final AtomicReference<ReconstrucaoIndiceDTO> ultimaReconstrucao = new AtomicReference<>();
+
+    // Escritos só pela thread de indexação.
+    private long sequenciaAplicada;
+    private long ultimoCommit = System.nanoTime();
+    private boolean alteradoDesdeCommit;
+
+    private volatile long ultimaVerificacao;
+
+    public IndiceLucene(
+            ProdutoRepository produtoRepository,
+            ProdutoRemovidoRepository produtoRemovidoRepository,
+            VersaoTabelaRepository versaoTabelaRepository,
+            @Value("${estoque.busca.lucene.diretorio:}") String diretorio,
+            @Value("${estoque.busca.lucene.paralelismo:0}") int paralelismo,
+            @Value("${estoque.busca.indice.intervalo-verificacao:5s}") Duration intervaloVerificacao
+    ) {
+        this.produtoRepository = produtoRepository;
+        this.produtoRemovidoRepository = produtoRemovidoRepository;
+        this.versaoTabelaRepository = versaoTabelaRepository;
+        this.intervaloVerificacao = intervaloVerificacao.toNanos();
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        try {
+            // Sem diretório configurado (testes) cada contexto usa o seu, apagado ao fechar.
+            this.temporario = diretorio.isBlank();
+            this.caminho = temporario ? Files.createTempDirectory("estoque-lucene") : Files.createDirectories(Path.of(diretorio));
+            this.diretorio = new MMapDirectory(caminho);
+            this.escritor = new IndexWriter(this.diretorio, new IndexWriterConfig(analisador)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.leitores = new SearcherManager(escritor, null);
+            this.sequenciaAplicada = sequenciaConfirmada();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o índice de pesquisa em " + diretorio, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        agendarSincronizacao();
+    }
+
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        if (evento.tabelas().contains(TabelaVersionada.PRODUTOS)) {
+            agendarSincronizacao();
+        }
+    }
+
+    // Ids em ordem de relevância.
+    public List<Long> pesquisar(String termo, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        // Escritas de outras instâncias não geram evento aqui.
+        if (System.nanoTime() - ultimaVerificacao > intervaloVerificacao) {
+            agendarSincronizacao();
+        }
+        List<String> tokens = termo == null ? List.of() : analisar(termo);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            IndexSearcher buscador = leitores.acquire();
+            try {
+                ScoreDoc[] encontrados = buscador.search(consulta(tokens), limite).scoreDocs;
+                List<Long> ids = new ArrayList<>(encontrados.length);
+                for (ScoreDoc encontrado : encontrados) {
+                    ids.add(Long.valueOf(buscador.storedFields().document(encontrado.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                leitores.release(buscador);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Descarta o índice e o refaz a partir do banco, dividindo os ids entre várias threads. A
+     * situação fica em ultimaReconstrucao; só a reconstrução mais recente a atualiza ao terminar.
+     */
+    public CompletableFuture<Integer> reconstruir() {
+        ReconstrucaoIndiceDTO iniciada = new ReconstrucaoIndiceDTO(
+                SituacaoReconstrucao.EM_ANDAMENTO, Instant.now(), null, null, null);
+        ultimaReconstrucao.set(iniciada);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return reconstruirAgora();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, indexador).whenComplete((indexados, erro) -> {
+            if (erro != null) {
+                log.error("Falha ao reconstruir o índice de pesquisa", erro);
+            }
+            ultimaReconstrucao.compareAndSet(iniciada, erro == null
+                    ? new ReconstrucaoIndiceDTO(SituacaoReconstrucao.CONCLUIDA, iniciada.inicio(), Instant.now(), indexados, null)
+                    : new ReconstrucaoIndiceDTO(SituacaoReconstrucao.FALHOU, iniciada.inicio(), Instant.now(), null, erro.toString()));
+        });
+    }
+
+    public Optional<ReconstrucaoIndiceDTO> ultimaReconstrucao() {
+        return Optional.ofNullable(ultimaReconstrucao.get());
+    }
+
+    // Espera o que já está na fila de indexação, como as sincronizações das escritas já confirmadas.
+    public void aguardarIndexacao() {
+        CompletableFuture.runAsync(() -> {
+        }, indexador).join();
+    }
+
+    /*
+     * Cada token precisa aparecer em algum campo; o último também vale como prefixo, para a
+     * pesquisa funcionar enquanto se digita. Tokens com 3 letras ou mais aceitam 1 erro, e
+     * com 6 ou mais, 2.
+     */
+    static Query consulta(List<String> tokens) {
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean ultimo = i == tokens.size() - 1;
+            int erros = token.length() >= 6 ? 2 : token.length() >= 3 ? 1 : 0;
+
+            BooleanQuery.Builder campos = new BooleanQuery.Builder();
+            PESOS.forEach((campo, peso) -> {
+                Term termo = new Term(campo, token);
+                campos.add(new BoostQuery(new TermQuery(termo), peso), BooleanClause.Occur.SHOULD);
+                if (campo.equals(CODIGO)) {
+                    return;
+                }
+                if (ultimo) {
+                    campos.add(new BoostQuery(new PrefixQuery(termo), peso * 0.8f), BooleanClause.Occur.SHOULD);
+                }
+                if (erros > 0) {
+                    campos.add(new BoostQuery(new FuzzyQuery(termo, erros, 1), peso * 0.5f), BooleanClause.Occur.SHOULD);
+                }
+            });
+            consulta.add(campos.build(), BooleanClause.Occur.MUST);
+        }
+        return consulta.build();
+    }
+
+    List<String> analisar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream fluxo = analisador.tokenStream(NOME, texto)) {
+            CharTermAttribute termo = fluxo.addAttribute(CharTermAttribute.class);
+            fluxo.reset();
+            while (fluxo.incrementToken()) {
+                tokens.add(termo.toString());
+            }
+            fluxo.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private void agendarSincronizacao() {
+        ultimaVerificacao = System.nanoTime();
+        if (sincronizacaoPendente.compareAndSet(false, true)) {
+            indexador.execute(() -> {
+                sincronizacaoPendente.set(false);
+                try {
+                    sincronizar();
+                } catch (Exception e) {
+                    log.warn("Falha ao sincronizar o índice de pesquisa; nova tentativa na próxima alteração", e);
+                }
+            });
+        }
+    }
+
+    private void sincronizar() throws IOException {
+        long versao = versaoAtual();
+        if (versao == sequenciaAplicada) {
+            confirmarSeNecessario(false);
+            return;
+        }
+        // Índice vazio, ou a sequência voltou (banco recriado ou restaurado).
+        if (sequenciaAplicada < 0 || versao < sequenciaAplicada) {
+            reconstruirAgora();
+            return;
+        }
+
+        for (Long id : produtoRemovidoRepository.buscarIdsRemovidos(sequenciaAplicada, versao)) {
+            escritor.deleteDocuments(new Term(ID, id.toString()));
+        }
+        for (ProdutoDocumentoDTO produto : produtoRepository.buscarDocumentosAlterados(sequenciaAplicada, versao)) {
+            escritor.updateDocument(new Term(ID, produto.id().toString()), documento(produto));
+        }
+        sequenciaAplicada = versao;
+        alteradoDesdeCommit = true;
+        leitores.maybeRefresh();
+        confirmarSeNecessario(false);
+    }
+
+    private int reconstruirAgora() throws IOException {
+        long versao = versaoAtual();
+        long maiorId = produtoRepository.buscarMaiorId();
+        long faixa = Math.max(1, (maiorId + paralelismo - 1) / paralelismo);
+
+        int indexados;
+        try {
+            escritor.deleteAll();
+            // Threads próprias, uma por faixa, em vez do pool comum que o resto da aplicação divide.
+            try (ExecutorService faixas = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+                Thread thread = new Thread(tarefa, "reconstrucao-lucene");
+                thread.setDaemon(true);
+                return thread;
+            })) {
+                List<CompletableFuture<Integer>> partes = LongStream.range(0, paralelismo)
+                        .mapToObj(parte -> CompletableFuture.supplyAsync(
+                                () -> indexarFaixa(parte * faixa, Math.min(maiorId, (parte + 1) * faixa)), faixas))
+                        .toList();
+                indexados = partes.stream().mapToInt(CompletableFuture::join).sum();
+            }
+        } catch (IOException | RuntimeException e) {
+            /*
+             * O escritor ficou com o deleteAll e só parte dos documentos. Sem sequência aplicada
+             * nada disso é publicado aos leitores nem confirmado com uma sequência válida: a
+             * próxima sincronização recomeça a reconstrução e, até lá, a pesquisa segue no
+             * índice anterior.
+             */
+            sequenciaAplicada = -1;
+            throw e;
+        }
+
+        sequenciaAplicada = versao;
+        alteradoDesdeCommit = true;
+        confirmarSeNecessario(true);
+        leitores.maybeRefresh();
+        log.info("Índice de pesquisa reconstruído com {} produtos", indexados);
+        return indexados;
+    }
+
+    // Ids em (apos, ate], em lotes pelo próprio id; o IndexWriter aceita várias threads.
+    private int indexarFaixa(long apos, long ate) {
+        int indexados = 0;
+        List<ProdutoDocumentoDTO> lote;
+        do {
+            lote = produtoRepository.buscarDocumentosEntre(apos, ate, PageRequest.ofSize(LOTE));
+            try {
+                for (ProdutoDocumentoDTO produto : lote) {
+                    escritor.addDocument(documento(produto));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!lote.isEmpty()) {
+                apos = lote.get(lote.size() - 1).id();
+                indexados += lote.size();
+            }
+        } while (lote.size() == LOTE);
+        return indexados;
+    }
+
+    // O commit (fsync) fica espaçado; o leitor near-real-time já enxerga o que não foi confirmado.
+    private void confirmarSeNecessario(boolean agora) throws IOException {
+        if (!alteradoDesdeCommit || (!agora && System.nanoTime() - ultimoCommit < INTERVALO_COMMIT)) {
+            return;
+        }
+        escritor.setLiveCommitData(Map.of(SEQUENCIA, Long.toString(sequenciaAplicada)).entrySet());
+        escritor.commit();
+        ultimoCommit = System.nanoTime();
+        alteradoDesdeCommit = false;
+    }
+
+    private long sequenciaConfirmada() {
+        Iterable<Map.Entry<String, String>> dados = escritor.getLiveCommitData();
+        if (dados != null) {
+            for (Map.Entry<String, String> dado : dados) {
+                if (dado.getKey().equals(SEQUENCIA)) {
+                    return Long.parseLong(dado.getValue());
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static Document documento(ProdutoDocumentoDTO produto) {
+        Document documento = new Document();
+        documento.add(new StringField(ID, produto.id().toString(), Field.Store.YES));
+        adicionarTexto(documento, NOME, produto.nome());
+        adicionarTexto(documento, DESCRICAO, produto.descricao());
+        adicionarTexto(documento, CODIGO, produto.codigo());
+        adicionarTexto(documento, MARCA, produto.marca());
+        adicionarTexto(documento, CATEGORIA, produto.categoria());
+        return documento;
+    }
+
+    private static void adicionarTexto(Document documento, String campo, String valor) {
+        if (valor != null) {
+            documento.add(new TextField(campo, valor, Field.Store.NO));
+        }
+    }
+
+    private long versaoAtual() {
+        return versaoTabelaRepository.findById(TabelaVersionada.PRODUTOS.name())
+                .map(VersaoTabela::getVersao)
+                .orElse(0L);
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException, InterruptedException {
+        indexador.shutdown();
+        indexador.awaitTermination(30, TimeUnit.SECONDS);
+        confirmarSeNecessario(true);
+        IOUtils.close(leitores, escritor, diretorio);
+        if (temporario) {
+            IOUtils.rm(caminho);
+        }
+    }
+
+    // Mesma ideia do nome_normalizado: minúsculas e sem acentos, então "acucar" acha "Açúcar".
+    private static final class Analisador extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String campo) {
+            StandardTokenizer tokenizador = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizador, new ASCIIFoldingFilter(new LowerCaseFilter(tokenizador)));
+        }
+
+        @Override
+        protected TokenStream normalize(String campo, TokenStream entrada) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+        }
+    }
+}
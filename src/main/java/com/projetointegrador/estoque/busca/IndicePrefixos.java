@@ -0,0 +1,60 @@
+package com.projetointegrador.estoque.busca;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Nomes ordenados pela forma normalizada, para buscas por prefixo: a consulta desce direto à
+ * primeira chave >= prefixo e lê em ordem até o prefixo deixar de casar ou o limite acabar.
+ * O id entra no fim da chave para que nomes que normalizam igual não colidam.
+ * Não é thread-safe; quem usa decide entre trava e substituição da instância inteira.
+ */
+final class IndicePrefixos {
+
+    private static final char SEPARADOR = '\u0000';
+
+    record Entrada(long id, String nome, String normalizado) {
+    }
+
+    private final TreeMap<String, Entrada> entradas = new TreeMap<>();
+    private final Map<Long, String> chavePorId = new HashMap<>();
+
+    void adicionar(long id, String nome, String normalizado) {
+        remover(id);
+        if (normalizado == null || normalizado.isEmpty()) {
+            return;
+        }
+        String chave = normalizado + SEPARADOR + id;
+        entradas.put(chave, new Entrada(id, nome, normalizado));
+        chavePorId.put(id, chave);
+    }
+
+    void remover(long id) {
+        String chave = chavePorId.remove(id);
+        if (chave != null) {
+            entradas.remove(chave);
+        }
+    }
+
+    void limpar() {
+        entradas.clear();
+        chavePorId.clear();
+    }
+
+    void coletar(String prefixo, int limite, List<Entrada> destino) {
+        int coletados = 0;
+        for (Map.Entry<String, Entrada> entrada : entradas.tailMap(prefixo, true).entrySet()) {
+            if (coletados == limite || !entrada.getKey().startsWith(prefixo)) {
+                return;
+            }
+            destino.add(entrada.getValue());
+            coletados++;
+        }
+    }
+
+    int tamanho() {
+        return entradas.size();
+    }
+}
@@ -0,0 +1,286 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.ProdutoIndexavelDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.ProdutoRemovidoRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import com.projetointegrador.estoque.util.TextoUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Índice em memória de nome e código dos produtos para as buscas por trecho, que no banco
+ * viram like '%x%' sem índice possível. Os textos entram normalizados como em nome_normalizado,
+ * então "acucar" encontra "Açúcar". Ele acompanha a sequência de alteração dos produtos
+ * (a mesma de /produtos/changes): cada sincronização aplica só o que mudou desde a última,
+ * e a primeira carrega o catálogo inteiro. Escritas locais sincronizam logo após o commit,
+ * inclusive exclusões em cascata; as de outras instâncias são vistas na próxima verificação
+ * periódica da versão da tabela, feita numa thread à parte para que as buscas e o autocomplete
+ * respondam sempre com o que já está aplicado.
+ */
+@Component
+public class IndiceProduto {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceProduto.class);
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoRemovidoRepository produtoRemovidoRepository;
+    private final VersaoTabelaRepository versaoTabelaRepository;
+    private final long intervaloVerificacao;
+
+    private final ExecutorService verificador = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "indice-produto");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean verificacaoPendente = new AtomicBoolean();
+    private final ReentrantLock sincronizacao = new ReentrantLock();
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private IndiceTrigramas nomes = new IndiceTrigramas();
+    private IndiceTrigramas codigos = new IndiceTrigramas();
+    private final IndicePrefixos prefixos = new IndicePrefixos();
+    private long[] ids = new long[1024];
+    private BitSet substituidos = new BitSet();
+    private Map<Long, Integer> documentoPorId = new HashMap<>();
+    private int documentos;
+    private volatile long sequenciaAplicada = -1;
+    private volatile long ultimaVerificacao;
+
+    public IndiceProduto(
+            ProdutoRepository produtoRepository,
+            ProdutoRemovidoRepository produtoRemovidoRepository,
+            VersaoTabelaRepository versaoTabelaRepository,
+            @Value("${estoque.busca.indice.intervalo-verificacao:5s}") Duration intervaloVerificacao
+    ) {
+        this.produtoRepository = produtoRepository;
+        this.produtoRemovidoRepository = produtoRemovidoRepository;
+        this.versaoTabelaRepository = versaoTabelaRepository;
+        this.intervaloVerificacao = intervaloVerificacao.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        sincronizar();
+    }
+
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        if (evento.tabelas().contains(TabelaVersionada.PRODUTOS)) {
+            sincronizar();
+        }
+    }
+
+    public List<Long> buscarPorNome(String termo) {
+        return buscar(termo, true);
+    }
+
+    public List<Long> buscarPorCodigo(String termo) {
+        return buscar(termo, false);
+    }
+
+    public void sincronizar() {
+        long versao = versaoAtual();
+        ultimaVerificacao = System.nanoTime();
+        if (versao == sequenciaAplicada) {
+            return;
+        }
+
+        // Uma sincronização por vez; as buscas só esperam enquanto o que já veio do banco é aplicado.
+        sincronizacao.lock();
+        try {
+            long apos = sequenciaAplicada;
+            if (versao == apos) {
+                return;
+            }
+            // Pode ter ficado para trás de uma sincronização que terminou enquanto esta esperava.
+            if (versao < apos) {
+                versao = versaoAtual();
+                if (versao == apos) {
+                    return;
+                }
+            }
+            // A sequência só volta se o banco foi recriado ou restaurado: recomeça do zero.
+            boolean recomecar = versao < apos;
+            if (recomecar) {
+                apos = -1;
+            }
+            List<Long> removidos = produtoRemovidoRepository.buscarIdsRemovidos(apos, versao);
+            List<ProdutoIndexavelDTO> alterados = produtoRepository.buscarIndexaveisAlterados(apos, versao);
+
+            trava.writeLock().lock();
+            try {
+                if (recomecar) {
+                    limpar();
+                }
+                for (Long id : removidos) {
+                    remover(id);
+                    prefixos.remover(id);
+                }
+                for (ProdutoIndexavelDTO produto : alterados) {
+                    remover(produto.id());
+                    adicionar(produto);
+                    prefixos.adicionar(produto.id(), produto.nome(), TextoUtil.normalizar(produto.nome()));
+                }
+                if (substituidos.cardinality() > documentos / 2) {
+                    compactar();
+                }
+                sequenciaAplicada = versao;
+            } finally {
+                trava.writeLock().unlock();
+            }
+        } finally {
+            sincronizacao.unlock();
+        }
+    }
+
+    // Versão da tabela de produtos que as buscas enxergam, para a ETag de quem responde a partir do índice.
+    public long versaoAplicada() {
+        verificarVersao();
+        return sequenciaAplicada;
+    }
+
+    // Espera a verificação em andamento na thread à parte, se houver.
+    public void aguardarVerificacao() {
+        CompletableFuture.runAsync(() -> {
+        }, verificador).join();
+    }
+
+    // Prefixo já normalizado; devolve até limite nomes em ordem alfabética.
+    void sugerir(String prefixo, int limite, List<IndicePrefixos.Entrada> destino) {
+        verificarVersao();
+        trava.readLock().lock();
+        try {
+            prefixos.coletar(prefixo, limite, destino);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Só a primeira carga roda na requisição; depois a verificação periódica vai para a thread à parte.
+    private void verificarVersao() {
+        if (sequenciaAplicada < 0) {
+            sincronizar();
+        } else if (System.nanoTime() - ultimaVerificacao > intervaloVerificacao) {
+            agendarVerificacao();
+        }
+    }
+
+    private void agendarVerificacao() {
+        ultimaVerificacao = System.nanoTime();
+        if (verificacaoPendente.compareAndSet(false, true)) {
+            verificador.execute(() -> {
+                verificacaoPendente.set(false);
+                try {
+                    sincronizar();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao verificar a versão do índice de produtos", e);
+                }
+            });
+        }
+    }
+
+    private List<Long> buscar(String termo, boolean porNome) {
+        verificarVersao();
+        String normalizado = TextoUtil.normalizar(termo);
+
+        long[] encontrados;
+        trava.readLock().lock();
+        try {
+            int[] documentosEncontrados = (porNome ? nomes : codigos)
+                    .buscar(normalizado, documento -> !substituidos.get(documento));
+            encontrados = new long[documentosEncontrados.length];
+            for (int i = 0; i < documentosEncontrados.length; i++) {
+                encontrados[i] = ids[documentosEncontrados[i]];
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+
+        Arrays.sort(encontrados);
+        return Arrays.stream(encontrados).boxed().toList();
+    }
+
+    private void adicionar(ProdutoIndexavelDTO produto) {
+        int documento = documentos++;
+        if (documento == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[documento] = produto.id();
+        documentoPorId.put(produto.id(), documento);
+        nomes.adicionar(documento, TextoUtil.normalizar(produto.nome()));
+        codigos.adicionar(documento, TextoUtil.normalizar(produto.codigo()));
+    }
+
+    // Alterações entram como documento novo; o antigo só é marcado e some na próxima compactação.
+    private void remover(Long id) {
+        Integer documento = documentoPorId.remove(id);
+        if (documento != null) {
+            substituidos.set(documento);
+        }
+    }
+
+    private void limpar() {
+        nomes = new IndiceTrigramas();
+        codigos = new IndiceTrigramas();
+        prefixos.limpar();
+        ids = new long[1024];
+        substituidos = new BitSet();
+        documentoPorId = new HashMap<>();
+        documentos = 0;
+    }
+
+    private void compactar() {
+        IndiceTrigramas antigosNomes = nomes;
+        IndiceTrigramas antigosCodigos = codigos;
+        long[] antigosIds = ids;
+        BitSet antigosSubstituidos = substituidos;
+        int antigosDocumentos = documentos;
+
+        nomes = new IndiceTrigramas();
+        codigos = new IndiceTrigramas();
+        ids = new long[Math.max(1024, antigosDocumentos - antigosSubstituidos.cardinality())];
+        substituidos = new BitSet();
+        documentoPorId = new HashMap<>();
+        documentos = 0;
+
+        for (int documento = 0; documento < antigosDocumentos; documento++) {
+            if (!antigosSubstituidos.get(documento)) {
+                adicionar(new ProdutoIndexavelDTO(antigosIds[documento],
+                        antigosNomes.texto(documento), antigosCodigos.texto(documento)));
+            }
+        }
+    }
+
+    private long versaoAtual() {
+        return versaoTabelaRepository.findById(TabelaVersionada.PRODUTOS.name())
+                .map(VersaoTabela::getVersao)
+                .orElse(0L);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        verificador.shutdownNow();
+    }
+}
@@ -0,0 +1,109 @@
+package com.projetointegrador.estoque.busca;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/*
+ * Índice de trigramas sobre um texto por documento. Os documentos são numerados em ordem
+ * crescente, então cada lista de ocorrências fica ordenada e a interseção usa busca binária.
+ * Um trigrama presente no termo é condição necessária, não suficiente: os candidatos ainda
+ * passam por contains no texto original. Não é thread-safe; quem usa controla o acesso.
+ */
+final class IndiceTrigramas {
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final Map<Long, Ocorrencias> ocorrencias = new HashMap<>();
+    private String[] textos = new String[CAPACIDADE_INICIAL];
+    private int documentos;
+
+    void adicionar(int documento, String texto) {
+        if (documento >= textos.length) {
+            textos = Arrays.copyOf(textos, Math.max(textos.length * 2, documento + 1));
+        }
+        textos[documento] = texto;
+        documentos = Math.max(documentos, documento + 1);
+
+        if (texto == null) {
+            return;
+        }
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            ocorrencias.computeIfAbsent(trigrama(texto, i), chave -> new Ocorrencias()).adicionar(documento);
+        }
+    }
+
+    String texto(int documento) {
+        return textos[documento];
+    }
+
+    int[] buscar(String termo, IntPredicate ativo) {
+        Ocorrencias encontrados = new Ocorrencias();
+        if (termo.length() < 3) {
+            for (int documento = 0; documento < documentos; documento++) {
+                if (ativo.test(documento) && textos[documento] != null && textos[documento].contains(termo)) {
+                    encontrados.adicionar(documento);
+                }
+            }
+            return encontrados.paraArray();
+        }
+
+        Ocorrencias[] listas = new Ocorrencias[termo.length() - 2];
+        for (int i = 0; i < listas.length; i++) {
+            listas[i] = ocorrencias.get(trigrama(termo, i));
+            if (listas[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(listas, Comparator.comparingInt(lista -> lista.tamanho));
+
+        Ocorrencias menor = listas[0];
+        candidatos:
+        for (int i = 0; i < menor.tamanho; i++) {
+            int documento = menor.documentos[i];
+            if (!ativo.test(documento)) {
+                continue;
+            }
+            for (int j = 1; j < listas.length; j++) {
+                if (!listas[j].contem(documento)) {
+                    continue candidatos;
+                }
+            }
+            if (textos[documento].contains(termo)) {
+                encontrados.adicionar(documento);
+            }
+        }
+        return encontrados.paraArray();
+    }
+
+    private static long trigrama(String texto, int inicio) {
+        return ((long) texto.charAt(inicio) << 32) | ((long) texto.charAt(inicio + 1) << 16) | texto.charAt(inicio + 2);
+    }
+
+    private static final class Ocorrencias {
+
+        private int[] documentos = new int[4];
+        private int tamanho;
+
+        void adicionar(int documento) {
+            // Cada documento é indexado de uma vez, então uma repetição só pode ser o último elemento.
+            if (tamanho > 0 && documentos[tamanho - 1] == documento) {
+                return;
+            }
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+            }
+            documentos[tamanho++] = documento;
+        }
+
+        boolean contem(int documento) {
+            return Arrays.binarySearch(documentos, 0, tamanho, documento) >= 0;
+        }
+
+        int[] paraArray() {
+            return Arrays.copyOf(documentos, tamanho);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.model.Categoria;
+import com.projetointegrador.estoque.model.Fornecedor;
+import com.projetointegrador.estoque.model.Marca;
+import com.projetointegrador.estoque.model.Produto;
+import com.projetointegrador.estoque.util.TextoUtil;
+import jakarta.persistence.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/*
+ * Preenche as colunas derivadas de busca (nome_normalizado, cnpj_digitos) das linhas gravadas
+ * antes de elas existirem ou por fora do JPA. Roda na subida, em lotes por id, direto no JDBC:
+ * as colunas não aparecem em nenhuma resposta, então versões e caches não precisam mudar.
+ * As escritas pelo JPA já gravam as colunas.
+ */
+@Component
+public class NormalizacaoColunas {
+
+    private static final Logger log = LoggerFactory.getLogger(NormalizacaoColunas.class);
+
+    private static final int LOTE = 500;
+
+    private static final List<Coluna> COLUNAS = List.of(
+            new Coluna(Produto.class, "nome", "nome_normalizado", TextoUtil::normalizar),
+            new Coluna(Categoria.class, "nome", "nome_normalizado", TextoUtil::normalizar),
+            new Coluna(Marca.class, "nome", "nome_normalizado", TextoUtil::normalizar),
+            new Coluna(Fornecedor.class, "nome", "nome_normalizado", TextoUtil::normalizar),
+            new Coluna(Fornecedor.class, "cnpj", "cnpj_digitos", TextoUtil::somenteDigitos));
+
+    private record Coluna(Class<?> entidade, String origem, String destino, UnaryOperator<String> derivar) {
+
+        String tabela() {
+            return entidade.getAnnotation(Table.class).name();
+        }
+    }
+
+    private record Linha(long id, String valor) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NormalizacaoColunas(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preencher() {
+        for (Coluna coluna : COLUNAS) {
+            int preenchidas = preencher(coluna);
+            if (preenchidas > 0) {
+                log.info("{} preenchido em {} linhas de {}", coluna.destino(), preenchidas, coluna.tabela());
+            }
+        }
+    }
+
+    // Linhas cuja origem não gera valor (cnpj sem dígitos) continuam nulas; o keyset por id evita relê-las.
+    private int preencher(Coluna coluna) {
+        String selecao = "select id, " + coluna.origem() + " from " + coluna.tabela()
+                + " where " + coluna.destino() + " is null and " + coluna.origem() + " is not null"
+                + " and id > ? order by id limit " + LOTE;
+        String atualizacao = "update " + coluna.tabela() + " set " + coluna.destino() + " = ? where id = ?";
+
+        int total = 0;
+        long ultimoId = 0;
+        List<Linha> lote;
+        do {
+            lote = jdbcTemplate.query(selecao, (rs, i) -> new Linha(rs.getLong(1), rs.getString(2)), ultimoId);
+            if (lote.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate(atualizacao, lote.stream()
+                    .map(linha -> new Object[]{coluna.derivar().apply(linha.valor()), linha.id()})
+                    .toList());
+            ultimoId = lote.get(lote.size() - 1).id();
+            total += lote.size();
+        } while (lote.size() == LOTE);
+        return total;
+    }
+}
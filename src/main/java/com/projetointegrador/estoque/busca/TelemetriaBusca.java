@@ -0,0 +1,119 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.BuscaLentaDTO;
+import com.projetointegrador.estoque.dto.EstatisticasBuscaDTO;
+import com.projetointegrador.estoque.dto.TelemetriaBuscaDTO;
+import com.projetointegrador.estoque.dto.TermoPesadoDTO;
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+import com.projetointegrador.estoque.util.TextoUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * Latência, tamanho do resultado e termos mais caros de cada busca por nome ou CNPJ, medidos do
+ * ponto de vista de quem chama o serviço (acertos de cache incluídos). Os termos pesam pelo
+ * tempo gasto, então um termo lento e raro e um rápido e muito repetido aparecem do mesmo jeito.
+ * Tudo fica em memória, por instância, desde o início da aplicação.
+ */
+@Component
+public class TelemetriaBusca {
+
+    private static final int CAPACIDADE_TERMOS = 64;
+    private static final int TERMOS_NO_RELATORIO = 10;
+    private static final int BUSCAS_LENTAS_GUARDADAS = 50;
+
+    private record Metricas(
+            HistogramaLatencia latencia,
+            LongAdder resultados,
+            LongAccumulator maiorResultado,
+            TermosPesados termos
+    ) {
+    }
+
+    private final Map<OperacaoBusca, Metricas> metricas = new EnumMap<>(OperacaoBusca.class);
+    private final Deque<BuscaLentaDTO> buscasLentas = new ArrayDeque<>(BUSCAS_LENTAS_GUARDADAS);
+    private final long limiteLentaMicros;
+
+    public TelemetriaBusca(@Value("${estoque.busca.telemetria.limite-lenta:200ms}") Duration limiteLenta) {
+        this.limiteLentaMicros = limiteLenta.toNanos() / 1_000;
+        for (OperacaoBusca operacao : OperacaoBusca.values()) {
+            metricas.put(operacao, new Metricas(new HistogramaLatencia(), new LongAdder(),
+                    new LongAccumulator(Math::max, 0), new TermosPesados(CAPACIDADE_TERMOS)));
+        }
+    }
+
+    public <T> List<T> medir(OperacaoBusca operacao, String termo, Supplier<List<T>> busca) {
+        long inicio = System.nanoTime();
+        List<T> resultado = busca.get();
+        registrar(operacao, termo, (System.nanoTime() - inicio) / 1_000, resultado.size());
+        return resultado;
+    }
+
+    void registrar(OperacaoBusca operacao, String termo, long micros, int resultados) {
+        Metricas metricasOperacao = metricas.get(operacao);
+        metricasOperacao.latencia().registrar(micros);
+        metricasOperacao.resultados().add(resultados);
+        metricasOperacao.maiorResultado().accumulate(resultados);
+
+        String normalizado = TextoUtil.normalizar(termo);
+        synchronized (metricasOperacao.termos()) {
+            metricasOperacao.termos().registrar(normalizado, micros, resultados);
+        }
+        if (micros >= limiteLentaMicros) {
+            synchronized (buscasLentas) {
+                if (buscasLentas.size() == BUSCAS_LENTAS_GUARDADAS) {
+                    buscasLentas.removeFirst();
+                }
+                buscasLentas.addLast(new BuscaLentaDTO(operacao, normalizado, emMs(micros), resultados, Instant.now()));
+            }
+        }
+    }
+
+    public TelemetriaBuscaDTO relatorio() {
+        List<EstatisticasBuscaDTO> operacoes = new ArrayList<>(metricas.size());
+        metricas.forEach((operacao, metricasOperacao) -> {
+            HistogramaLatencia latencia = metricasOperacao.latencia();
+            long buscas = latencia.total();
+            List<TermosPesados.Contador> termos;
+            synchronized (metricasOperacao.termos()) {
+                termos = metricasOperacao.termos().maisPesados(TERMOS_NO_RELATORIO);
+            }
+            operacoes.add(new EstatisticasBuscaDTO(
+                    operacao,
+                    buscas,
+                    emMs(latencia.media()),
+                    emMs(latencia.percentil(0.50)),
+                    emMs(latencia.percentil(0.95)),
+                    emMs(latencia.percentil(0.99)),
+                    emMs(latencia.maxima()),
+                    buscas == 0 ? 0 : (double) metricasOperacao.resultados().sum() / buscas,
+                    metricasOperacao.maiorResultado().get(),
+                    termos.stream()
+                            .map(contador -> new TermoPesadoDTO(contador.termo(), emMs(contador.peso()),
+                                    emMs(contador.erro()), contador.ocorrencias(), contador.maiorResultado()))
+                            .toList()));
+        });
+
+        List<BuscaLentaDTO> lentas;
+        synchronized (buscasLentas) {
+            lentas = new ArrayList<>(buscasLentas);
+        }
+        return new TelemetriaBuscaDTO(operacoes, lentas.reversed());
+    }
+
+    private static double emMs(double micros) {
+        return micros / 1_000;
+    }
+}
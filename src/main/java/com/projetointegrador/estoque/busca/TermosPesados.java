@@ -0,0 +1,51 @@
+package com.projetointegrador.estoque.busca;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Space-Saving ponderado: no máximo "capacidade" termos, cada um com o peso acumulado. Um termo
+ * novo com a tabela cheia toma o lugar do mais leve e herda o peso dele como erro, então o peso
+ * real fica entre peso - erro e peso, e todo termo com peso real acima de total / capacidade
+ * está na tabela. Não é thread-safe; a TelemetriaBusca sincroniza.
+ */
+final class TermosPesados {
+
+    record Contador(String termo, long peso, long erro, long ocorrencias, long maiorResultado) {
+    }
+
+    private final int capacidade;
+    private final Map<String, Contador> contadores;
+
+    TermosPesados(int capacidade) {
+        this.capacidade = capacidade;
+        this.contadores = new HashMap<>(capacidade * 2);
+    }
+
+    void registrar(String termo, long peso, long resultados) {
+        Contador atual = contadores.get(termo);
+        if (atual != null) {
+            contadores.put(termo, new Contador(termo, atual.peso() + peso, atual.erro(),
+                    atual.ocorrencias() + 1, Math.max(atual.maiorResultado(), resultados)));
+            return;
+        }
+        if (contadores.size() < capacidade) {
+            contadores.put(termo, new Contador(termo, peso, 0, 1, resultados));
+            return;
+        }
+        Contador maisLeve = contadores.values().stream()
+                .min(Comparator.comparingLong(Contador::peso))
+                .orElseThrow();
+        contadores.remove(maisLeve.termo());
+        contadores.put(termo, new Contador(termo, maisLeve.peso() + peso, maisLeve.peso(), 1, resultados));
+    }
+
+    List<Contador> maisPesados(int limite) {
+        List<Contador> ordenados = new ArrayList<>(contadores.values());
+        ordenados.sort(Comparator.comparingLong(Contador::peso).reversed().thenComparing(Contador::termo));
+        return ordenados.subList(0, Math.min(limite, ordenados.size()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.projetointegrador.estoque.cache;
+
+import com.projetointegrador.estoque.dto.EstatisticasRegiaoCacheDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Leitura das estatísticas do Hibernate por região; sem hibernate.generate_statistics tudo fica zerado.
+@Component
+public class CacheSegundoNivel {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<EstatisticasRegiaoCacheDTO> estatisticas() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(estatisticas.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(regiao -> {
+                    CacheRegionStatistics regiaoEstatisticas = estatisticas.getCacheRegionStatistics(regiao);
+                    long acertos = regiaoEstatisticas.getHitCount();
+                    long faltas = regiaoEstatisticas.getMissCount();
+                    return new EstatisticasRegiaoCacheDTO(
+                            regiao,
+                            regiaoEstatisticas.getElementCountInMemory(),
+                            acertos,
+                            faltas,
+                            regiaoEstatisticas.getPutCount(),
+                            acertos + faltas == 0 ? 0 : (double) acertos / (acertos + faltas));
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.projetointegrador.estoque.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projetointegrador.estoque.dto.ProdutoDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Produtos já lidos por código, para as consultas dos leitores de código de barras. Cada escrita
+ * local no catálogo (o DTO traz cópias sem sessão de categoria, marca e fornecedor) avança a geração e descarta tudo;
+ * uma entrada só vale se foi lida na geração atual, então um leitor que consultou o banco antes
+ * do commit não consegue guardar o valor antigo depois dele. Escritas de outras instâncias
+ * esperam a expiração.
+ */
+@Component
+public class ProdutoPorCodigoCache {
+
+    private static final Set<TabelaVersionada> TABELAS = EnumSet.of(TabelaVersionada.PRODUTOS,
+            TabelaVersionada.CATEGORIAS, TabelaVersionada.MARCAS, TabelaVersionada.FORNECEDORES);
+
+    private record Entrada(ProdutoDTO produto, long geracao) {
+    }
+
+    private final Cache<String, Entrada> produtos;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public ProdutoPorCodigoCache(
+            @Value("${estoque.cache.codigo.maximo:10000}") long maximo,
+            @Value("${estoque.cache.codigo.expiracao:30s}") Duration expiracao
+    ) {
+        this.produtos = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(expiracao)
+                .build();
+    }
+
+    // Lida antes da consulta ao banco e devolvida em guardar.
+    public long geracao() {
+        return geracao.get();
+    }
+
+    public Optional<ProdutoDTO> obter(String codigo) {
+        Entrada entrada = produtos.getIfPresent(codigo);
+        return entrada != null && entrada.geracao() == geracao.get()
+                ? Optional.of(entrada.produto())
+                : Optional.empty();
+    }
+
+    public void guardar(ProdutoDTO produto, long geracaoLida) {
+        if (produto.codigo() != null && geracaoLida == geracao.get()) {
+            produtos.put(produto.codigo(), new Entrada(produto, geracaoLida));
+        }
+    }
+
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        if (evento.tabelas().stream().anyMatch(TABELAS::contains)) {
+            geracao.incrementAndGet();
+            produtos.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.projetointegrador.estoque.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/*
+ * Categorias, marcas e fornecedores por id, para as escritas de produto, que só precisam saber
+ * se a referência existe e ter uma instância para associar. Quem guarda é o serviço dono da
+ * tabela, que entrega uma cópia sem sessão: a mesma instância vai para várias requisições ao
+ * mesmo tempo e não pode arrastar coleções lazy de um EntityManager já fechado. Uma escrita local
+ * na tabela avança a geração e descarta a tabela inteira, como no ProdutoPorCodigoCache; se uma
+ * referência for removida por outra instância antes da expiração, a chave estrangeira recusa.
+ */
+@Component
+public class ReferenciaCache {
+
+    private static final TabelaVersionada[] TABELAS = {
+            TabelaVersionada.CATEGORIAS, TabelaVersionada.MARCAS, TabelaVersionada.FORNECEDORES};
+
+    private record Entrada(Object referencia, long geracao) {
+    }
+
+    private record Regiao(Cache<Long, Entrada> referencias, AtomicLong geracao) {
+    }
+
+    private final Map<TabelaVersionada, Regiao> regioes = new EnumMap<>(TabelaVersionada.class);
+
+    public ReferenciaCache(
+            @Value("${estoque.cache.referencias.maximo:5000}") long maximo,
+            @Value("${estoque.cache.referencias.expiracao:10m}") Duration expiracao
+    ) {
+        for (TabelaVersionada tabela : TABELAS) {
+            Cache<Long, Entrada> referencias = Caffeine.newBuilder()
+                    .maximumSize(maximo)
+                    .expireAfterWrite(expiracao)
+                    .build();
+            regioes.put(tabela, new Regiao(referencias, new AtomicLong()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> obter(TabelaVersionada tabela, Long id, Function<Long, Optional<T>> busca,
+                                 UnaryOperator<T> copia) {
+        Regiao regiao = regioes.get(tabela);
+        Entrada entrada = regiao.referencias().getIfPresent(id);
+        if (entrada != null && entrada.geracao() == regiao.geracao().get()) {
+            return Optional.of((T) entrada.referencia());
+        }
+
+        long geracaoLida = regiao.geracao().get();
+        Optional<T> referencia = busca.apply(id).map(copia);
+        if (referencia.isPresent() && geracaoLida == regiao.geracao().get()) {
+            regiao.referencias().put(id, new Entrada(referencia.get(), geracaoLida));
+        }
+        return referencia;
+    }
+
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        regioes.forEach((tabela, regiao) -> {
+            if (evento.tabelas().contains(tabela)) {
+                regiao.geracao().incrementAndGet();
+                regiao.referencias().invalidateAll();
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.projetointegrador.estoque.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.projetointegrador.estoque.dto.EstatisticasCacheDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.util.TextoUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+ * Resultados das buscas por nome, um cache por tabela, com o termo normalizado e a versão das
+ * tabelas lida pelo controller para a ETag como chave: o corpo guardado é sempre o da versão
+ * anunciada, inclusive depois de escritas de outras instâncias, e versão diferente é falta. O
+ * limite conta itens dos resultados, não buscas, para que um termo curto com milhares de
+ * produtos não ocupe o mesmo que um com dois. Escritas locais descartam a região só para
+ * liberar memória; a expiração também só limita memória.
+ */
+@Component
+public class ResultadoBuscaCache {
+
+    // A listagem de produtos traz os nomes de categoria, marca e fornecedor.
+    private static final Map<TabelaVersionada, Set<TabelaVersionada>> DEPENDENCIAS = Map.of(
+            TabelaVersionada.PRODUTOS, EnumSet.of(TabelaVersionada.PRODUTOS, TabelaVersionada.CATEGORIAS,
+                    TabelaVersionada.MARCAS, TabelaVersionada.FORNECEDORES),
+            TabelaVersionada.CATEGORIAS, EnumSet.of(TabelaVersionada.CATEGORIAS),
+            TabelaVersionada.MARCAS, EnumSet.of(TabelaVersionada.MARCAS),
+            TabelaVersionada.FORNECEDORES, EnumSet.of(TabelaVersionada.FORNECEDORES));
+
+    private record Chave(String termo, String versao) {
+    }
+
+    private record Regiao(Cache<Chave, List<?>> resultados, AtomicLong invalidacoes) {
+    }
+
+    private final Map<TabelaVersionada, Regiao> regioes = new EnumMap<>(TabelaVersionada.class);
+
+    public ResultadoBuscaCache(
+            @Value("${estoque.cache.busca.maximo-itens:50000}") long maximoItens,
+            @Value("${estoque.cache.busca.expiracao:60s}") Duration expiracao
+    ) {
+        for (TabelaVersionada tabela : DEPENDENCIAS.keySet()) {
+            Cache<Chave, List<?>> resultados = Caffeine.newBuilder()
+                    .maximumWeight(maximoItens)
+                    .weigher((Chave chave, List<?> resultado) -> resultado.size() + 1)
+                    .expireAfterWrite(expiracao)
+                    .recordStats()
+                    .build();
+            regioes.put(tabela, new Regiao(resultados, new AtomicLong()));
+        }
+    }
+
+    // versao é a mesma usada na ETag da resposta, sem o sufixo do formato.
+    @SuppressWarnings("unchecked")
+    public <T> List<T> obter(TabelaVersionada tabela, VersaoRecurso versao, String termo, Supplier<List<T>> busca) {
+        Regiao regiao = regiao(tabela);
+        Chave chave = new Chave(TextoUtil.normalizar(termo), versao.etag());
+        List<?> guardado = regiao.resultados().getIfPresent(chave);
+        if (guardado != null) {
+            return (List<T>) guardado;
+        }
+
+        List<T> resultado = busca.get();
+        regiao.resultados().put(chave, List.copyOf(resultado));
+        return resultado;
+    }
+
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        DEPENDENCIAS.forEach((tabela, dependencias) -> {
+            if (evento.tabelas().stream().anyMatch(dependencias::contains)) {
+                Regiao regiao = regioes.get(tabela);
+                regiao.invalidacoes().incrementAndGet();
+                regiao.resultados().invalidateAll();
+            }
+        });
+    }
+
+    public List<EstatisticasCacheDTO> estatisticas() {
+        List<EstatisticasCacheDTO> estatisticas = new ArrayList<>(regioes.size());
+        regioes.forEach((tabela, regiao) -> {
+            CacheStats stats = regiao.resultados().stats();
+            estatisticas.add(new EstatisticasCacheDTO(
+                    tabela,
+                    regiao.resultados().estimatedSize(),
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount(),
+                    regiao.invalidacoes().get()));
+        });
+        return estatisticas;
+    }
+
+    private Regiao regiao(TabelaVersionada tabela) {
+        Regiao regiao = regioes.get(tabela);
+        if (regiao == null) {
+            throw new IllegalArgumentException("Não há cache de busca para a tabela " + tabela + ".");
+        }
+        return regiao;
+    }
+}
@@ -0,0 +1,183 @@
+package com.projetointegrador.estoque.cache;
+
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.FormatoCatalogo;
+import com.projetointegrador.estoque.enums.SnapshotCatalogo;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.service.CategoriaService;
+import com.projetointegrador.estoque.service.MarcaService;
+import com.projetointegrador.estoque.service.ProdutoService;
+import com.projetointegrador.estoque.service.SerializadorCatalogo;
+import com.projetointegrador.estoque.service.VersaoService;
+import com.projetointegrador.estoque.util.RespostaCondicional;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Guarda o corpo já serializado (e comprimido) das listagens mais acessadas, um por formato. Cada snapshot é
+ * identificado pela versão das tabelas de que depende, então um snapshot só é servido enquanto
+ * essa versão não mudar, inclusive quando a escrita veio de outra instância. Escritas locais
+ * disparam a reconstrução em segundo plano; leitores que chegam durante uma reconstrução
+ * aguardam a mesma execução em vez de repetir a consulta.
+ */
+@Component
+public class SnapshotCache {
+
+    private record Chave(SnapshotCatalogo snapshot, FormatoCatalogo formato) {
+    }
+
+    private record Reconstrucao(String etag, CompletableFuture<SnapshotSerializado> futuro) {
+    }
+
+    private final VersaoService versaoService;
+    private final SerializadorCatalogo serializador;
+    private final Executor executor;
+    private final boolean gzipHabilitado;
+    private final Map<SnapshotCatalogo, Supplier<List<?>>> fontes = new EnumMap<>(SnapshotCatalogo.class);
+
+    private final Map<Chave, SnapshotSerializado> prontos = new ConcurrentHashMap<>();
+    private final Map<Chave, Reconstrucao> emAndamento = new ConcurrentHashMap<>();
+
+    public SnapshotCache(
+            VersaoService versaoService,
+            SerializadorCatalogo serializador,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            ProdutoService produtoService,
+            CategoriaService categoriaService,
+            MarcaService marcaService,
+            @Value("${estoque.snapshot.gzip:true}") boolean gzipHabilitado
+    ) {
+        this.versaoService = versaoService;
+        this.serializador = serializador;
+        this.executor = executor;
+        this.gzipHabilitado = gzipHabilitado;
+
+        fontes.put(SnapshotCatalogo.PRODUTOS, produtoService::listarTodos);
+        fontes.put(SnapshotCatalogo.CATEGORIAS, categoriaService::listarTodas);
+        fontes.put(SnapshotCatalogo.MARCAS, marcaService::listarTodas);
+    }
+
+    public ResponseEntity<byte[]> responder(SnapshotCatalogo snapshot, WebRequest request) {
+        VersaoRecurso versao = versaoService.daTabela(snapshot.getTabelas());
+        FormatoCatalogo formato = FormatoCatalogo.negociar(request.getHeader(HttpHeaders.ACCEPT));
+        boolean gzip = gzipHabilitado && aceitaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(formato.getMediaType());
+        cabecalhos.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            cabecalhos.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return RespostaCondicional.responder(request, gzip ? versao.comSufixo("gzip") : versao, cabecalhos,
+                () -> obter(snapshot, formato, versao.etag()).corpo(gzip));
+    }
+
+    public SnapshotSerializado obter(SnapshotCatalogo snapshot, FormatoCatalogo formato, String etag) {
+        Chave chave = new Chave(snapshot, formato);
+        SnapshotSerializado pronto = prontos.get(chave);
+        if (pronto != null && pronto.etag().equals(etag)) {
+            return pronto;
+        }
+
+        try {
+            return reconstruir(chave, etag).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Reconstrói o JSON e os formatos que já foram pedidos alguma vez.
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        for (SnapshotCatalogo snapshot : SnapshotCatalogo.values()) {
+            if (snapshot.dependeDe(evento.tabelas())) {
+                for (FormatoCatalogo formato : FormatoCatalogo.values()) {
+                    Chave chave = new Chave(snapshot, formato);
+                    if (formato == FormatoCatalogo.JSON || prontos.containsKey(chave)) {
+                        executor.execute(() -> reconstruir(chave, versaoService.daTabela(snapshot.getTabelas()).etag()));
+                    }
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<SnapshotSerializado> reconstruir(Chave chave, String etag) {
+        return emAndamento.compute(chave, (mesmaChave, atual) -> {
+            if (atual != null && atual.etag().equals(etag) && !atual.futuro().isCompletedExceptionally()) {
+                return atual;
+            }
+            return new Reconstrucao(etag, CompletableFuture.supplyAsync(() -> construir(chave, etag), executor));
+        }).futuro();
+    }
+
+    private SnapshotSerializado construir(Chave chave, String etag) {
+        try {
+            SnapshotCatalogo snapshot = chave.snapshot();
+            byte[] bruto = serializador.serializarLista(fontes.get(snapshot).get(), snapshot.getTipoItem(), chave.formato());
+            SnapshotSerializado novo = new SnapshotSerializado(etag, bruto, gzipHabilitado ? comprimir(bruto) : null);
+            // Uma reconstrução que termina atrasada não pode trocar o snapshot por um de versão anterior.
+            prontos.merge(chave, novo, (atual, candidato) -> naoAnterior(candidato.etag(), atual.etag()) ? candidato : atual);
+            return novo;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // As ETags juntam os contadores de versão das tabelas ("3.7"), que só crescem.
+    private static boolean naoAnterior(String etag, String referencia) {
+        String[] versoes = etag.substring(1, etag.length() - 1).split("\\.");
+        String[] versoesReferencia = referencia.substring(1, referencia.length() - 1).split("\\.");
+        if (versoes.length != versoesReferencia.length) {
+            return true;
+        }
+        for (int i = 0; i < versoes.length; i++) {
+            if (Long.parseLong(versoes[i]) < Long.parseLong(versoesReferencia[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] comprimir(byte[] bruto) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(bruto.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(bruto);
+        }
+        return saida.toByteArray();
+    }
+
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length == 1 || !partes[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package com.projetointegrador.estoque.cache;
+
+public record SnapshotSerializado(String etag, byte[] bruto, byte[] gzip) {
+
+    public byte[] corpo(boolean comprimido) {
+        return comprimido ? gzip : bruto;
+    }
+}
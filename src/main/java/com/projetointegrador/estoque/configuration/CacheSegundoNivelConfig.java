@@ -0,0 +1,65 @@
+package com.projetointegrador.estoque.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/*
+ * Regiões do cache de segundo nível do Hibernate, criadas aqui com limite e expiração; qualquer
+ * região que não esteja nesta lista faz a inicialização falhar (missing_cache_strategy=fail) em
+ * vez de nascer sem limite. O gerenciador é próprio de cada contexto: o padrão do provedor é um
+ * só por classloader e seria dividido por contextos que apontam para bancos diferentes.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    public static final String REGIAO_CATEGORIAS = "categorias";
+    public static final String REGIAO_MARCAS = "marcas";
+    public static final String REGIAO_FORNECEDORES = "fornecedores";
+    public static final String REGIAO_PAPEIS_USUARIO = "usuarios.roles";
+
+    private static final String[] REGIOES_LIMITADAS = {REGIAO_CATEGORIAS, REGIAO_MARCAS, REGIAO_FORNECEDORES,
+            REGIAO_PAPEIS_USUARIO, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME};
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel(
+            @Value("${estoque.cache.segundo-nivel.maximo:10000}") long maximo,
+            @Value("${estoque.cache.segundo-nivel.expiracao:30m}") Duration expiracao
+    ) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("estoque:segundo-nivel:" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String regiao : REGIOES_LIMITADAS) {
+            CaffeineConfiguration<Object, Object> configuracao = configuracaoBase();
+            configuracao.setMaximumSize(OptionalLong.of(maximo));
+            configuracao.setExpireAfterWrite(OptionalLong.of(expiracao.toNanos()));
+            cacheManager.createCache(regiao, configuracao);
+        }
+        // Um carimbo por tabela; se expirasse, consultas em cache poderiam sobreviver a uma escrita.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuracaoBase());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer gerenciadorCacheSegundoNivel(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    // Por referência: a cópia por serialização do JCache só repetiria o que o Hibernate já faz ao desmontar a entidade.
+    private static CaffeineConfiguration<Object, Object> configuracaoBase() {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setStoreByValue(false);
+        return configuracao;
+    }
+}
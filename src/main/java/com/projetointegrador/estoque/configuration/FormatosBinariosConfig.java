@@ -0,0 +1,31 @@
+package com.projetointegrador.estoque.configuration;
+
+import com.projetointegrador.estoque.protobuf.ProtobufCatalogoHttpMessageConverter;
+import com.projetointegrador.estoque.service.SerializadorCatalogo;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    private final SerializadorCatalogo serializadorCatalogo;
+
+    public FormatosBinariosConfig(SerializadorCatalogo serializadorCatalogo) {
+        this.serializadorCatalogo = serializadorCatalogo;
+    }
+
+    // Adicionados ao final da lista para que Accept: */* (ou ausente) continue resultando em JSON.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(serializadorCatalogo.getCbor()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(serializadorCatalogo.getSmile()));
+        converters.add(new ProtobufCatalogoHttpMessageConverter());
+    }
+}
@@ -0,0 +1,67 @@
+package com.projetointegrador.estoque.controller;
+
+import com.projetointegrador.estoque.busca.IndiceLucene;
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.CacheSegundoNivel;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
+import com.projetointegrador.estoque.dto.EstatisticasCacheDTO;
+import com.projetointegrador.estoque.dto.EstatisticasRegiaoCacheDTO;
+import com.projetointegrador.estoque.dto.ReconstrucaoIndiceDTO;
+import com.projetointegrador.estoque.dto.TelemetriaBuscaDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class AdministracaoController {
+
+    private final IndiceLucene indiceLucene;
+    private final ResultadoBuscaCache resultadoBuscaCache;
+    private final TelemetriaBusca telemetriaBusca;
+    private final CacheSegundoNivel cacheSegundoNivel;
+
+    public AdministracaoController(
+            IndiceLucene indiceLucene,
+            ResultadoBuscaCache resultadoBuscaCache,
+            TelemetriaBusca telemetriaBusca,
+            CacheSegundoNivel cacheSegundoNivel
+    ) {
+        this.indiceLucene = indiceLucene;
+        this.resultadoBuscaCache = resultadoBuscaCache;
+        this.telemetriaBusca = telemetriaBusca;
+        this.cacheSegundoNivel = cacheSegundoNivel;
+    }
+
+    // Roda na fila de indexação; a pesquisa segue respondendo com o índice anterior até terminar.
+    @PostMapping("/busca/reconstruir")
+    public ResponseEntity<ReconstrucaoIndiceDTO> reconstruirIndicePesquisa() {
+        indiceLucene.reconstruir();
+        return ResponseEntity.accepted()
+                .location(URI.create("/admin/busca/reconstrucao"))
+                .body(indiceLucene.ultimaReconstrucao().orElseThrow());
+    }
+
+    @GetMapping("/busca/reconstrucao")
+    public ResponseEntity<ReconstrucaoIndiceDTO> situacaoReconstrucao() {
+        return ResponseEntity.of(indiceLucene.ultimaReconstrucao());
+    }
+
+    @GetMapping("/cache/buscas")
+    public ResponseEntity<List<EstatisticasCacheDTO>> estatisticasCacheBuscas() {
+        return ResponseEntity.ok(resultadoBuscaCache.estatisticas());
+    }
+
+    @GetMapping("/cache/hibernate")
+    public ResponseEntity<List<EstatisticasRegiaoCacheDTO>> estatisticasCacheHibernate() {
+        return ResponseEntity.ok(cacheSegundoNivel.estatisticas());
+    }
+
+    @GetMapping("/busca/telemetria")
+    public ResponseEntity<TelemetriaBuscaDTO> telemetriaBusca() {
+        return ResponseEntity.ok(telemetriaBusca.relatorio());
+    }
+}
@@ -0,0 +1,27 @@
+package com.projetointegrador.estoque.controller;
+
+import com.projetointegrador.estoque.busca.IndiceAutocomplete;
+import com.projetointegrador.estoque.dto.SugestaoDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/autocomplete")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class AutocompleteController {
+
+    private final IndiceAutocomplete indiceAutocomplete;
+
+    public AutocompleteController(IndiceAutocomplete indiceAutocomplete) {
+        this.indiceAutocomplete = indiceAutocomplete;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SugestaoDTO>> sugerir(@RequestParam String q,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(indiceAutocomplete.sugerir(q, limit));
+    }
+}
@@ -1,11 +1,18 @@
 package com.projetointegrador.estoque.controller;
 
+import com.projetointegrador.estoque.cache.SnapshotCache;
 import com.projetointegrador.estoque.dto.CategoriaDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.SnapshotCatalogo;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
 import com.projetointegrador.estoque.service.CategoriaService;
+import com.projetointegrador.estoque.service.VersaoService;
+import com.projetointegrador.estoque.util.RespostaCondicional;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,24 +22,29 @@ import java.util.List;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final VersaoService versaoService;
+    private final SnapshotCache snapshotCache;
 
-    public CategoriaController(CategoriaService categoriaService) {
+    public CategoriaController(CategoriaService categoriaService, VersaoService versaoService, SnapshotCache snapshotCache) {
         this.categoriaService = categoriaService;
+        this.versaoService = versaoService;
+        this.snapshotCache = snapshotCache;
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<CategoriaDTO>> listarTodas() {
-        return ResponseEntity.status(HttpStatus.OK).body(categoriaService.listarTodas());
+    public ResponseEntity<byte[]> listarTodas(WebRequest request) {
+        return snapshotCache.responder(SnapshotCatalogo.CATEGORIAS, request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoriaDTO> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(categoriaService.buscarPorId(id));
+    public ResponseEntity<CategoriaDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daCategoria(id), () -> categoriaService.buscarPorId(id));
     }
 
     @GetMapping("/buscar/{nome}")
-    public ResponseEntity<List<CategoriaDTO>> buscarPorNome(@PathVariable String nome) {
-        return ResponseEntity.status(HttpStatus.OK).body(categoriaService.buscarPorNome(nome));
+    public ResponseEntity<List<CategoriaDTO>> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        VersaoRecurso versao = versaoService.daTabela(TabelaVersionada.CATEGORIAS);
+        return RespostaCondicional.responder(request, versao, () -> categoriaService.buscarPorNome(nome, versao));
     }
 
     @PostMapping("/cadastrar")
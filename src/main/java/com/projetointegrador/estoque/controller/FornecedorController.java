@@ -1,13 +1,20 @@
 package com.projetointegrador.estoque.controller;
 
+import com.projetointegrador.estoque.dto.CnpjResolvidoDTO;
 import com.projetointegrador.estoque.dto.FornecedorDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
 import com.projetointegrador.estoque.service.FornecedorService;
+import com.projetointegrador.estoque.service.VersaoService;
+import com.projetointegrador.estoque.util.RespostaCondicional;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/fornecedores")
@@ -15,29 +22,66 @@ import java.util.List;
 public class FornecedorController {
 
     private final FornecedorService fornecedorService;
+    private final VersaoService versaoService;
 
-    public FornecedorController(FornecedorService fornecedorService) {
+    public FornecedorController(FornecedorService fornecedorService, VersaoService versaoService) {
         this.fornecedorService = fornecedorService;
+        this.versaoService = versaoService;
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<FornecedorDTO>> listarTodos() {
-        return ResponseEntity.status(HttpStatus.OK).body(fornecedorService.listarTodos());
+    public ResponseEntity<List<FornecedorDTO>> listarTodos(WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.FORNECEDORES), fornecedorService::listarTodos);
+    }
+
+    @GetMapping(value = "/all", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> listarCampos(@RequestParam String fields, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.FORNECEDORES), () -> fornecedorService.listarCampos(fields));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<FornecedorDTO> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(fornecedorService.buscarPorId(id));
+    public ResponseEntity<FornecedorDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.doFornecedor(id),
+                () -> fornecedorService.buscarPorId(id));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> buscarCamposPorId(@PathVariable Long id, @RequestParam String fields,
+                                                                 WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.doFornecedor(id),
+                () -> fornecedorService.buscarCamposPorId(id, fields));
     }
 
     @GetMapping("/buscar/nome/{nome}")
-    public ResponseEntity<List<FornecedorDTO>> buscarPorNome(@PathVariable String nome) {
-        return ResponseEntity.status(HttpStatus.OK).body(fornecedorService.buscarPorNome(nome));
+    public ResponseEntity<List<FornecedorDTO>> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        VersaoRecurso versao = versaoService.daTabela(TabelaVersionada.FORNECEDORES);
+        return RespostaCondicional.responder(request, versao, () -> fornecedorService.buscarPorNome(nome, versao));
+    }
+
+    @GetMapping(value = "/buscar/nome/{nome}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> buscarCamposPorNome(@PathVariable String nome,
+                                                                         @RequestParam String fields,
+                                                                         WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.FORNECEDORES),
+                () -> fornecedorService.buscarCamposPorNome(nome, fields));
     }
 
     @GetMapping("/buscar/cnpj/{cnpj}")
-    public ResponseEntity<List<FornecedorDTO>> buscarPorCNPJ(@PathVariable String cnpj) {
-        return ResponseEntity.status(HttpStatus.OK).body(fornecedorService.buscarPorCNPJ(cnpj));
+    public ResponseEntity<List<FornecedorDTO>> buscarPorCNPJ(@PathVariable String cnpj, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.FORNECEDORES), () -> fornecedorService.buscarPorCNPJ(cnpj));
+    }
+
+    @GetMapping(value = "/buscar/cnpj/{cnpj}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> buscarCamposPorCNPJ(@PathVariable String cnpj,
+                                                                         @RequestParam String fields,
+                                                                         WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.FORNECEDORES),
+                () -> fornecedorService.buscarCamposPorCNPJ(cnpj, fields));
+    }
+
+    @PostMapping("/cnpj/resolver")
+    public ResponseEntity<List<CnpjResolvidoDTO>> resolverCNPJs(@RequestBody List<String> cnpjs) {
+        return ResponseEntity.status(HttpStatus.OK).body(fornecedorService.resolverCNPJs(cnpjs));
     }
 
     @PostMapping("/cadastrar")
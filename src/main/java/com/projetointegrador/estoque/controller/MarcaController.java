@@ -1,11 +1,18 @@
 package com.projetointegrador.estoque.controller;
 
+import com.projetointegrador.estoque.cache.SnapshotCache;
 import com.projetointegrador.estoque.dto.MarcaDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.SnapshotCatalogo;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
 import com.projetointegrador.estoque.service.MarcaService;
+import com.projetointegrador.estoque.service.VersaoService;
+import com.projetointegrador.estoque.util.RespostaCondicional;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,24 +22,29 @@ import java.util.List;
 public class MarcaController {
 
     private final MarcaService marcaService;
+    private final VersaoService versaoService;
+    private final SnapshotCache snapshotCache;
 
-    public MarcaController(MarcaService marcaService) {
+    public MarcaController(MarcaService marcaService, VersaoService versaoService, SnapshotCache snapshotCache) {
         this.marcaService = marcaService;
+        this.versaoService = versaoService;
+        this.snapshotCache = snapshotCache;
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<MarcaDTO>> listarTodas() {
-        return ResponseEntity.status(HttpStatus.OK).body(marcaService.listarTodas());
+    public ResponseEntity<byte[]> listarTodas(WebRequest request) {
+        return snapshotCache.responder(SnapshotCatalogo.MARCAS, request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MarcaDTO> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(marcaService.buscarPorId(id));
+    public ResponseEntity<MarcaDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daMarca(id), () -> marcaService.buscarPorId(id));
     }
 
     @GetMapping("/buscar/{nome}")
-    public ResponseEntity<List<MarcaDTO>> buscarPorNome(@PathVariable String nome) {
-        return ResponseEntity.status(HttpStatus.OK).body(marcaService.buscarPorNome(nome));
+    public ResponseEntity<List<MarcaDTO>> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        VersaoRecurso versao = versaoService.daTabela(TabelaVersionada.MARCAS);
+        return RespostaCondicional.responder(request, versao, () -> marcaService.buscarPorNome(nome, versao));
     }
 
     @PostMapping("/cadastrar")
@@ -1,13 +1,32 @@
 package com.projetointegrador.estoque.controller;
 
+import com.projetointegrador.estoque.busca.IndiceProduto;
+import com.projetointegrador.estoque.cache.SnapshotCache;
+import com.projetointegrador.estoque.dto.AlteracoesProdutoDTO;
+import com.projetointegrador.estoque.dto.FacetasProdutoDTO;
+import com.projetointegrador.estoque.dto.FiltroProdutoDTO;
+import com.projetointegrador.estoque.dto.PaginaDTO;
 import com.projetointegrador.estoque.dto.ProdutoDTO;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.FormatoExportacao;
+import com.projetointegrador.estoque.enums.SnapshotCatalogo;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.service.ProdutoExportacaoService;
 import com.projetointegrador.estoque.service.ProdutoService;
+import com.projetointegrador.estoque.service.SincronizacaoProdutoService;
+import com.projetointegrador.estoque.service.VersaoService;
+import com.projetointegrador.estoque.util.RespostaCondicional;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/produtos")
@@ -15,24 +34,127 @@ import java.util.List;
 public class ProdutoController {
 
     private final ProdutoService produtoService;
+    private final ProdutoExportacaoService produtoExportacaoService;
+    private final VersaoService versaoService;
+    private final SnapshotCache snapshotCache;
+    private final SincronizacaoProdutoService sincronizacaoProdutoService;
+    private final IndiceProduto indiceProduto;
 
-    public ProdutoController(ProdutoService produtoService) {
+    public ProdutoController(ProdutoService produtoService, ProdutoExportacaoService produtoExportacaoService,
+                             VersaoService versaoService, SnapshotCache snapshotCache,
+                             SincronizacaoProdutoService sincronizacaoProdutoService, IndiceProduto indiceProduto) {
         this.produtoService = produtoService;
+        this.produtoExportacaoService = produtoExportacaoService;
+        this.versaoService = versaoService;
+        this.snapshotCache = snapshotCache;
+        this.sincronizacaoProdutoService = sincronizacaoProdutoService;
+        this.indiceProduto = indiceProduto;
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<ProdutoDTO>> listarTodos() {
-        return ResponseEntity.status(HttpStatus.OK).body(produtoService.listarTodos());
+    public ResponseEntity<byte[]> listarTodos(WebRequest request) {
+        return snapshotCache.responder(SnapshotCatalogo.PRODUTOS, request);
+    }
+
+    @GetMapping(value = "/all", params = {"fields", "!limit"})
+    public ResponseEntity<List<Map<String, Object>>> listarCampos(@RequestParam String fields, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoCatalogo(), () -> produtoService.listarCampos(fields));
+    }
+
+    @GetMapping(value = "/all", params = {"limit", "!fields"})
+    public ResponseEntity<PaginaDTO<ProdutoListagemDTO>> listarPagina(@RequestParam int limit,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "nome") String sort,
+                                                              WebRequest request) {
+        return RespostaCondicional.responder(request, versaoCatalogo(),
+                () -> produtoService.listarPagina(limit, after, sort));
+    }
+
+    @GetMapping(value = "/all", params = {"limit", "fields"})
+    public ResponseEntity<PaginaDTO<Map<String, Object>>> listarPaginaCampos(@RequestParam int limit,
+                                                                     @RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "nome") String sort,
+                                                                     @RequestParam String fields,
+                                                                     WebRequest request) {
+        return RespostaCondicional.responder(request, versaoCatalogo(),
+                () -> produtoService.listarPaginaCampos(limit, after, sort, fields));
+    }
+
+    @PostMapping("/filtro")
+    public ResponseEntity<PaginaDTO<ProdutoListagemDTO>> filtrar(@RequestBody(required = false) FiltroProdutoDTO filtro,
+                                                                 @RequestParam(defaultValue = "50") int limit,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(defaultValue = "nome") String sort) {
+        return ResponseEntity.status(HttpStatus.OK).body(produtoService.filtrar(filtro, limit, after, sort));
+    }
+
+    // A resposta para um mesmo token só muda quando a versão da tabela de produtos muda.
+    @GetMapping("/changes")
+    public ResponseEntity<AlteracoesProdutoDTO> listarAlteracoes(@RequestParam(required = false) String since,
+                                                                 @RequestParam(defaultValue = "500") int limit,
+                                                                 WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.PRODUTOS),
+                () -> sincronizacaoProdutoService.listarAlteracoes(since, limit));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetasProdutoDTO> calcularFacetas(WebRequest request) {
+        return RespostaCondicional.responder(request, versaoCatalogo(), produtoService::calcularFacetas);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String format) {
+        FormatoExportacao formato = FormatoExportacao.doParametro(format);
+        StreamingResponseBody corpo = saida -> produtoExportacaoService.exportar(formato, saida);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=produtos." + formato.getExtensao())
+                .body(corpo);
+    }
+
+    @GetMapping("/codigo/{codigo}")
+    public ResponseEntity<ProdutoDTO> buscarPorCodigo(@PathVariable String codigo) {
+        return ResponseEntity.status(HttpStatus.OK).body(produtoService.buscarPorCodigo(codigo));
+    }
+
+    @GetMapping("/codigo")
+    public ResponseEntity<List<ProdutoDTO>> buscarPorCodigos(@RequestParam List<String> codigos) {
+        return ResponseEntity.status(HttpStatus.OK).body(produtoService.buscarPorCodigos(codigos));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProdutoDTO> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(produtoService.buscarPorId(id));
+    public ResponseEntity<ProdutoDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.doProduto(id), () -> produtoService.buscarPorId(id));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> buscarCamposPorId(@PathVariable Long id, @RequestParam String fields,
+                                                                 WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.doProduto(id),
+                () -> produtoService.buscarCamposPorId(id, fields));
+    }
+
+    @GetMapping("/pesquisa")
+    public ResponseEntity<List<ProdutoListagemDTO>> pesquisar(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(produtoService.pesquisar(q, limit));
     }
 
     @GetMapping("/buscar/{nome}")
-    public ResponseEntity<List<ProdutoDTO>> buscarPorNome(@PathVariable String nome) {
-        return ResponseEntity.status(HttpStatus.OK).body(produtoService.buscarPorNome(nome));
+    public ResponseEntity<List<ProdutoListagemDTO>> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        // Os ids vêm do IndiceProduto, que acompanha escritas de outras instâncias com atraso.
+        VersaoRecurso versao = versaoService.doIndice(TabelaVersionada.PRODUTOS, indiceProduto.versaoAplicada(),
+                TabelaVersionada.CATEGORIAS, TabelaVersionada.MARCAS, TabelaVersionada.FORNECEDORES);
+        return RespostaCondicional.responder(request, versao, () -> produtoService.buscarPorNome(nome, versao));
+    }
+
+    @GetMapping(value = "/buscar/{nome}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> buscarCamposPorNome(@PathVariable String nome,
+                                                                         @RequestParam String fields,
+                                                                         WebRequest request) {
+        return RespostaCondicional.responder(request, versaoCatalogo(),
+                () -> produtoService.buscarCamposPorNome(nome, fields));
     }
 
     @PostMapping("/cadastrar")
@@ -59,4 +181,10 @@ public class ProdutoController {
         produtoService.deletar(id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    // As listagens trazem os nomes de categoria, marca e fornecedor.
+    private VersaoRecurso versaoCatalogo() {
+        return versaoService.daTabela(TabelaVersionada.PRODUTOS, TabelaVersionada.CATEGORIAS,
+                TabelaVersionada.MARCAS, TabelaVersionada.FORNECEDORES);
+    }
 }
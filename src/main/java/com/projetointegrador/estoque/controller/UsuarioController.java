@@ -3,8 +3,11 @@ package com.projetointegrador.estoque.controller;
 import com.projetointegrador.estoque.dto.UsuarioDTO;
 import com.projetointegrador.estoque.dto.UsuarioLoginDTO;
 import com.projetointegrador.estoque.dto.UsuarioRequestDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
 import com.projetointegrador.estoque.model.Usuario;
 import com.projetointegrador.estoque.service.UsuarioService;
+import com.projetointegrador.estoque.service.VersaoService;
+import com.projetointegrador.estoque.util.RespostaCondicional;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,34 +26,39 @@ import java.util.Optional;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final VersaoService versaoService;
 
-    public UsuarioController(UsuarioService usuarioService) {
+    public UsuarioController(UsuarioService usuarioService, VersaoService versaoService) {
         this.usuarioService = usuarioService;
+        this.versaoService = versaoService;
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<UsuarioRequestDTO>> listarTodos(@AuthenticationPrincipal UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return ResponseEntity.ok(usuarioService.listarTodos(email));
+    public ResponseEntity<List<UsuarioRequestDTO>> listarTodos(@AuthenticationPrincipal UserDetails userDetails,
+                                                               WebRequest request) {
+        usuarioService.verificarAcessoATodos(userDetails.getUsername());
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.USUARIOS), () -> usuarioService.listarTodos());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UsuarioRequestDTO> buscarPorId(@PathVariable Long id,
-                                                         @AuthenticationPrincipal UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        return ResponseEntity.status(HttpStatus.OK).body(usuarioService.buscarPorId(id, email));
+                                                         @AuthenticationPrincipal UserDetails userDetails,
+                                                         WebRequest request) {
+        usuarioService.verificarAcessoAoUsuario(id, userDetails.getUsername());
+        return RespostaCondicional.responder(request, versaoService.doUsuario(id), () -> usuarioService.buscarPorId(id));
     }
 
     @GetMapping("/buscar/{nome}")
-    public ResponseEntity<List<UsuarioRequestDTO>> buscarPorNome(@PathVariable String nome) {
-        return ResponseEntity.status(HttpStatus.OK).body(usuarioService.buscarPorNome(nome));
+    public ResponseEntity<List<UsuarioRequestDTO>> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.USUARIOS), () -> usuarioService.buscarPorNome(nome));
     }
 
     @GetMapping("/email")
     public ResponseEntity<UsuarioRequestDTO> buscarPorEmail(@RequestParam String email,
-                                                            @AuthenticationPrincipal UserDetails userDetails) {
-        String emailAutenticado = userDetails.getUsername();
-        return ResponseEntity.ok(usuarioService.buscarPorEmail(email, emailAutenticado));
+                                                            @AuthenticationPrincipal UserDetails userDetails,
+                                                            WebRequest request) {
+        usuarioService.verificarAcessoAoEmail(email, userDetails.getUsername());
+        return RespostaCondicional.responder(request, versaoService.daTabela(TabelaVersionada.USUARIOS), () -> usuarioService.buscarPorEmail(email));
     }
 
     @PostMapping("/logar")
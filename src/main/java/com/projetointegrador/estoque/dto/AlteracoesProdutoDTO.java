@@ -0,0 +1,11 @@
+package com.projetointegrador.estoque.dto;
+
+import java.util.List;
+
+public record AlteracoesProdutoDTO(
+        List<ProdutoListagemDTO> atualizados,
+        List<Long> removidos,
+        String proximoToken,
+        boolean temMais
+) {
+}
@@ -0,0 +1,14 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+
+import java.time.Instant;
+
+public record BuscaLentaDTO(
+        OperacaoBusca operacao,
+        String termo,
+        double latenciaMs,
+        int resultados,
+        Instant momento
+) {
+}
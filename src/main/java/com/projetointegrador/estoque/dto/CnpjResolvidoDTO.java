@@ -0,0 +1,9 @@
+package com.projetointegrador.estoque.dto;
+
+// fornecedor fica nulo quando o CNPJ é inválido ou não está cadastrado.
+public record CnpjResolvidoDTO(
+        String cnpj,
+        boolean valido,
+        FornecedorDTO fornecedor
+) {
+}
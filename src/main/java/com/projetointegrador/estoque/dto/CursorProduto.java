@@ -0,0 +1,47 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.OrdenacaoProduto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record CursorProduto(
+        OrdenacaoProduto ordenacao,
+        Object chave,
+        Long id
+) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String valorChave = chave == null ? "n" : "v" + formatarChave();
+        String conteudo = ordenacao.name() + SEPARADOR + id + SEPARADOR + valorChave;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorProduto decodificar(String cursor, OrdenacaoProduto ordenacaoEsperada) {
+        CursorProduto decodificado;
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\" + SEPARADOR, 3);
+
+            OrdenacaoProduto ordenacao = OrdenacaoProduto.valueOf(partes[0]);
+            Long id = Long.valueOf(partes[1]);
+            Object chave = partes[2].startsWith("v") ? ordenacao.converterChave(partes[2].substring(1)) : null;
+            decodificado = new CursorProduto(ordenacao, chave, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+
+        if (decodificado.ordenacao() != ordenacaoEsperada) {
+            throw new IllegalArgumentException("O cursor informado não corresponde à ordenação " + ordenacaoEsperada.getAtributo());
+        }
+        return decodificado;
+    }
+
+    private String formatarChave() {
+        return chave instanceof BigDecimal decimal ? decimal.toPlainString() : chave.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+
+import java.util.List;
+
+public record EstatisticasBuscaDTO(
+        OperacaoBusca operacao,
+        long buscas,
+        double latenciaMediaMs,
+        double latenciaP50Ms,
+        double latenciaP95Ms,
+        double latenciaP99Ms,
+        double latenciaMaximaMs,
+        double resultadosMedio,
+        long resultadosMaximo,
+        List<TermoPesadoDTO> termosPesados
+) {
+}
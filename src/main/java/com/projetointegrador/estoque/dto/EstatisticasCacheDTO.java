@@ -0,0 +1,14 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+
+public record EstatisticasCacheDTO(
+        TabelaVersionada tabela,
+        long entradas,
+        long acertos,
+        long faltas,
+        double taxaAcerto,
+        long despejos,
+        long invalidacoes
+) {
+}
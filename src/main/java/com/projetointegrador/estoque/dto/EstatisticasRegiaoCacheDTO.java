@@ -0,0 +1,11 @@
+package com.projetointegrador.estoque.dto;
+
+public record EstatisticasRegiaoCacheDTO(
+        String regiao,
+        long elementos,
+        long acertos,
+        long faltas,
+        long escritas,
+        double taxaAcerto
+) {
+}
@@ -0,0 +1,12 @@
+package com.projetointegrador.estoque.dto;
+
+import java.math.BigDecimal;
+
+public record FacetaDTO(
+        Long id,
+        String nome,
+        Long produtos,
+        Long unidades,
+        BigDecimal valorEstoque
+) {
+}
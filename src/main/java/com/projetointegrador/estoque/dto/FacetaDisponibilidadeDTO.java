@@ -0,0 +1,11 @@
+package com.projetointegrador.estoque.dto;
+
+import java.math.BigDecimal;
+
+public record FacetaDisponibilidadeDTO(
+        Boolean disponivel,
+        Long produtos,
+        Long unidades,
+        BigDecimal valorEstoque
+) {
+}
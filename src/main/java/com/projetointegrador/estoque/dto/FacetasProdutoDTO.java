@@ -0,0 +1,15 @@
+package com.projetointegrador.estoque.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record FacetasProdutoDTO(
+        long totalProdutos,
+        long totalUnidades,
+        BigDecimal valorEstoqueTotal,
+        List<FacetaDTO> categorias,
+        List<FacetaDTO> marcas,
+        List<FacetaDTO> fornecedores,
+        List<FacetaDisponibilidadeDTO> disponibilidade
+) {
+}
@@ -0,0 +1,23 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.UnidadeMedida;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Campos nulos ou listas vazias não filtram; os intervalos incluem os extremos.
+public record FiltroProdutoDTO(
+        List<Long> categorias,
+        List<Long> marcas,
+        List<Long> fornecedores,
+        BigDecimal valorMinimo,
+        BigDecimal valorMaximo,
+        Boolean disponivel,
+        UnidadeMedida unidadeMedida,
+        LocalDate validadeDe,
+        LocalDate validadeAte,
+        LocalDate entradaDe,
+        LocalDate entradaAte
+) {
+}
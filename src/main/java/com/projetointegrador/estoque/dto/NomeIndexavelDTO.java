@@ -0,0 +1,7 @@
+package com.projetointegrador.estoque.dto;
+
+public record NomeIndexavelDTO(
+        Long id,
+        String nome
+) {
+}
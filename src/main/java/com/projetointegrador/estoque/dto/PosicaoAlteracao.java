@@ -0,0 +1,39 @@
+package com.projetointegrador.estoque.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+// Ponto da sequência de alterações de produtos até onde o cliente já sincronizou.
+public record PosicaoAlteracao(
+        Long sequencia,
+        Long id
+) implements Comparable<PosicaoAlteracao> {
+
+    public static final PosicaoAlteracao INICIO = new PosicaoAlteracao(-1L, 0L);
+
+    private static final String SEPARADOR = "|";
+    private static final Comparator<PosicaoAlteracao> ORDEM =
+            Comparator.comparing(PosicaoAlteracao::sequencia).thenComparing(PosicaoAlteracao::id);
+
+    public String codificar() {
+        String conteudo = sequencia + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PosicaoAlteracao decodificar(String token) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\" + SEPARADOR, 2);
+            return new PosicaoAlteracao(Long.valueOf(partes[0]), Long.valueOf(partes[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Token de sincronização inválido.", e);
+        }
+    }
+
+    @Override
+    public int compareTo(PosicaoAlteracao outra) {
+        return ORDEM.compare(this, outra);
+    }
+}
@@ -0,0 +1,12 @@
+package com.projetointegrador.estoque.dto;
+
+// O que o índice Lucene guarda de cada produto.
+public record ProdutoDocumentoDTO(
+        Long id,
+        String nome,
+        String descricao,
+        String codigo,
+        String marca,
+        String categoria
+) {
+}
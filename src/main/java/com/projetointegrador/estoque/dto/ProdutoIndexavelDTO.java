@@ -0,0 +1,8 @@
+package com.projetointegrador.estoque.dto;
+
+public record ProdutoIndexavelDTO(
+        Long id,
+        String nome,
+        String codigo
+) {
+}
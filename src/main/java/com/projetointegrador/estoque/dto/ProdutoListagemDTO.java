@@ -0,0 +1,29 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.UnidadeMedida;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ProdutoListagemDTO(
+        Long id,
+        String nome,
+        String descricao,
+        BigDecimal valor,
+        Integer quantidade,
+        Boolean disponivel,
+        UnidadeMedida unidadeMedida,
+        String codigo,
+        Integer estoqueMinimo,
+        Integer estoqueMaximo,
+        LocalDate dataValidade,
+        LocalDate dataEntrada,
+        LocalDate dataSaida,
+        Long categoriaId,
+        String categoriaNome,
+        Long marcaId,
+        String marcaNome,
+        Long fornecedorId,
+        String fornecedorNome
+) {
+}
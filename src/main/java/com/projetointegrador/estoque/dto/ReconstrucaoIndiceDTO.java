@@ -0,0 +1,14 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.SituacaoReconstrucao;
+
+import java.time.Instant;
+
+public record ReconstrucaoIndiceDTO(
+        SituacaoReconstrucao situacao,
+        Instant inicio,
+        Instant fim,
+        Integer indexados,
+        String erro
+) {
+}
@@ -0,0 +1,10 @@
+package com.projetointegrador.estoque.dto;
+
+import com.projetointegrador.estoque.enums.TipoSugestao;
+
+public record SugestaoDTO(
+        TipoSugestao tipo,
+        Long id,
+        String nome
+) {
+}
@@ -0,0 +1,9 @@
+package com.projetointegrador.estoque.dto;
+
+import java.util.List;
+
+public record TelemetriaBuscaDTO(
+        List<EstatisticasBuscaDTO> operacoes,
+        List<BuscaLentaDTO> buscasLentas
+) {
+}
@@ -0,0 +1,11 @@
+package com.projetointegrador.estoque.dto;
+
+// O tempo total pode estar superestimado em até erroMaximoMs.
+public record TermoPesadoDTO(
+        String termo,
+        double tempoTotalMs,
+        double erroMaximoMs,
+        long buscas,
+        long resultadosMaximo
+) {
+}
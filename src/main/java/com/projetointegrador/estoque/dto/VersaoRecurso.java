@@ -0,0 +1,9 @@
+package com.projetointegrador.estoque.dto;
+
+public record VersaoRecurso(String etag, long ultimaModificacao) {
+
+    // Outra representação do mesmo estado (ex.: corpo comprimido) precisa de outra ETag forte.
+    public VersaoRecurso comSufixo(String sufixo) {
+        return new VersaoRecurso(etag.substring(0, etag.length() - 1) + "-" + sufixo + "\"", ultimaModificacao);
+    }
+}
@@ -0,0 +1,7 @@
+package com.projetointegrador.estoque.dto;
+
+public record VersaoTokenDTO(
+        Long id,
+        int versao
+) {
+}
@@ -0,0 +1,67 @@
+package com.projetointegrador.estoque.enums;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public enum FormatoCatalogo {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile"),
+    PROTOBUF(new MediaType("application", "x-protobuf"), "protobuf");
+
+    private final MediaType mediaType;
+    private final String sufixoEtag;
+
+    FormatoCatalogo(MediaType mediaType, String sufixoEtag) {
+        this.mediaType = mediaType;
+        this.sufixoEtag = sufixoEtag;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getSufixoEtag() {
+        return sufixoEtag;
+    }
+
+    private static final Set<FormatoCatalogo> TODOS = EnumSet.allOf(FormatoCatalogo.class);
+
+    public static FormatoCatalogo negociar(String accept) {
+        return negociar(accept, TODOS);
+    }
+
+    // Escolhe, entre os disponíveis, o formato de maior qualidade no Accept; curingas e ausência do cabeçalho resultam em JSON.
+    public static FormatoCatalogo negociar(String accept, Set<FormatoCatalogo> disponiveis) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> aceitos;
+        try {
+            aceitos = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        aceitos.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType aceito : aceitos) {
+            if (aceito.getQualityValue() == 0) {
+                continue;
+            }
+            for (FormatoCatalogo formato : disponiveis) {
+                if (aceito.includes(formato.mediaType)) {
+                    return formato;
+                }
+            }
+        }
+        return JSON;
+    }
+}
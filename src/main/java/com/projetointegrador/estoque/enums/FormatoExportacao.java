@@ -0,0 +1,33 @@
+package com.projetointegrador.estoque.enums;
+
+import org.springframework.http.MediaType;
+
+public enum FormatoExportacao {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extensao;
+    private final MediaType mediaType;
+
+    FormatoExportacao(String extensao, MediaType mediaType) {
+        this.extensao = extensao;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static FormatoExportacao doParametro(String parametro) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.extensao.equalsIgnoreCase(parametro)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação inválido: " + parametro + ". Use ndjson ou csv.");
+    }
+}
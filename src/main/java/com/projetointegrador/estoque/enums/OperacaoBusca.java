@@ -0,0 +1,10 @@
+package com.projetointegrador.estoque.enums;
+
+public enum OperacaoBusca {
+    PRODUTO_NOME,
+    MARCA_NOME,
+    CATEGORIA_NOME,
+    FORNECEDOR_NOME,
+    FORNECEDOR_CNPJ,
+    USUARIO_NOME
+}
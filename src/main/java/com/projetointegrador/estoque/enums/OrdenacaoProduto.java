@@ -0,0 +1,44 @@
+package com.projetointegrador.estoque.enums;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+public enum OrdenacaoProduto {
+    NOME("nome", false, valor -> valor),
+    VALOR("valor", false, BigDecimal::new),
+    QUANTIDADE("quantidade", true, Integer::valueOf),
+    DATA_VALIDADE("dataValidade", true, LocalDate::parse);
+
+    private final String atributo;
+    private final boolean anulavel;
+    private final Function<String, Object> conversor;
+
+    OrdenacaoProduto(String atributo, boolean anulavel, Function<String, Object> conversor) {
+        this.atributo = atributo;
+        this.anulavel = anulavel;
+        this.conversor = conversor;
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+
+    public boolean isAnulavel() {
+        return anulavel;
+    }
+
+    public Object converterChave(String valor) {
+        return conversor.apply(valor);
+    }
+
+    public static OrdenacaoProduto doParametro(String parametro) {
+        for (OrdenacaoProduto ordenacao : values()) {
+            if (ordenacao.atributo.equalsIgnoreCase(parametro)) {
+                return ordenacao;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação inválida: " + parametro
+                + ". Use nome, valor, quantidade ou dataValidade.");
+    }
+}
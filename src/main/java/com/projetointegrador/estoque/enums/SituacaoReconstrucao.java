@@ -0,0 +1,7 @@
+package com.projetointegrador.estoque.enums;
+
+public enum SituacaoReconstrucao {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
@@ -0,0 +1,40 @@
+package com.projetointegrador.estoque.enums;
+
+import com.projetointegrador.estoque.dto.CategoriaDTO;
+import com.projetointegrador.estoque.dto.MarcaDTO;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+
+import java.util.Set;
+
+public enum SnapshotCatalogo {
+
+    PRODUTOS(ProdutoListagemDTO.class, TabelaVersionada.PRODUTOS, TabelaVersionada.CATEGORIAS,
+            TabelaVersionada.MARCAS, TabelaVersionada.FORNECEDORES),
+    CATEGORIAS(CategoriaDTO.class, TabelaVersionada.CATEGORIAS),
+    MARCAS(MarcaDTO.class, TabelaVersionada.MARCAS);
+
+    private final Class<?> tipoItem;
+    private final TabelaVersionada[] tabelas;
+
+    SnapshotCatalogo(Class<?> tipoItem, TabelaVersionada... tabelas) {
+        this.tipoItem = tipoItem;
+        this.tabelas = tabelas;
+    }
+
+    public Class<?> getTipoItem() {
+        return tipoItem;
+    }
+
+    public TabelaVersionada[] getTabelas() {
+        return tabelas.clone();
+    }
+
+    public boolean dependeDe(Set<TabelaVersionada> alteradas) {
+        for (TabelaVersionada tabela : tabelas) {
+            if (alteradas.contains(tabela)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.projetointegrador.estoque.enums;
+
+import com.projetointegrador.estoque.model.Categoria;
+import com.projetointegrador.estoque.model.Fornecedor;
+import com.projetointegrador.estoque.model.Marca;
+import com.projetointegrador.estoque.model.Produto;
+import com.projetointegrador.estoque.model.Usuario;
+
+public enum TabelaVersionada {
+
+    PRODUTOS(Produto.class),
+    CATEGORIAS(Categoria.class),
+    MARCAS(Marca.class),
+    FORNECEDORES(Fornecedor.class),
+    USUARIOS(Usuario.class);
+
+    private final Class<?> entidade;
+
+    TabelaVersionada(Class<?> entidade) {
+        this.entidade = entidade;
+    }
+
+    public static TabelaVersionada daEntidade(Class<?> tipo) {
+        for (TabelaVersionada tabela : values()) {
+            if (tabela.entidade.isAssignableFrom(tipo)) {
+                return tabela;
+            }
+        }
+        throw new IllegalArgumentException("Entidade sem controle de versão: " + tipo.getName());
+    }
+}
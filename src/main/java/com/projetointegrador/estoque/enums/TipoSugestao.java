@@ -0,0 +1,8 @@
+package com.projetointegrador.estoque.enums;
+
+public enum TipoSugestao {
+    PRODUTO,
+    MARCA,
+    CATEGORIA,
+    FORNECEDOR
+}
@@ -0,0 +1,9 @@
+package com.projetointegrador.estoque.event;
+
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+
+import java.util.Set;
+
+// Publicado depois do commit da transação que alterou as tabelas.
+public record TabelasAlteradasEvent(Set<TabelaVersionada> tabelas) {
+}
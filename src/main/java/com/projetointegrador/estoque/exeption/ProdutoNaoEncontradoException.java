@@ -8,4 +8,8 @@ public class ProdutoNaoEncontradoException extends RuntimeException {
     public ProdutoNaoEncontradoException(Long id) {
         super("Produto com ID " + id + " não encontrado.");
     }
+
+    public ProdutoNaoEncontradoException(String codigo) {
+        super("Produto com código " + codigo + " não encontrado.");
+    }
 }
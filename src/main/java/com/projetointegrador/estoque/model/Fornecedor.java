@@ -1,38 +1,67 @@
 package com.projetointegrador.estoque.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.projetointegrador.estoque.configuration.CacheSegundoNivelConfig;
 import com.projetointegrador.estoque.dto.FornecedorDTO;
+import com.projetointegrador.estoque.repository.SequenciaProdutoListener;
+import com.projetointegrador.estoque.repository.VersaoTabelaListener;
+import com.projetointegrador.estoque.util.TextoUtil;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_FORNECEDORES)
+@EntityListeners({VersaoTabelaListener.class, SequenciaProdutoListener.class})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tb_fornecedores")
+@Table(name = "tb_fornecedores", indexes = @Index(name = "idx_fornecedores_nome_normalizado", columnList = "nomeNormalizado"))
 public class Fornecedor {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     @NotBlank(message = "O nome do fornecedor é obrigatório")
     @Size(min = 3, max = 100, message = "O nome deve ter entre 3 e 100 caracteres")
     private String nome;
 
+    // Minúsculo e sem acentos (TextoUtil.normalizar); mantido a cada escrita e servido às buscas por nome.
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String nomeNormalizado;
+
     @Column(unique = true, length = 14)
     private String cnpj;
 
+    // Só os dígitos do CNPJ (TextoUtil.somenteDigitos): chave das buscas exatas e por prefixo.
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(unique = true, length = 14)
+    private String cnpjDigitos;
+
     @Email(message = "E-mail inválido")
     private String email;
 
@@ -44,8 +73,14 @@ public class Fornecedor {
     @JsonIgnore
     private List<Produto> produtos = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void normalizarChaves() {
+        this.nomeNormalizado = TextoUtil.normalizar(nome);
+        this.cnpjDigitos = TextoUtil.somenteDigitos(cnpj);
+    }
+
     public Fornecedor(FornecedorDTO dto) {
-        this.id = dto.id();
         this.nome = dto.nome();
         this.cnpj = dto.cnpj();
         this.email = dto.email();
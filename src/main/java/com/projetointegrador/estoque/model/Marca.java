@@ -1,39 +1,67 @@
 package com.projetointegrador.estoque.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.projetointegrador.estoque.configuration.CacheSegundoNivelConfig;
 import com.projetointegrador.estoque.dto.MarcaDTO;
+import com.projetointegrador.estoque.repository.SequenciaProdutoListener;
+import com.projetointegrador.estoque.repository.VersaoTabelaListener;
+import com.projetointegrador.estoque.util.TextoUtil;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_MARCAS)
+@EntityListeners({VersaoTabelaListener.class, SequenciaProdutoListener.class})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tb_marcas")
+@Table(name = "tb_marcas", indexes = @Index(name = "idx_marcas_nome_normalizado", columnList = "nomeNormalizado"))
 public class Marca {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     @NotBlank(message = "O nome da marca é obrigatório")
     @Column(unique = true)
     private String nome;
 
+    // Minúsculo e sem acentos (TextoUtil.normalizar); mantido a cada escrita e servido às buscas por nome.
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String nomeNormalizado;
+
     @OneToMany(mappedBy = "marca", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Produto> produtos = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void normalizarNome() {
+        this.nomeNormalizado = TextoUtil.normalizar(nome);
+    }
+
     public Marca(MarcaDTO dto) {
-        this.id = dto.id();
         this.nome = dto.nome();
     }
 }
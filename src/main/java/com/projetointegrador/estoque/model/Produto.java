@@ -1,36 +1,74 @@
 package com.projetointegrador.estoque.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.projetointegrador.estoque.dto.ProdutoDTO;
 import com.projetointegrador.estoque.enums.UnidadeMedida;
+import com.projetointegrador.estoque.repository.SequenciaProdutoListener;
+import com.projetointegrador.estoque.repository.VersaoTabelaListener;
+import com.projetointegrador.estoque.util.TextoUtil;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
 @Entity
+@EntityListeners({VersaoTabelaListener.class, SequenciaProdutoListener.class})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tb_produtos")
+@Table(name = "tb_produtos", indexes = {
+        @Index(name = "idx_produtos_valor_id", columnList = "valor, id"),
+        @Index(name = "idx_produtos_quantidade_id", columnList = "quantidade, id"),
+        @Index(name = "idx_produtos_data_validade_id", columnList = "dataValidade, id"),
+        @Index(name = "idx_produtos_sequencia_id", columnList = "sequenciaAlteracao, id"),
+        // Combinações mais comuns de POST /produtos/filtro: igualdade primeiro, depois a chave do keyset.
+        @Index(name = "idx_produtos_categoria_nome_id", columnList = "categoria_id, nome, id"),
+        @Index(name = "idx_produtos_categoria_valor_id", columnList = "categoria_id, valor, id"),
+        @Index(name = "idx_produtos_marca_nome_id", columnList = "marca_id, nome, id"),
+        @Index(name = "idx_produtos_fornecedor_nome_id", columnList = "fornecedor_id, nome, id"),
+        @Index(name = "idx_produtos_disponivel_nome_id", columnList = "disponivel, nome, id"),
+        @Index(name = "idx_produtos_data_entrada_id", columnList = "dataEntrada, id"),
+        @Index(name = "idx_produtos_nome_normalizado", columnList = "nomeNormalizado")
+})
 public class Produto {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    // Preenchida por SequenciaProdutoListener; base de /produtos/changes.
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long sequenciaAlteracao;
+
     @NotBlank(message = "O nome do produto é obrigatório")
     @Column(unique = true)
     private String nome;
 
+    // Minúsculo e sem acentos (TextoUtil.normalizar); mantido a cada escrita e servido às buscas por nome.
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private String nomeNormalizado;
+
     @NotNull(message = "O preço do produto é obrigatório")
     @Min(value = 0, message = "O preço deve ser positivo")
     private BigDecimal valor;
@@ -41,7 +79,9 @@ public class Produto {
     @Enumerated(EnumType.STRING)
     private UnidadeMedida unidadeMedida;
 
+    @Column(unique = true)
     private String codigo;
+
     private Integer estoqueMinimo;
     private Integer estoqueMaximo;
 
@@ -53,26 +93,31 @@ public class Produto {
 
     private boolean disponivel;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     @JsonIgnoreProperties("produtos")
     @NotNull(message = "É obrigatório preencher a categoria do produto")
     private Categoria categoria;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "marca_id")
     @JsonIgnoreProperties("produtos")
     @NotNull(message = "É obrigatório preencher a marca do produto")
     private Marca marca;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "fornecedor_id")
     @JsonIgnoreProperties("produtos")
     @NotNull(message = "É obrigatório preencher o fornecedor do produto")
     private Fornecedor fornecedor;
 
+    @PrePersist
+    @PreUpdate
+    void normalizarNome() {
+        this.nomeNormalizado = TextoUtil.normalizar(nome);
+    }
+
     public Produto(ProdutoDTO dto) {
-        this.id = dto.id();
         this.nome = dto.nome();
         this.descricao = dto.descricao();
         this.valor = dto.valor();
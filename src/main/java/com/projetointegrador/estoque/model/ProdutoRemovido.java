@@ -0,0 +1,32 @@
+package com.projetointegrador.estoque.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Lápide de um produto excluído, para que a sincronização incremental também propague exclusões.
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tb_produtos_removidos", indexes = {
+        @Index(name = "idx_produtos_removidos_sequencia", columnList = "sequenciaAlteracao, produtoId")
+})
+public class ProdutoRemovido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private Long sequenciaAlteracao;
+
+    @Column(nullable = false)
+    private Instant removidoEm;
+}
@@ -1,6 +1,9 @@
 package com.projetointegrador.estoque.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.projetointegrador.estoque.configuration.CacheSegundoNivelConfig;
 import com.projetointegrador.estoque.enums.Role;
+import com.projetointegrador.estoque.repository.VersaoTabelaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -10,12 +13,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
 @Entity
+@EntityListeners(VersaoTabelaListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +33,18 @@ public class Usuario {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    // Muda só quando e-mail, senha ou papéis mudam; tokens com versão anterior deixam de valer.
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int versaoToken;
+
     @NotNull(message = "O atributo Nome é obrigatório!")
     private String nome;
 
@@ -39,7 +58,16 @@ public class Usuario {
     private String senha;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_PAPEIS_USUARIO)
     @CollectionTable(name = "usuario_roles", joinColumns = @JoinColumn(name = "usuario_id"))
     @Enumerated(EnumType.STRING)
     private Set<Role> roles = new HashSet<>();
+
+    public Usuario(Long id, String nome, String email, String senha, Set<Role> roles) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.senha = senha;
+        this.roles = roles;
+    }
 }
@@ -0,0 +1,28 @@
+package com.projetointegrador.estoque.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tb_versoes_tabela")
+public class VersaoTabela {
+
+    @Id
+    @Column(length = 30)
+    private String tabela;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    // Epoch em milissegundos da última alteração confirmada na tabela.
+    @Column(nullable = false)
+    private Long ultimaModificacao;
+}
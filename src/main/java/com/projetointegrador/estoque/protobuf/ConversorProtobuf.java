@@ -0,0 +1,205 @@
+package com.projetointegrador.estoque.protobuf;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.UnsafeByteOperations;
+import com.projetointegrador.estoque.dto.*;
+import com.projetointegrador.estoque.enums.UnidadeMedida;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Converte os DTOs do catálogo nas mensagens de src/main/proto/catalogo.proto.
+ * Campos nulos simplesmente não são escritos (todos são optional no schema).
+ */
+public final class ConversorProtobuf {
+
+    private static final Set<Class<?>> TIPOS_SUPORTADOS = Set.of(
+            ProdutoDTO.class, ProdutoListagemDTO.class, CategoriaDTO.class, MarcaDTO.class, FornecedorDTO.class);
+
+    private ConversorProtobuf() {
+    }
+
+    public static boolean suporta(Class<?> tipo) {
+        return TIPOS_SUPORTADOS.contains(tipo);
+    }
+
+    // O DTO que um tipo de corpo (DTO, List de DTO ou página de listagem) leva para o protobuf; null se não tiver representação.
+    public static Class<?> elemento(Type tipo) {
+        if (tipo instanceof Class<?> classe) {
+            return suporta(classe) ? classe : null;
+        }
+        if (tipo instanceof ParameterizedType parametrizado
+                && parametrizado.getActualTypeArguments()[0] instanceof Class<?> argumento) {
+            if (parametrizado.getRawType() == List.class && suporta(argumento)) {
+                return argumento;
+            }
+            if (parametrizado.getRawType() == PaginaDTO.class && argumento == ProdutoListagemDTO.class) {
+                return argumento;
+            }
+        }
+        return null;
+    }
+
+    public static Message paraMensagem(Object valor) {
+        return switch (valor) {
+            case ProdutoDTO produto -> produto(produto);
+            case ProdutoListagemDTO produto -> produtoListagem(produto);
+            case CategoriaDTO categoria -> categoria(categoria.id(), categoria.nome());
+            case MarcaDTO marca -> marca(marca.id(), marca.nome());
+            case FornecedorDTO fornecedor -> fornecedor(fornecedor);
+            default -> throw new IllegalArgumentException("Tipo sem representação protobuf: " + valor.getClass().getName());
+        };
+    }
+
+    public static Message paraLista(List<?> itens, Class<?> tipo) {
+        if (tipo == ProdutoListagemDTO.class) {
+            ProdutoListagemLista.Builder lista = ProdutoListagemLista.newBuilder();
+            itens.forEach(item -> lista.addItens(produtoListagem((ProdutoListagemDTO) item)));
+            return lista.build();
+        }
+        if (tipo == ProdutoDTO.class) {
+            ProdutoLista.Builder lista = ProdutoLista.newBuilder();
+            itens.forEach(item -> lista.addItens(produto((ProdutoDTO) item)));
+            return lista.build();
+        }
+        if (tipo == CategoriaDTO.class) {
+            CategoriaLista.Builder lista = CategoriaLista.newBuilder();
+            itens.forEach(item -> lista.addItens(categoria(((CategoriaDTO) item).id(), ((CategoriaDTO) item).nome())));
+            return lista.build();
+        }
+        if (tipo == MarcaDTO.class) {
+            MarcaLista.Builder lista = MarcaLista.newBuilder();
+            itens.forEach(item -> lista.addItens(marca(((MarcaDTO) item).id(), ((MarcaDTO) item).nome())));
+            return lista.build();
+        }
+        if (tipo == FornecedorDTO.class) {
+            FornecedorLista.Builder lista = FornecedorLista.newBuilder();
+            itens.forEach(item -> lista.addItens(fornecedor((FornecedorDTO) item)));
+            return lista.build();
+        }
+        throw new IllegalArgumentException("Tipo sem representação protobuf: " + tipo.getName());
+    }
+
+    public static ProdutoListagemPagina paraPagina(PaginaDTO<?> pagina) {
+        ProdutoListagemPagina.Builder mensagem = ProdutoListagemPagina.newBuilder();
+        pagina.itens().forEach(item -> mensagem.addItens(produtoListagem((ProdutoListagemDTO) item)));
+        if (pagina.proximoCursor() != null) {
+            mensagem.setProximoCursor(pagina.proximoCursor());
+        }
+        return mensagem.build();
+    }
+
+    public static List<ProdutoListagemDTO> deProdutoListagemLista(ProdutoListagemLista lista) {
+        return lista.getItensList().stream().map(ConversorProtobuf::deProdutoListagem).toList();
+    }
+
+    public static ProdutoListagemDTO deProdutoListagem(ProdutoListagem mensagem) {
+        return new ProdutoListagemDTO(
+                mensagem.getId(),
+                mensagem.hasNome() ? mensagem.getNome() : null,
+                mensagem.hasDescricao() ? mensagem.getDescricao() : null,
+                mensagem.hasValor() ? decimal(mensagem.getValor()) : null,
+                mensagem.hasQuantidade() ? mensagem.getQuantidade() : null,
+                mensagem.hasDisponivel() ? mensagem.getDisponivel() : null,
+                mensagem.hasUnidadeMedida() ? UnidadeMedida.valueOf(mensagem.getUnidadeMedida()) : null,
+                mensagem.hasCodigo() ? mensagem.getCodigo() : null,
+                mensagem.hasEstoqueMinimo() ? mensagem.getEstoqueMinimo() : null,
+                mensagem.hasEstoqueMaximo() ? mensagem.getEstoqueMaximo() : null,
+                mensagem.hasDataValidade() ? LocalDate.ofEpochDay(mensagem.getDataValidade()) : null,
+                mensagem.hasDataEntrada() ? LocalDate.ofEpochDay(mensagem.getDataEntrada()) : null,
+                mensagem.hasDataSaida() ? LocalDate.ofEpochDay(mensagem.getDataSaida()) : null,
+                mensagem.hasCategoriaId() ? mensagem.getCategoriaId() : null,
+                mensagem.hasCategoriaNome() ? mensagem.getCategoriaNome() : null,
+                mensagem.hasMarcaId() ? mensagem.getMarcaId() : null,
+                mensagem.hasMarcaNome() ? mensagem.getMarcaNome() : null,
+                mensagem.hasFornecedorId() ? mensagem.getFornecedorId() : null,
+                mensagem.hasFornecedorNome() ? mensagem.getFornecedorNome() : null
+        );
+    }
+
+    private static ProdutoListagem produtoListagem(ProdutoListagemDTO dto) {
+        ProdutoListagem.Builder mensagem = ProdutoListagem.newBuilder().setId(dto.id());
+        if (dto.nome() != null) mensagem.setNome(dto.nome());
+        if (dto.descricao() != null) mensagem.setDescricao(dto.descricao());
+        if (dto.valor() != null) mensagem.setValor(decimal(dto.valor()));
+        if (dto.quantidade() != null) mensagem.setQuantidade(dto.quantidade());
+        if (dto.disponivel() != null) mensagem.setDisponivel(dto.disponivel());
+        if (dto.unidadeMedida() != null) mensagem.setUnidadeMedida(dto.unidadeMedida().name());
+        if (dto.codigo() != null) mensagem.setCodigo(dto.codigo());
+        if (dto.estoqueMinimo() != null) mensagem.setEstoqueMinimo(dto.estoqueMinimo());
+        if (dto.estoqueMaximo() != null) mensagem.setEstoqueMaximo(dto.estoqueMaximo());
+        if (dto.dataValidade() != null) mensagem.setDataValidade((int) dto.dataValidade().toEpochDay());
+        if (dto.dataEntrada() != null) mensagem.setDataEntrada((int) dto.dataEntrada().toEpochDay());
+        if (dto.dataSaida() != null) mensagem.setDataSaida((int) dto.dataSaida().toEpochDay());
+        if (dto.categoriaId() != null) mensagem.setCategoriaId(dto.categoriaId());
+        if (dto.categoriaNome() != null) mensagem.setCategoriaNome(dto.categoriaNome());
+        if (dto.marcaId() != null) mensagem.setMarcaId(dto.marcaId());
+        if (dto.marcaNome() != null) mensagem.setMarcaNome(dto.marcaNome());
+        if (dto.fornecedorId() != null) mensagem.setFornecedorId(dto.fornecedorId());
+        if (dto.fornecedorNome() != null) mensagem.setFornecedorNome(dto.fornecedorNome());
+        return mensagem.build();
+    }
+
+    private static Produto produto(ProdutoDTO dto) {
+        Produto.Builder mensagem = Produto.newBuilder().setId(dto.id());
+        if (dto.nome() != null) mensagem.setNome(dto.nome());
+        if (dto.descricao() != null) mensagem.setDescricao(dto.descricao());
+        if (dto.valor() != null) mensagem.setValor(decimal(dto.valor()));
+        if (dto.quantidade() != null) mensagem.setQuantidade(dto.quantidade());
+        if (dto.disponivel() != null) mensagem.setDisponivel(dto.disponivel());
+        if (dto.unidadeMedida() != null) mensagem.setUnidadeMedida(dto.unidadeMedida().name());
+        if (dto.codigo() != null) mensagem.setCodigo(dto.codigo());
+        if (dto.estoqueMinimo() != null) mensagem.setEstoqueMinimo(dto.estoqueMinimo());
+        if (dto.estoqueMaximo() != null) mensagem.setEstoqueMaximo(dto.estoqueMaximo());
+        if (dto.dataValidade() != null) mensagem.setDataValidade((int) dto.dataValidade().toEpochDay());
+        if (dto.dataEntrada() != null) mensagem.setDataEntrada((int) dto.dataEntrada().toEpochDay());
+        if (dto.dataSaida() != null) mensagem.setDataSaida((int) dto.dataSaida().toEpochDay());
+        if (dto.categoria() != null) mensagem.setCategoria(categoria(dto.categoria().getId(), dto.categoria().getNome()));
+        if (dto.marca() != null) mensagem.setMarca(marca(dto.marca().getId(), dto.marca().getNome()));
+        if (dto.fornecedor() != null) {
+            com.projetointegrador.estoque.model.Fornecedor fornecedor = dto.fornecedor();
+            mensagem.setFornecedor(fornecedor(new FornecedorDTO(fornecedor.getId(), fornecedor.getNome(),
+                    fornecedor.getCnpj(), fornecedor.getEmail(), fornecedor.getTelefone(), fornecedor.getEndereco())));
+        }
+        return mensagem.build();
+    }
+
+    private static Categoria categoria(Long id, String nome) {
+        Categoria.Builder mensagem = Categoria.newBuilder().setId(id);
+        if (nome != null) mensagem.setNome(nome);
+        return mensagem.build();
+    }
+
+    private static Marca marca(Long id, String nome) {
+        Marca.Builder mensagem = Marca.newBuilder().setId(id);
+        if (nome != null) mensagem.setNome(nome);
+        return mensagem.build();
+    }
+
+    private static Fornecedor fornecedor(FornecedorDTO dto) {
+        Fornecedor.Builder mensagem = Fornecedor.newBuilder().setId(dto.id());
+        if (dto.nome() != null) mensagem.setNome(dto.nome());
+        if (dto.cnpj() != null) mensagem.setCnpj(dto.cnpj());
+        if (dto.email() != null) mensagem.setEmail(dto.email());
+        if (dto.telefone() != null) mensagem.setTelefone(dto.telefone());
+        if (dto.endereco() != null) mensagem.setEndereco(dto.endereco());
+        return mensagem.build();
+    }
+
+    private static Decimal decimal(BigDecimal valor) {
+        return Decimal.newBuilder()
+                .setUnscaled(UnsafeByteOperations.unsafeWrap(valor.unscaledValue().toByteArray()))
+                .setScale(valor.scale())
+                .build();
+    }
+
+    private static BigDecimal decimal(Decimal decimal) {
+        return new BigDecimal(new BigInteger(decimal.getUnscaled().toByteArray()), decimal.getScale());
+    }
+}
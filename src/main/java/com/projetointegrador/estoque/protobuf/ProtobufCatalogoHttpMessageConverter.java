@@ -0,0 +1,62 @@
+package com.projetointegrador.estoque.protobuf;
+
+import com.google.protobuf.Message;
+import com.projetointegrador.estoque.dto.PaginaDTO;
+import com.projetointegrador.estoque.enums.FormatoCatalogo;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+// Escreve os DTOs do catálogo (e listas deles) como application/x-protobuf; não lê corpos de requisição.
+public class ProtobufCatalogoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public ProtobufCatalogoHttpMessageConverter() {
+        super(FormatoCatalogo.PROTOBUF.getMediaType());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConversorProtobuf.suporta(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && ConversorProtobuf.elemento(type != null ? type : clazz) != null;
+    }
+
+    @Override
+    protected void writeInternal(Object valor, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Message mensagem = switch (valor) {
+            case List<?> itens -> ConversorProtobuf.paraLista(itens, ConversorProtobuf.elemento(type));
+            case PaginaDTO<?> pagina -> ConversorProtobuf.paraPagina(pagina);
+            default -> ConversorProtobuf.paraMensagem(valor);
+        };
+        mensagem.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura de protobuf não suportada.", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura de protobuf não suportada.", inputMessage);
+    }
+}
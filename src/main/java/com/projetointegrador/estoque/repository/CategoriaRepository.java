@@ -1,16 +1,27 @@
 package com.projetointegrador.estoque.repository;
 
+import com.projetointegrador.estoque.dto.NomeIndexavelDTO;
 import com.projetointegrador.estoque.model.Categoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+public interface CategoriaRepository extends JpaRepository<Categoria, Long>, CategoriaRepositoryCustom {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Categoria> findByNomeIgnoreCase(String nome);
 
-    List<Categoria> findAllByNomeContainingIgnoreCase(String nome);
+    @Query("select new com.projetointegrador.estoque.dto.NomeIndexavelDTO(c.id, c.nome) from Categoria c")
+    List<NomeIndexavelDTO> listarNomes();
+
+    @Query("select c.versao from Categoria c where c.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
 }
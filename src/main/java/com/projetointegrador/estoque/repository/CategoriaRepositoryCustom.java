@@ -0,0 +1,10 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.model.Categoria;
+
+import java.util.List;
+
+public interface CategoriaRepositoryCustom {
+
+    List<Categoria> findAllByNomeContainingIgnoreCase(String nome);
+}
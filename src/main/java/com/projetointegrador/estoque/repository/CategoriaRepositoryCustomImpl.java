@@ -0,0 +1,20 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.busca.BuscaTextual;
+import com.projetointegrador.estoque.model.Categoria;
+
+import java.util.List;
+
+public class CategoriaRepositoryCustomImpl implements CategoriaRepositoryCustom {
+
+    private final BuscaTextual buscaTextual;
+
+    public CategoriaRepositoryCustomImpl(BuscaTextual buscaTextual) {
+        this.buscaTextual = buscaTextual;
+    }
+
+    @Override
+    public List<Categoria> findAllByNomeContainingIgnoreCase(String nome) {
+        return buscaTextual.buscarPorNome(Categoria.class, nome);
+    }
+}
@@ -0,0 +1,38 @@
+package com.projetointegrador.estoque.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public final class Especificacoes {
+
+    private static final char ESCAPE = '\\';
+
+    private Especificacoes() {
+    }
+
+    public static <T> Specification<T> idIgual(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static <T> Specification<T> entre(String atributo, String de, String ate) {
+        return (root, query, cb) -> cb.between(root.get(atributo), de, ate);
+    }
+
+    public static <T> Specification<T> contem(String atributo, String termo) {
+        return (root, query, cb) -> cb.like(root.get(atributo), "%" + escaparLike(termo) + "%", ESCAPE);
+    }
+
+    public static <T> Specification<T> contemIgnorandoCaixa(String atributo, String termo) {
+        return (root, query, cb) -> cb.like(cb.upper(root.get(atributo)),
+                "%" + escaparLike(termo.toUpperCase()) + "%", ESCAPE);
+    }
+
+    public static <T> ProjecaoCampos.Ordenador<T> porId() {
+        return (cb, root) -> List.of(cb.asc(root.get("id")));
+    }
+
+    static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,102 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.dto.CursorProduto;
+import com.projetointegrador.estoque.dto.FiltroProdutoDTO;
+import com.projetointegrador.estoque.enums.OrdenacaoProduto;
+import com.projetointegrador.estoque.model.Produto;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EspecificacoesProduto {
+
+    private EspecificacoesProduto() {
+    }
+
+    /*
+     * Keyset equivalente a (chave, id) > (:chave, :id), escrito como
+     * chave >= :chave and (chave > :chave or id > :id) para que o limite inferior da chave
+     * seja um range simples sobre o índice (chave, id) em qualquer banco.
+     * Nas ordenações anuláveis os nulos vêm primeiro.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Produto> apos(OrdenacaoProduto ordenacao, CursorProduto cursor) {
+        return (produto, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Expression<Comparable> chave = produto.get(ordenacao.getAtributo());
+            Expression<Long> id = produto.get("id");
+
+            if (cursor.chave() == null) {
+                return cb.or(cb.and(cb.isNull(chave), cb.greaterThan(id, cursor.id())), cb.isNotNull(chave));
+            }
+
+            Comparable valor = (Comparable) cursor.chave();
+            return cb.and(cb.greaterThanOrEqualTo(chave, valor),
+                    cb.or(cb.greaterThan(chave, valor), cb.greaterThan(id, cursor.id())));
+        };
+    }
+
+    // Só entram os critérios informados, para que o plano use o índice da combinação pedida.
+    public static Specification<Produto> filtro(FiltroProdutoDTO filtro) {
+        return (produto, query, cb) -> {
+            if (filtro == null) {
+                return null;
+            }
+            List<Predicate> predicados = new ArrayList<>();
+            pertenceA(cb, produto.get("categoria").get("id"), filtro.categorias(), predicados);
+            pertenceA(cb, produto.get("marca").get("id"), filtro.marcas(), predicados);
+            pertenceA(cb, produto.get("fornecedor").get("id"), filtro.fornecedores(), predicados);
+            if (filtro.disponivel() != null) {
+                predicados.add(cb.equal(produto.get("disponivel"), filtro.disponivel()));
+            }
+            if (filtro.unidadeMedida() != null) {
+                predicados.add(cb.equal(produto.get("unidadeMedida"), filtro.unidadeMedida()));
+            }
+            if (filtro.valorMinimo() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(produto.get("valor"), filtro.valorMinimo()));
+            }
+            if (filtro.valorMaximo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(produto.get("valor"), filtro.valorMaximo()));
+            }
+            if (filtro.validadeDe() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(produto.get("dataValidade"), filtro.validadeDe()));
+            }
+            if (filtro.validadeAte() != null) {
+                predicados.add(cb.lessThanOrEqualTo(produto.get("dataValidade"), filtro.validadeAte()));
+            }
+            if (filtro.entradaDe() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(produto.get("dataEntrada"), filtro.entradaDe()));
+            }
+            if (filtro.entradaAte() != null) {
+                predicados.add(cb.lessThanOrEqualTo(produto.get("dataEntrada"), filtro.entradaAte()));
+            }
+            return predicados.isEmpty() ? null : cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    private static void pertenceA(CriteriaBuilder cb, Path<Long> caminho, List<Long> ids, List<Predicate> predicados) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        predicados.add(ids.size() == 1 ? cb.equal(caminho, ids.get(0)) : caminho.in(ids));
+    }
+
+    public static ProjecaoCampos.Ordenador<Produto> ordem(OrdenacaoProduto ordenacao) {
+        return (cb, produto) -> {
+            Expression<?> chave = produto.get(ordenacao.getAtributo());
+            Order ordemChave = ordenacao.isAnulavel() && cb instanceof HibernateCriteriaBuilder hibernate
+                    ? hibernate.asc(chave, true)
+                    : cb.asc(chave);
+            return List.of(ordemChave, cb.asc(produto.get("id")));
+        };
+    }
+}
@@ -1,20 +1,37 @@
 package com.projetointegrador.estoque.repository;
 
+import com.projetointegrador.estoque.dto.NomeIndexavelDTO;
 import com.projetointegrador.estoque.model.Fornecedor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FornecedorRepository extends JpaRepository<Fornecedor, Long> {
+public interface FornecedorRepository extends JpaRepository<Fornecedor, Long>, FornecedorRepositoryCustom {
 
     Optional<Fornecedor> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Fornecedor> findByNomeIgnoreCase(String nome);
 
-    List<Fornecedor> findAllByCnpjContainingIgnoreCase(String cnpj);
+    boolean existsByCnpjDigitos(String cnpjDigitos);
 
-    List<Fornecedor> findAllByNomeContainingIgnoreCase(String nome);
+    // Com as duas pontas iguais é a busca exata; com o prefixo completado por 0 e por 9, um range scan.
+    List<Fornecedor> findAllByCnpjDigitosBetweenOrderByIdAsc(String de, String ate);
+
+    List<Fornecedor> findAllByCnpjDigitosIn(Collection<String> cnpjDigitos);
+
+    @Query("select new com.projetointegrador.estoque.dto.NomeIndexavelDTO(f.id, f.nome) from Fornecedor f")
+    List<NomeIndexavelDTO> listarNomes();
+
+    @Query("select f.versao from Fornecedor f where f.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
 }
@@ -0,0 +1,17 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.model.Fornecedor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface FornecedorRepositoryCustom {
+
+    ProjecaoCampos<Fornecedor> CAMPOS = new ProjecaoCampos<>(Fornecedor.class,
+            "id", "nome", "cnpj", "email", "telefone", "endereco");
+
+    List<Fornecedor> findAllByNomeContainingIgnoreCase(String nome);
+
+    List<Map<String, Object>> buscarCampos(List<String> campos, Specification<Fornecedor> filtro);
+}
@@ -0,0 +1,32 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.busca.BuscaTextual;
+import com.projetointegrador.estoque.model.Fornecedor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public class FornecedorRepositoryCustomImpl implements FornecedorRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BuscaTextual buscaTextual;
+
+    public FornecedorRepositoryCustomImpl(BuscaTextual buscaTextual) {
+        this.buscaTextual = buscaTextual;
+    }
+
+    @Override
+    public List<Fornecedor> findAllByNomeContainingIgnoreCase(String nome) {
+        return buscaTextual.buscarPorNome(Fornecedor.class, nome);
+    }
+
+    @Override
+    public List<Map<String, Object>> buscarCampos(List<String> campos, Specification<Fornecedor> filtro) {
+        return CAMPOS.buscar(entityManager, campos, filtro, Especificacoes.porId(), null);
+    }
+}
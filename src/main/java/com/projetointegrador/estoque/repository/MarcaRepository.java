@@ -1,16 +1,27 @@
 package com.projetointegrador.estoque.repository;
 
+import com.projetointegrador.estoque.dto.NomeIndexavelDTO;
 import com.projetointegrador.estoque.model.Marca;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MarcaRepository extends JpaRepository<Marca, Long> {
+public interface MarcaRepository extends JpaRepository<Marca, Long>, MarcaRepositoryCustom {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Marca> findByNomeIgnoreCase(String nome);
 
-    List<Marca> findAllByNomeContainingIgnoreCase(String nome);
+    @Query("select new com.projetointegrador.estoque.dto.NomeIndexavelDTO(m.id, m.nome) from Marca m")
+    List<NomeIndexavelDTO> listarNomes();
+
+    @Query("select m.versao from Marca m where m.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
 }
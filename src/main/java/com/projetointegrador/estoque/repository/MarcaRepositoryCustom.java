@@ -0,0 +1,10 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.model.Marca;
+
+import java.util.List;
+
+public interface MarcaRepositoryCustom {
+
+    List<Marca> findAllByNomeContainingIgnoreCase(String nome);
+}
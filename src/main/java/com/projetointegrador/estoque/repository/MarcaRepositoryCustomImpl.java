@@ -0,0 +1,20 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.busca.BuscaTextual;
+import com.projetointegrador.estoque.model.Marca;
+
+import java.util.List;
+
+public class MarcaRepositoryCustomImpl implements MarcaRepositoryCustom {
+
+    private final BuscaTextual buscaTextual;
+
+    public MarcaRepositoryCustomImpl(BuscaTextual buscaTextual) {
+        this.buscaTextual = buscaTextual;
+    }
+
+    @Override
+    public List<Marca> findAllByNomeContainingIgnoreCase(String nome) {
+        return buscaTextual.buscarPorNome(Marca.class, nome);
+    }
+}
@@ -0,0 +1,26 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.dto.PosicaoAlteracao;
+import com.projetointegrador.estoque.model.ProdutoRemovido;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProdutoRemovidoRepository extends JpaRepository<ProdutoRemovido, Long> {
+
+    @Query("select new com.projetointegrador.estoque.dto.PosicaoAlteracao(r.sequenciaAlteracao, r.produtoId) "
+            + "from ProdutoRemovido r "
+            + "where r.sequenciaAlteracao <= :ate and r.sequenciaAlteracao >= :sequencia "
+            + "and (r.sequenciaAlteracao > :sequencia or r.produtoId > :id) "
+            + "order by r.sequenciaAlteracao, r.produtoId")
+    List<PosicaoAlteracao> buscarRemocoesApos(@Param("sequencia") Long sequencia, @Param("id") Long id,
+                                              @Param("ate") Long ate, Pageable pagina);
+
+    @Query("select r.produtoId from ProdutoRemovido r where r.sequenciaAlteracao > :apos and r.sequenciaAlteracao <= :ate")
+    List<Long> buscarIdsRemovidos(@Param("apos") Long apos, @Param("ate") Long ate);
+}
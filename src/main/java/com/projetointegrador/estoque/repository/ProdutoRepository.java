@@ -1,18 +1,119 @@
 package com.projetointegrador.estoque.repository;
 
+import com.projetointegrador.estoque.dto.FacetaDTO;
+import com.projetointegrador.estoque.dto.FacetaDisponibilidadeDTO;
+import com.projetointegrador.estoque.dto.PosicaoAlteracao;
+import com.projetointegrador.estoque.dto.ProdutoDocumentoDTO;
+import com.projetointegrador.estoque.dto.ProdutoIndexavelDTO;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
 import com.projetointegrador.estoque.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, ProdutoRepositoryCustom {
 
-    Optional<Produto> findByNomeIgnoreCase(String nome);
+    String PROJECAO_LISTAGEM = "select new com.projetointegrador.estoque.dto.ProdutoListagemDTO("
+            + "p.id, p.nome, p.descricao, p.valor, p.quantidade, p.disponivel, p.unidadeMedida, p.codigo, "
+            + "p.estoqueMinimo, p.estoqueMaximo, p.dataValidade, p.dataEntrada, p.dataSaida, "
+            + "c.id, c.nome, m.id, m.nome, f.id, f.nome) "
+            + "from Produto p left join p.categoria c left join p.marca m left join p.fornecedor f";
 
-    List<Produto> findAllByNomeContainingIgnoreCase(String nome); // NOVO
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "marca", "fornecedor"})
+    Optional<Produto> findById(Long id);
 
-    List<Produto> findAllByCodigoContainingIgnoreCase(String codigo);
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "marca", "fornecedor"})
+    List<Produto> findAll();
+
+    // As duas checagens do cadastro numa consulta: um item por produto em conflito, true se o conflito é de nome.
+    // O filtro por nomeNormalizado usa o índice; upper(nome) só confirma, entre esses, quem difere apenas na caixa.
+    @Query("select case when upper(p.nome) = upper(:nome) then true else false end from Produto p "
+            + "where (p.nomeNormalizado = :nomeNormalizado and upper(p.nome) = upper(:nome)) or p.codigo = :codigo")
+    List<Boolean> buscarConflitos(@Param("nome") String nome, @Param("nomeNormalizado") String nomeNormalizado,
+                                  @Param("codigo") String codigo);
+
+    @EntityGraph(attributePaths = {"categoria", "marca", "fornecedor"})
+    Optional<Produto> findByCodigo(String codigo);
+
+    boolean existsByCodigo(String codigo);
+
+    @EntityGraph(attributePaths = {"categoria", "marca", "fornecedor"})
+    List<Produto> findAllByCodigoIn(Collection<String> codigos);
+
+    @Query(PROJECAO_LISTAGEM + " order by p.id")
+    List<ProdutoListagemDTO> listarProjetado();
+
+    @Query(PROJECAO_LISTAGEM + " where p.id in :ids order by p.id")
+    List<ProdutoListagemDTO> buscarProjetadoPorIds(@Param("ids") Collection<Long> ids);
+
+    // Mesmo keyset expandido de EspecificacoesProduto.apos, sobre o índice (sequenciaAlteracao, id).
+    @Query("select new com.projetointegrador.estoque.dto.PosicaoAlteracao(p.sequenciaAlteracao, p.id) "
+            + "from Produto p "
+            + "where p.sequenciaAlteracao <= :ate and p.sequenciaAlteracao >= :sequencia "
+            + "and (p.sequenciaAlteracao > :sequencia or p.id > :id) "
+            + "order by p.sequenciaAlteracao, p.id")
+    List<PosicaoAlteracao> buscarAlteracoesApos(@Param("sequencia") Long sequencia, @Param("id") Long id,
+                                                @Param("ate") Long ate, Pageable pagina);
+
+    @Query("select new com.projetointegrador.estoque.dto.ProdutoIndexavelDTO(p.id, p.nome, p.codigo) from Produto p "
+            + "where p.sequenciaAlteracao > :apos and p.sequenciaAlteracao <= :ate")
+    List<ProdutoIndexavelDTO> buscarIndexaveisAlterados(@Param("apos") Long apos, @Param("ate") Long ate);
+
+    String DOCUMENTO = "select new com.projetointegrador.estoque.dto.ProdutoDocumentoDTO("
+            + "p.id, p.nome, p.descricao, p.codigo, m.nome, c.nome) "
+            + "from Produto p left join p.marca m left join p.categoria c ";
+
+    @Query(DOCUMENTO + "where p.sequenciaAlteracao > :apos and p.sequenciaAlteracao <= :ate")
+    List<ProdutoDocumentoDTO> buscarDocumentosAlterados(@Param("apos") Long apos, @Param("ate") Long ate);
+
+    @Query(DOCUMENTO + "where p.id > :apos and p.id <= :ate order by p.id")
+    List<ProdutoDocumentoDTO> buscarDocumentosEntre(@Param("apos") Long apos, @Param("ate") Long ate, Pageable pagina);
+
+    @Query("select coalesce(max(p.id), 0) from Produto p")
+    long buscarMaiorId();
+
+    String AGREGADOS_FACETA = "count(p), sum(coalesce(p.quantidade, 0)), sum(p.valor * coalesce(p.quantidade, 0))";
+
+    @Query("select new com.projetointegrador.estoque.dto.FacetaDTO(c.id, c.nome, " + AGREGADOS_FACETA + ") "
+            + "from Produto p join p.categoria c group by c.id, c.nome order by c.nome")
+    List<FacetaDTO> contarPorCategoria();
+
+    @Query("select new com.projetointegrador.estoque.dto.FacetaDTO(m.id, m.nome, " + AGREGADOS_FACETA + ") "
+            + "from Produto p join p.marca m group by m.id, m.nome order by m.nome")
+    List<FacetaDTO> contarPorMarca();
+
+    @Query("select new com.projetointegrador.estoque.dto.FacetaDTO(f.id, f.nome, " + AGREGADOS_FACETA + ") "
+            + "from Produto p join p.fornecedor f group by f.id, f.nome order by f.nome")
+    List<FacetaDTO> contarPorFornecedor();
+
+    @Query("select new com.projetointegrador.estoque.dto.FacetaDisponibilidadeDTO(p.disponivel, " + AGREGADOS_FACETA + ") "
+            + "from Produto p group by p.disponivel order by p.disponivel desc")
+    List<FacetaDisponibilidadeDTO> contarPorDisponibilidade();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Produto p left join fetch p.categoria left join fetch p.marca left join fetch p.fornecedor")
+    Stream<Produto> streamAll();
+
+    // O detalhe do produto embute categoria, marca e fornecedor; a versão precisa refletir os quatro.
+    @Query("select concat(str(p.versao), '.', str(coalesce(c.versao, 0)), '.', str(coalesce(m.versao, 0)), '.', "
+            + "str(coalesce(f.versao, 0))) "
+            + "from Produto p left join p.categoria c left join p.marca m left join p.fornecedor f where p.id = :id")
+    Optional<String> buscarVersaoComReferencias(@Param("id") Long id);
 }
@@ -0,0 +1,35 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.dto.CursorProduto;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.enums.OrdenacaoProduto;
+import com.projetointegrador.estoque.model.Produto;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProdutoRepositoryCustom {
+
+    // Mesma ordem dos componentes de ProdutoListagemDTO.
+    ProjecaoCampos<Produto> CAMPOS = new ProjecaoCampos<>(Produto.class,
+            "id", "nome", "descricao", "valor", "quantidade", "disponivel", "unidadeMedida", "codigo",
+            "estoqueMinimo", "estoqueMaximo", "dataValidade", "dataEntrada", "dataSaida",
+            "categoriaId:categoria.id", "categoriaNome:categoria.nome",
+            "marcaId:marca.id", "marcaNome:marca.nome",
+            "fornecedorId:fornecedor.id", "fornecedorNome:fornecedor.nome");
+
+    List<Produto> findAllByNomeContainingIgnoreCase(String nome);
+
+    List<Produto> findAllByCodigoContainingIgnoreCase(String codigo);
+
+    List<ProdutoListagemDTO> buscarPagina(OrdenacaoProduto ordenacao, CursorProduto apos, int limite);
+
+    List<ProdutoListagemDTO> filtrarPagina(Specification<Produto> filtro, OrdenacaoProduto ordenacao,
+                                           CursorProduto apos, int limite);
+
+    List<Map<String, Object>> buscarPaginaCampos(List<String> campos, OrdenacaoProduto ordenacao,
+                                                 CursorProduto apos, int limite);
+
+    List<Map<String, Object>> buscarCampos(List<String> campos, Specification<Produto> filtro);
+}
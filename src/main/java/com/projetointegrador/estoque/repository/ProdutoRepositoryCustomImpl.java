@@ -0,0 +1,63 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.busca.BuscaTextual;
+import com.projetointegrador.estoque.dto.CursorProduto;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.enums.OrdenacaoProduto;
+import com.projetointegrador.estoque.model.Produto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProdutoRepositoryCustomImpl implements ProdutoRepositoryCustom {
+
+    private static final String[] ASSOCIACOES = {"categoria", "marca", "fornecedor"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BuscaTextual buscaTextual;
+
+    public ProdutoRepositoryCustomImpl(BuscaTextual buscaTextual) {
+        this.buscaTextual = buscaTextual;
+    }
+
+    @Override
+    public List<Produto> findAllByNomeContainingIgnoreCase(String nome) {
+        return buscaTextual.buscarPorNome(Produto.class, nome, ASSOCIACOES);
+    }
+
+    @Override
+    public List<Produto> findAllByCodigoContainingIgnoreCase(String codigo) {
+        return buscaTextual.buscar(Produto.class, "codigo", codigo, ASSOCIACOES);
+    }
+
+    @Override
+    public List<ProdutoListagemDTO> buscarPagina(OrdenacaoProduto ordenacao, CursorProduto apos, int limite) {
+        return CAMPOS.buscar(entityManager, ProdutoListagemDTO.class,
+                EspecificacoesProduto.apos(ordenacao, apos), EspecificacoesProduto.ordem(ordenacao), limite);
+    }
+
+    @Override
+    public List<ProdutoListagemDTO> filtrarPagina(Specification<Produto> filtro, OrdenacaoProduto ordenacao,
+                                                  CursorProduto apos, int limite) {
+        return CAMPOS.buscar(entityManager, ProdutoListagemDTO.class,
+                Specification.where(filtro).and(EspecificacoesProduto.apos(ordenacao, apos)),
+                EspecificacoesProduto.ordem(ordenacao), limite);
+    }
+
+    @Override
+    public List<Map<String, Object>> buscarPaginaCampos(List<String> campos, OrdenacaoProduto ordenacao,
+                                                        CursorProduto apos, int limite) {
+        return CAMPOS.buscar(entityManager, campos,
+                EspecificacoesProduto.apos(ordenacao, apos), EspecificacoesProduto.ordem(ordenacao), limite);
+    }
+
+    @Override
+    public List<Map<String, Object>> buscarCampos(List<String> campos, Specification<Produto> filtro) {
+        return CAMPOS.buscar(entityManager, campos, filtro, Especificacoes.porId(), null);
+    }
+}
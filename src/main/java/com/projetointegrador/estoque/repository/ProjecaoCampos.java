@@ -0,0 +1,120 @@
+package com.projetointegrador.estoque.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+
+public final class ProjecaoCampos<T> {
+
+    @FunctionalInterface
+    public interface Ordenador<T> {
+        List<Order> ordenar(CriteriaBuilder cb, Root<T> root);
+    }
+
+    private final Class<T> entidade;
+    private final Map<String, String> caminhos = new LinkedHashMap<>();
+
+    /**
+     * Cada definição é o nome do campo exposto na API, opcionalmente seguido de ":" e do caminho
+     * do atributo na entidade (ex.: "categoriaNome:categoria.nome").
+     */
+    public ProjecaoCampos(Class<T> entidade, String... definicoes) {
+        this.entidade = entidade;
+        for (String definicao : definicoes) {
+            String[] partes = definicao.split(":", 2);
+            caminhos.put(partes[0], partes.length == 2 ? partes[1] : partes[0]);
+        }
+    }
+
+    public List<String> todos() {
+        return List.copyOf(caminhos.keySet());
+    }
+
+    public List<String> interpretar(String fields) {
+        List<String> campos = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(campo -> !campo.isEmpty())
+                .distinct()
+                .toList();
+
+        if (campos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um campo em fields.");
+        }
+
+        List<String> invalidos = campos.stream().filter(campo -> !caminhos.containsKey(campo)).toList();
+        if (!invalidos.isEmpty()) {
+            throw new IllegalArgumentException("Campos inválidos: " + String.join(", ", invalidos)
+                    + ". Disponíveis: " + String.join(", ", caminhos.keySet()) + ".");
+        }
+        return campos;
+    }
+
+    public List<Map<String, Object>> buscar(EntityManager entityManager, List<String> campos, Specification<T> filtro,
+                                            Ordenador<T> ordenador, Integer limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entidade);
+        query.multiselect(selecionar(root, campos));
+
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (Tuple tupla : executar(entityManager, query, root, filtro, ordenador, limite)) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            for (String campo : campos) {
+                linha.put(campo, tupla.get(campo));
+            }
+            resultado.add(linha);
+        }
+        return resultado;
+    }
+
+    public <R> List<R> buscar(EntityManager entityManager, Class<R> tipoResultado, Specification<T> filtro,
+                              Ordenador<T> ordenador, Integer limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(tipoResultado);
+        Root<T> root = query.from(entidade);
+        query.select(cb.construct(tipoResultado, selecionar(root, todos()).toArray(Selection[]::new)));
+
+        return executar(entityManager, query, root, filtro, ordenador, limite);
+    }
+
+    private <R> List<R> executar(EntityManager entityManager, CriteriaQuery<R> query, Root<T> root,
+                                 Specification<T> filtro, Ordenador<T> ordenador, Integer limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        Predicate predicado = filtro == null ? null : filtro.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(ordenador.ordenar(cb, root));
+
+        TypedQuery<R> consulta = entityManager.createQuery(query);
+        if (limite != null) {
+            consulta.setMaxResults(limite);
+        }
+        return consulta.getResultList();
+    }
+
+    private List<Selection<?>> selecionar(Root<T> root, List<String> campos) {
+        Map<String, Join<T, ?>> joins = new HashMap<>();
+        List<Selection<?>> selecoes = new ArrayList<>(campos.size());
+
+        for (String campo : campos) {
+            String[] partes = caminhos.get(campo).split("\\.");
+            Path<?> caminho;
+            if (partes.length == 1) {
+                caminho = root.get(partes[0]);
+            } else if ("id".equals(partes[1])) {
+                caminho = root.get(partes[0]).get("id");
+            } else {
+                caminho = joins.computeIfAbsent(partes[0], associacao -> root.join(associacao, JoinType.LEFT))
+                        .get(partes[1]);
+            }
+            selecoes.add(caminho.alias(campo));
+        }
+        return selecoes;
+    }
+}
@@ -0,0 +1,83 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.model.Categoria;
+import com.projetointegrador.estoque.model.Fornecedor;
+import com.projetointegrador.estoque.model.Marca;
+import com.projetointegrador.estoque.model.Produto;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/*
+ * Carimba cada produto escrito com a versão da tabela de produtos da transação (que cresce na
+ * ordem de commit) e registra as remoções em tb_produtos_removidos. Renomear categoria, marca ou
+ * fornecedor altera a listagem dos produtos ligados a eles, então esses produtos são carimbados
+ * de novo. A coluna é escrita só por aqui, nunca pelo Hibernate.
+ */
+@Component
+public class SequenciaProdutoListener {
+
+    // A versão é lida na própria escrita, depois de o VersaoTabelaListener incrementá-la.
+    private static final String VERSAO_PRODUTOS = "(select versao from tb_versoes_tabela where tabela = 'PRODUTOS')";
+    private static final String MARCAR_PRODUTO =
+            "update tb_produtos set sequencia_alteracao = " + VERSAO_PRODUTOS + " where id = ?";
+    private static final String MARCAR_DA_CATEGORIA =
+            "update tb_produtos set sequencia_alteracao = " + VERSAO_PRODUTOS + " where categoria_id = ?";
+    private static final String MARCAR_DA_MARCA =
+            "update tb_produtos set sequencia_alteracao = " + VERSAO_PRODUTOS + " where marca_id = ?";
+    private static final String MARCAR_DO_FORNECEDOR =
+            "update tb_produtos set sequencia_alteracao = " + VERSAO_PRODUTOS + " where fornecedor_id = ?";
+    private static final String REGISTRAR_REMOCAO =
+            "insert into tb_produtos_removidos (produto_id, sequencia_alteracao, removido_em) "
+                    + "select ?, versao, ? from tb_versoes_tabela where tabela = 'PRODUTOS'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VersaoTabelaListener versaoTabelaListener;
+
+    public SequenciaProdutoListener(JdbcTemplate jdbcTemplate, VersaoTabelaListener versaoTabelaListener) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versaoTabelaListener = versaoTabelaListener;
+    }
+
+    @PostPersist
+    public void aoInserir(Object entidade) {
+        if (entidade instanceof Produto produto) {
+            marcar(MARCAR_PRODUTO, produto.getId());
+        }
+    }
+
+    @PostUpdate
+    public void aoAtualizar(Object entidade) {
+        switch (entidade) {
+            case Produto produto -> marcar(MARCAR_PRODUTO, produto.getId());
+            case Categoria categoria -> marcar(MARCAR_DA_CATEGORIA, categoria.getId());
+            case Marca marca -> marcar(MARCAR_DA_MARCA, marca.getId());
+            case Fornecedor fornecedor -> marcar(MARCAR_DO_FORNECEDOR, fornecedor.getId());
+            default -> {
+            }
+        }
+    }
+
+    @PostRemove
+    public void aoRemover(Object entidade) {
+        if (entidade instanceof Produto produto) {
+            registrarVersao();
+            jdbcTemplate.update(REGISTRAR_REMOCAO, produto.getId(), Timestamp.from(Instant.now()));
+        }
+    }
+
+    private void marcar(String comando, Long id) {
+        registrarVersao();
+        jdbcTemplate.update(comando, id);
+    }
+
+    private void registrarVersao() {
+        versaoTabelaListener.registrar(TabelaVersionada.PRODUTOS);
+    }
+}
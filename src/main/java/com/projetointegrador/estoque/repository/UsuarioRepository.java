@@ -1,16 +1,26 @@
 package com.projetointegrador.estoque.repository;
 
+import com.projetointegrador.estoque.dto.VersaoTokenDTO;
 import com.projetointegrador.estoque.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
 
     Optional<Usuario> findByEmail(String email);
 
-    List<Usuario> findAllByNomeContainingIgnoreCase(String nome);
+    @Query("select u.id from Usuario u where u.email = :email")
+    Optional<Long> buscarIdPorEmail(@Param("email") String email);
+
+    @Query("select u.versao from Usuario u where u.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+
+    @Query("select new com.projetointegrador.estoque.dto.VersaoTokenDTO(u.id, u.versaoToken) from Usuario u order by u.id")
+    List<VersaoTokenDTO> listarVersoesToken();
 }
@@ -0,0 +1,10 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.model.Usuario;
+
+import java.util.List;
+
+public interface UsuarioRepositoryCustom {
+
+    List<Usuario> findAllByNomeContainingIgnoreCase(String nome);
+}
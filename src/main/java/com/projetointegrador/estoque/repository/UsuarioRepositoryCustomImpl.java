@@ -0,0 +1,20 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.busca.BuscaTextual;
+import com.projetointegrador.estoque.model.Usuario;
+
+import java.util.List;
+
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    private final BuscaTextual buscaTextual;
+
+    public UsuarioRepositoryCustomImpl(BuscaTextual buscaTextual) {
+        this.buscaTextual = buscaTextual;
+    }
+
+    @Override
+    public List<Usuario> findAllByNomeContainingIgnoreCase(String nome) {
+        return buscaTextual.buscar(Usuario.class, "nome", nome);
+    }
+}
@@ -0,0 +1,88 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/*
+ * Incrementa o contador da tabela na mesma transação da escrita (o update roda durante o flush,
+ * pela conexão já vinculada à transação), uma única vez por tabela e transação.
+ */
+@Component
+public class VersaoTabelaListener {
+
+    private static final String INCREMENTAR =
+            "update tb_versoes_tabela set versao = versao + 1, ultima_modificacao = ? where tabela = ?";
+
+    // Chave estática: o Hibernate cria a sua própria instância do listener, além do bean do Spring.
+    private static final Object TABELAS_DA_TRANSACAO = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public VersaoTabelaListener(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void registrarAlteracao(Object entidade) {
+        registrar(TabelaVersionada.daEntidade(Hibernate.getClass(entidade)));
+    }
+
+    /*
+     * Garante que o contador da tabela já foi incrementado pela transação atual. Como a linha do
+     * contador fica bloqueada até o commit, quem lê a versão depois disso, na mesma transação, vê
+     * a versão que a tabela terá ao confirmar, e transações que escrevem na mesma tabela recebem
+     * versões na ordem em que confirmam.
+     */
+    public void registrar(TabelaVersionada tabela) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INCREMENTAR, System.currentTimeMillis(), tabela.name());
+            eventPublisher.publishEvent(new TabelasAlteradasEvent(Set.of(tabela)));
+            return;
+        }
+
+        Set<TabelaVersionada> alteradas = tabelasAlteradas();
+        if (!alteradas.contains(tabela)) {
+            jdbcTemplate.update(INCREMENTAR, System.currentTimeMillis(), tabela.name());
+            alteradas.add(tabela);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<TabelaVersionada> tabelasAlteradas() {
+        Set<TabelaVersionada> alteradas =
+                (Set<TabelaVersionada>) TransactionSynchronizationManager.getResource(TABELAS_DA_TRANSACAO);
+        if (alteradas == null) {
+            Set<TabelaVersionada> novas = EnumSet.noneOf(TabelaVersionada.class);
+            TransactionSynchronizationManager.bindResource(TABELAS_DA_TRANSACAO, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishEvent(new TabelasAlteradasEvent(Set.copyOf(novas)));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TABELAS_DA_TRANSACAO);
+                }
+            });
+            alteradas = novas;
+        }
+        return alteradas;
+    }
+}
@@ -0,0 +1,9 @@
+package com.projetointegrador.estoque.repository;
+
+import com.projetointegrador.estoque.model.VersaoTabela;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VersaoTabelaRepository extends JpaRepository<VersaoTabela, String> {
+}
@@ -0,0 +1,59 @@
+package com.projetointegrador.estoque.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+ * Usuários já carregados pelo JwtAuthFilter, por e-mail, para que uma requisição autenticada não
+ * precise ir ao banco buscar o usuário e os papéis. O UsuarioService descarta o e-mail ao alterar
+ * ou excluir o usuário; a geração impede que uma leitura feita antes da alteração seja guardada
+ * depois da invalidação. Alterações feitas por outra instância só valem quando a entrada expira,
+ * por isso a expiração é curta. O login continua indo ao banco.
+ */
+@Component
+public class CachePrincipais {
+
+    private final Cache<String, UserDetails> principais;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public CachePrincipais(
+            @Value("${estoque.cache.principais.maximo:10000}") long maximo,
+            @Value("${estoque.cache.principais.expiracao:60s}") Duration expiracao
+    ) {
+        this.principais = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(expiracao)
+                .build();
+    }
+
+    public UserDetails obter(String email, Function<String, UserDetails> carregar) {
+        UserDetails guardado = principais.getIfPresent(email);
+        if (guardado != null) {
+            return guardado;
+        }
+
+        // Usuário inexistente lança exceção e não fica guardado.
+        long geracaoLida = geracao.get();
+        UserDetails usuario = carregar.apply(email);
+        if (geracaoLida == geracao.get()) {
+            principais.put(email, usuario);
+        }
+        return usuario;
+    }
+
+    public void invalidar(String... emails) {
+        geracao.incrementAndGet();
+        for (String email : emails) {
+            if (email != null) {
+                principais.invalidate(email);
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -21,7 +22,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,32 +34,39 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private CachePrincipais cachePrincipais;
+
+    @Autowired
+    private VersoesToken versoesToken;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
-        List<String> roles = new ArrayList<>();
 
         try {
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                username = jwtService.extractUsername(token);
-                roles = jwtService.extractClaim(token, claims -> claims.get("roles", List.class));
-            }
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                TokenVerificado token = jwtService.verificar(authHeader.substring(7));
 
-                if (jwtService.validateToken(token, userDetails)) {
-                    List<GrantedAuthority> authorities = roles.stream()
+                if (token.usuario() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    List<GrantedAuthority> authorities = token.roles().stream()
                             .map(SimpleGrantedAuthority::new)
                             .collect(Collectors.toList());
 
+                    UserDetails userDetails;
+                    if (versoesToken.ativo()) {
+                        if (!versoesToken.valida(token.id(), token.versaoToken())) {
+                            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+                        }
+                        userDetails = User.withUsername(token.usuario()).password("").authorities(authorities).build();
+                    } else {
+                        userDetails = cachePrincipais.obter(token.usuario(), userDetailsService::loadUserByUsername);
+                    }
+
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
 
@@ -1,73 +1,118 @@
 package com.projetointegrador.estoque.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.projetointegrador.estoque.enums.Role;
+import com.projetointegrador.estoque.model.Usuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
     long EXPIRATION_TIME_MS = 1000 * 60 * 60 * 24; // 24 horas
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_ID = "id";
+    static final String CLAIM_VERSAO_TOKEN = "tokenVersion";
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey()).build()
-                .parseClaimsJws(token).getBody();
-    }
+    private final Key chave;
+    private final JwtParser parser;
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    /*
+     * Tokens já verificados, pelo SHA-256 do token, para não repetir HMAC e parse do JSON a cada
+     * requisição do mesmo cliente nem guardar o token em si. Cada entrada vence junto com o token.
+     */
+    private final Cache<ByteBuffer, TokenVerificado> verificados;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secret,
+            @Value("${estoque.cache.tokens.maximo:10000}") long maximoTokens
+    ) {
+        this.chave = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(chave).build();
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(maximoTokens)
+                .expireAfter(new Expiry<ByteBuffer, TokenVerificado>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer hash, TokenVerificado token, long agora) {
+                        return Math.max(0, token.expiracao().toEpochMilli() - System.currentTimeMillis()) * 1_000_000;
+                    }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer hash, TokenVerificado token, long agora, long restante) {
+                        return restante;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer hash, TokenVerificado token, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .build();
     }
 
-    private boolean isTokenExpired(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey()).build()
-                .parseClaimsJws(token).getBody().getExpiration()
-                .before(new Date());
+    /*
+     * Confere assinatura e expiração uma única vez e devolve as claims que interessam. Token
+     * inválido lança a exceção do jjwt, como antes, e não entra no cache.
+     */
+    public TokenVerificado verificar(String token) {
+        ByteBuffer hash = hash(token);
+        TokenVerificado verificado = verificados.getIfPresent(hash);
+        if (verificado != null && verificado.expiracao().isAfter(Instant.now())) {
+            return verificado;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get(CLAIM_ROLES, List.class);
+        Date expiracao = claims.getExpiration();
+        verificado = new TokenVerificado(claims.getSubject(), claims.get(CLAIM_ID, Long.class),
+                claims.get(CLAIM_VERSAO_TOKEN, Integer.class), roles, expiracao == null ? null : expiracao.toInstant());
+        if (expiracao != null) {
+            verificados.put(hash, verificado);
+        }
+        return verificado;
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private String createToken(Map<String, Object> claims, String userName, Set<Role> roles) {
-        claims.put("roles", roles.stream().map(Enum::name).collect(Collectors.toList()));
+        claims.put(CLAIM_ROLES, roles.stream().map(Enum::name).collect(Collectors.toList()));
 
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userName)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_MS))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(chave, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -75,4 +120,11 @@ public class JwtService {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userName, roles);
     }
+
+    public String generateToken(Usuario usuario) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ID, usuario.getId());
+        claims.put(CLAIM_VERSAO_TOKEN, usuario.getVersaoToken());
+        return createToken(claims, usuario.getEmail(), usuario.getRoles());
+    }
 }
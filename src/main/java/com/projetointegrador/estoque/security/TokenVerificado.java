@@ -0,0 +1,16 @@
+package com.projetointegrador.estoque.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * O que o filtro usa de um token cuja assinatura e validade já foram conferidas. É imutável para
+ * poder ser compartilhado entre requisições pelo cache do JwtService. Id e versão do token são
+ * nulos em tokens emitidos antes de existirem essas claims.
+ */
+public record TokenVerificado(String usuario, Long id, Integer versaoToken, List<String> roles, Instant expiracao) {
+
+    public TokenVerificado {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
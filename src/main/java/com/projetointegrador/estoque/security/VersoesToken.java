@@ -0,0 +1,140 @@
+package com.projetointegrador.estoque.security;
+
+import com.projetointegrador.estoque.dto.VersaoTokenDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.UsuarioRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Modo sem estado da autenticação (estoque.seguranca.sem-estado): o filtro confia nos papéis
+ * assinados no token e só confere a versão do token do usuário contra esta tabela em memória,
+ * dois arrays ordenados por id, sem ir ao banco. Escritas locais em usuários recarregam a tabela
+ * depois do commit, antes de a requisição que alterou responder; escritas de outras instâncias
+ * são percebidas pela versão da tabela de usuários, conferida numa thread à parte no máximo uma
+ * vez por intervalo de verificação, como no IndiceLucene. Usuário excluído sai da tabela e os
+ * tokens dele deixam de valer.
+ */
+@Component
+public class VersoesToken {
+
+    private static final Logger log = LoggerFactory.getLogger(VersoesToken.class);
+
+    private record Tabela(long[] ids, int[] versoes, long versaoUsuarios) {
+    }
+
+    private static final Tabela VAZIA = new Tabela(new long[0], new int[0], -1);
+
+    private final UsuarioRepository usuarioRepository;
+    private final VersaoTabelaRepository versaoTabelaRepository;
+    private final boolean ativo;
+    private final long intervaloVerificacao;
+
+    private final ExecutorService verificador = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "versoes-token");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean verificacaoPendente = new AtomicBoolean();
+
+    private volatile Tabela tabela = VAZIA;
+    private volatile long ultimaVerificacao = System.nanoTime();
+
+    public VersoesToken(
+            UsuarioRepository usuarioRepository,
+            VersaoTabelaRepository versaoTabelaRepository,
+            @Value("${estoque.seguranca.sem-estado:false}") boolean ativo,
+            @Value("${estoque.seguranca.intervalo-verificacao:5s}") Duration intervaloVerificacao
+    ) {
+        this.usuarioRepository = usuarioRepository;
+        this.versaoTabelaRepository = versaoTabelaRepository;
+        this.ativo = ativo;
+        this.intervaloVerificacao = intervaloVerificacao.toNanos();
+    }
+
+    public boolean ativo() {
+        return ativo;
+    }
+
+    public boolean valida(Long id, Integer versao) {
+        if (System.nanoTime() - ultimaVerificacao > intervaloVerificacao) {
+            agendarVerificacao();
+        }
+        if (id == null || versao == null) {
+            return false;
+        }
+        Tabela atual = tabela;
+        int posicao = Arrays.binarySearch(atual.ids(), id);
+        return posicao >= 0 && atual.versoes()[posicao] == versao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (ativo) {
+            recarregar();
+        }
+    }
+
+    @EventListener
+    public void aoAlterarTabelas(TabelasAlteradasEvent evento) {
+        if (ativo && evento.tabelas().contains(TabelaVersionada.USUARIOS)) {
+            recarregar();
+        }
+    }
+
+    private void agendarVerificacao() {
+        ultimaVerificacao = System.nanoTime();
+        if (ativo && verificacaoPendente.compareAndSet(false, true)) {
+            verificador.execute(() -> {
+                verificacaoPendente.set(false);
+                try {
+                    if (versaoUsuarios() != tabela.versaoUsuarios()) {
+                        recarregar();
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao verificar as versões de token dos usuários", e);
+                }
+            });
+        }
+    }
+
+    // Sincronizado para que uma recarga mais antiga não termine depois e sobrescreva a mais nova.
+    private synchronized void recarregar() {
+        // Lida antes dos usuários: uma escrita que confirmar no meio força outra recarga depois.
+        long versaoUsuarios = versaoUsuarios();
+        List<VersaoTokenDTO> versoes = usuarioRepository.listarVersoesToken();
+        long[] ids = new long[versoes.size()];
+        int[] valores = new int[versoes.size()];
+        for (int i = 0; i < versoes.size(); i++) {
+            ids[i] = versoes.get(i).id();
+            valores[i] = versoes.get(i).versao();
+        }
+        tabela = new Tabela(ids, valores, versaoUsuarios);
+    }
+
+    private long versaoUsuarios() {
+        return versaoTabelaRepository.findById(TabelaVersionada.USUARIOS.name())
+                .map(VersaoTabela::getVersao)
+                .orElse(0L);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        verificador.shutdownNow();
+    }
+}
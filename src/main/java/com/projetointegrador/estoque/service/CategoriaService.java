@@ -1,6 +1,13 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ReferenciaCache;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
 import com.projetointegrador.estoque.dto.CategoriaDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.exeption.CategoriaNaoEncontradaException;
 import com.projetointegrador.estoque.model.Categoria;
 import com.projetointegrador.estoque.repository.CategoriaRepository;
 import org.springframework.stereotype.Service;
@@ -12,9 +19,20 @@ import java.util.Optional;
 public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
-
-    public CategoriaService(CategoriaRepository categoriaRepository) {
+    private final ResultadoBuscaCache resultadoBuscaCache;
+    private final TelemetriaBusca telemetriaBusca;
+    private final ReferenciaCache referenciaCache;
+
+    public CategoriaService(
+            CategoriaRepository categoriaRepository,
+            ResultadoBuscaCache resultadoBuscaCache,
+            TelemetriaBusca telemetriaBusca,
+            ReferenciaCache referenciaCache
+    ) {
         this.categoriaRepository = categoriaRepository;
+        this.resultadoBuscaCache = resultadoBuscaCache;
+        this.telemetriaBusca = telemetriaBusca;
+        this.referenciaCache = referenciaCache;
     }
 
     public List<CategoriaDTO> listarTodas() {
@@ -29,12 +47,18 @@ public class CategoriaService {
         return mapearParaDTO(categoria);
     }
 
-    public List<CategoriaDTO> buscarPorNome(String nome) {
-        List<Categoria> categorias = categoriaRepository.findAllByNomeContainingIgnoreCase(nome);
+    // Para as escritas de produto; a cópia é compartilhada entre requisições e não deve ser alterada.
+    public Categoria buscarReferencia(Long id) {
+        return referenciaCache.obter(TabelaVersionada.CATEGORIAS, id, categoriaRepository::findById, CategoriaService::copiarSemSessao)
+                .orElseThrow(() -> new CategoriaNaoEncontradaException(id));
+    }
 
-        return categorias.stream()
-                .map(this::mapearParaDTO)
-                .toList();
+    public List<CategoriaDTO> buscarPorNome(String nome, VersaoRecurso versao) {
+        return telemetriaBusca.medir(OperacaoBusca.CATEGORIA_NOME, nome, () -> resultadoBuscaCache.obter(TabelaVersionada.CATEGORIAS, versao, nome,
+                () -> categoriaRepository.findAllByNomeContainingIgnoreCase(nome)
+                        .stream()
+                        .map(this::mapearParaDTO)
+                        .toList()));
     }
 
     public CategoriaDTO cadastrar(CategoriaDTO dto) {
@@ -83,4 +107,13 @@ public class CategoriaService {
     private void atualizarDadosCategoria(Categoria categoria, CategoriaDTO dto) {
         if (dto.nome() != null) categoria.setNome(dto.nome());
     }
+
+    static Categoria copiarSemSessao(Categoria categoria) {
+        return Categoria.builder()
+                .id(categoria.getId())
+                .versao(categoria.getVersao())
+                .nome(categoria.getNome())
+                .nomeNormalizado(categoria.getNomeNormalizado())
+                .build();
+    }
 }
@@ -1,21 +1,57 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.BuscaTextual;
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ReferenciaCache;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
+import com.projetointegrador.estoque.dto.CnpjResolvidoDTO;
 import com.projetointegrador.estoque.dto.FornecedorDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
 import com.projetointegrador.estoque.exeption.FornecedorDuplicadoException;
+import com.projetointegrador.estoque.exeption.FornecedorNaoEncontradoException;
 import com.projetointegrador.estoque.model.Fornecedor;
+import com.projetointegrador.estoque.repository.Especificacoes;
 import com.projetointegrador.estoque.repository.FornecedorRepository;
+import com.projetointegrador.estoque.util.TextoUtil;
+import com.projetointegrador.estoque.util.ValidationUtil;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class FornecedorService {
 
-    private final FornecedorRepository fornecedorRepository;
+    private static final int DIGITOS_CNPJ = 14;
+    private static final int LIMITE_CNPJS = 500;
+
+    private record FaixaCnpj(String de, String ate) {
+    }
 
-    public FornecedorService(FornecedorRepository fornecedorRepository) {
+    private final FornecedorRepository fornecedorRepository;
+    private final ResultadoBuscaCache resultadoBuscaCache;
+    private final TelemetriaBusca telemetriaBusca;
+    private final ReferenciaCache referenciaCache;
+    private final BuscaTextual buscaTextual;
+
+    public FornecedorService(
+            FornecedorRepository fornecedorRepository,
+            ResultadoBuscaCache resultadoBuscaCache,
+            TelemetriaBusca telemetriaBusca,
+            ReferenciaCache referenciaCache,
+            BuscaTextual buscaTextual
+    ) {
         this.fornecedorRepository = fornecedorRepository;
+        this.resultadoBuscaCache = resultadoBuscaCache;
+        this.telemetriaBusca = telemetriaBusca;
+        this.referenciaCache = referenciaCache;
+        this.buscaTextual = buscaTextual;
     }
 
     public List<FornecedorDTO> listarTodos() {
@@ -30,26 +66,93 @@ public class FornecedorService {
         return mapearParaDTO(fornecedor);
     }
 
-    public List<FornecedorDTO> buscarPorNome(String nome) {
-        List<Fornecedor> fornecedores = fornecedorRepository.findAllByNomeContainingIgnoreCase(nome);
+    // Para as escritas de produto; a cópia é compartilhada entre requisições e não deve ser alterada.
+    public Fornecedor buscarReferencia(Long id) {
+        return referenciaCache.obter(TabelaVersionada.FORNECEDORES, id, fornecedorRepository::findById, FornecedorService::copiarSemSessao)
+                .orElseThrow(() -> new FornecedorNaoEncontradoException(id));
+    }
 
-        return fornecedores.stream()
-                .map(this::mapearParaDTO)
-                .toList();
+    public List<FornecedorDTO> buscarPorNome(String nome, VersaoRecurso versao) {
+        return telemetriaBusca.medir(OperacaoBusca.FORNECEDOR_NOME, nome, () -> resultadoBuscaCache.obter(TabelaVersionada.FORNECEDORES, versao, nome,
+                () -> fornecedorRepository.findAllByNomeContainingIgnoreCase(nome)
+                        .stream()
+                        .map(this::mapearParaDTO)
+                        .toList()));
     }
 
     public List<FornecedorDTO> buscarPorCNPJ(String cnpj) {
-        List<Fornecedor> fornecedores = fornecedorRepository.findAllByCnpjContainingIgnoreCase(cnpj);
-        return fornecedores.stream()
-                .map(this::mapearParaDTO)
+        FaixaCnpj faixa = faixaCnpj(cnpj);
+        return telemetriaBusca.medir(OperacaoBusca.FORNECEDOR_CNPJ, cnpj,
+                () -> fornecedorRepository.findAllByCnpjDigitosBetweenOrderByIdAsc(faixa.de(), faixa.ate())
+                        .stream()
+                        .map(this::mapearParaDTO)
+                        .toList());
+    }
+
+    // Para as importações: valida e resolve todos os CNPJs numa só consulta. A resposta traz um item por
+    // entrada, na ordem recebida, mesmo quando o CNPJ se repete; só a consulta ao banco é deduplicada.
+    public List<CnpjResolvidoDTO> resolverCNPJs(List<String> cnpjs) {
+        if (cnpjs.size() > LIMITE_CNPJS) {
+            throw new IllegalArgumentException("No máximo " + LIMITE_CNPJS + " CNPJs por consulta.");
+        }
+
+        Map<String, String> digitosValidos = new HashMap<>();
+        for (String cnpj : cnpjs) {
+            if (digitosValidos.containsKey(cnpj)) {
+                continue;
+            }
+            String digitos = TextoUtil.somenteDigitos(cnpj);
+            digitosValidos.put(cnpj, ValidationUtil.isCnpjValido(digitos) ? digitos : null);
+        }
+
+        Set<String> consultados = new HashSet<>(digitosValidos.values());
+        consultados.remove(null);
+        Map<String, FornecedorDTO> encontrados = new HashMap<>();
+        if (!consultados.isEmpty()) {
+            for (Fornecedor fornecedor : fornecedorRepository.findAllByCnpjDigitosIn(consultados)) {
+                encontrados.put(fornecedor.getCnpjDigitos(), mapearParaDTO(fornecedor));
+            }
+        }
+
+        return cnpjs.stream()
+                .map(cnpj -> {
+                    String digitos = digitosValidos.get(cnpj);
+                    return new CnpjResolvidoDTO(cnpj, digitos != null, digitos == null ? null : encontrados.get(digitos));
+                })
                 .toList();
     }
 
+    public List<Map<String, Object>> listarCampos(String fields) {
+        return fornecedorRepository.buscarCampos(FornecedorRepository.CAMPOS.interpretar(fields), null);
+    }
+
+    public Map<String, Object> buscarCamposPorId(Long id, String fields) {
+        return fornecedorRepository.buscarCampos(FornecedorRepository.CAMPOS.interpretar(fields), Especificacoes.idIgual(id))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Fornecedor com ID " + id + " não localizado"));
+    }
+
+    public List<Map<String, Object>> buscarCamposPorNome(String nome, String fields) {
+        return fornecedorRepository.buscarCampos(FornecedorRepository.CAMPOS.interpretar(fields),
+                buscaTextual.contem(Fornecedor.class, BuscaTextual.NOME_NORMALIZADO, TextoUtil.normalizar(nome)));
+    }
+
+    public List<Map<String, Object>> buscarCamposPorCNPJ(String cnpj, String fields) {
+        FaixaCnpj faixa = faixaCnpj(cnpj);
+        return fornecedorRepository.buscarCampos(FornecedorRepository.CAMPOS.interpretar(fields),
+                Especificacoes.entre("cnpjDigitos", faixa.de(), faixa.ate()));
+    }
+
     public FornecedorDTO cadastrar(FornecedorDTO dto) {
 
         if (fornecedorRepository.findByNomeIgnoreCase(dto.nome()).isPresent()) {
             throw new FornecedorDuplicadoException("Nome", dto.nome());
         }
+        String cnpjDigitos = TextoUtil.somenteDigitos(dto.cnpj());
+        if (cnpjDigitos != null && fornecedorRepository.existsByCnpjDigitos(cnpjDigitos)) {
+            throw new FornecedorDuplicadoException("CNPJ", dto.cnpj());
+        }
 
         Fornecedor fornecedor = new Fornecedor(dto);
         return mapearParaDTO(fornecedorRepository.save(fornecedor));
@@ -83,6 +186,18 @@ public class FornecedorService {
         fornecedorRepository.delete(fornecedor);
     }
 
+    /*
+     * Pontuação é ignorada. Com os 14 dígitos a faixa é um único valor; com menos, vai do próprio
+     * prefixo até o prefixo completado com 9, que cobre exatamente os CNPJs que começam por ele.
+     */
+    private static FaixaCnpj faixaCnpj(String cnpj) {
+        String digitos = TextoUtil.somenteDigitos(cnpj);
+        if (digitos == null || digitos.length() > DIGITOS_CNPJ) {
+            throw new IllegalArgumentException("Informe de 1 a " + DIGITOS_CNPJ + " dígitos do CNPJ.");
+        }
+        return new FaixaCnpj(digitos, digitos + "9".repeat(DIGITOS_CNPJ - digitos.length()));
+    }
+
     private FornecedorDTO mapearParaDTO(Fornecedor fornecedor) {
         return new FornecedorDTO(
                 fornecedor.getId(),
@@ -106,4 +221,18 @@ public class FornecedorService {
         if (dto.telefone() != null) fornecedor.setTelefone(dto.telefone());
         if (dto.endereco() != null) fornecedor.setEndereco(dto.endereco());
     }
+
+    static Fornecedor copiarSemSessao(Fornecedor fornecedor) {
+        return Fornecedor.builder()
+                .id(fornecedor.getId())
+                .versao(fornecedor.getVersao())
+                .nome(fornecedor.getNome())
+                .nomeNormalizado(fornecedor.getNomeNormalizado())
+                .cnpj(fornecedor.getCnpj())
+                .cnpjDigitos(fornecedor.getCnpjDigitos())
+                .email(fornecedor.getEmail())
+                .telefone(fornecedor.getTelefone())
+                .endereco(fornecedor.getEndereco())
+                .build();
+    }
 }
@@ -1,6 +1,13 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ReferenciaCache;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
 import com.projetointegrador.estoque.dto.MarcaDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.exeption.MarcaNaoEncontradaException;
 import com.projetointegrador.estoque.model.Marca;
 import com.projetointegrador.estoque.repository.MarcaRepository;
 import org.springframework.stereotype.Service;
@@ -12,9 +19,20 @@ import java.util.Optional;
 public class MarcaService {
 
     private final MarcaRepository marcaRepository;
-
-    public MarcaService(MarcaRepository marcaRepository) {
+    private final ResultadoBuscaCache resultadoBuscaCache;
+    private final TelemetriaBusca telemetriaBusca;
+    private final ReferenciaCache referenciaCache;
+
+    public MarcaService(
+            MarcaRepository marcaRepository,
+            ResultadoBuscaCache resultadoBuscaCache,
+            TelemetriaBusca telemetriaBusca,
+            ReferenciaCache referenciaCache
+    ) {
         this.marcaRepository = marcaRepository;
+        this.resultadoBuscaCache = resultadoBuscaCache;
+        this.telemetriaBusca = telemetriaBusca;
+        this.referenciaCache = referenciaCache;
     }
 
     public List<MarcaDTO> listarTodas() {
@@ -29,12 +47,18 @@ public class MarcaService {
         return mapearParaDTO(marca);
     }
 
-    public List<MarcaDTO> buscarPorNome(String nome) {
-        List<Marca> marcas = marcaRepository.findAllByNomeContainingIgnoreCase(nome);
+    // Para as escritas de produto; a cópia é compartilhada entre requisições e não deve ser alterada.
+    public Marca buscarReferencia(Long id) {
+        return referenciaCache.obter(TabelaVersionada.MARCAS, id, marcaRepository::findById, MarcaService::copiarSemSessao)
+                .orElseThrow(() -> new MarcaNaoEncontradaException(id));
+    }
 
-        return marcas.stream()
-                .map(this::mapearParaDTO)
-                .toList();
+    public List<MarcaDTO> buscarPorNome(String nome, VersaoRecurso versao) {
+        return telemetriaBusca.medir(OperacaoBusca.MARCA_NOME, nome, () -> resultadoBuscaCache.obter(TabelaVersionada.MARCAS, versao, nome,
+                () -> marcaRepository.findAllByNomeContainingIgnoreCase(nome)
+                        .stream()
+                        .map(this::mapearParaDTO)
+                        .toList()));
     }
 
     public MarcaDTO cadastrar(MarcaDTO dto) {
@@ -83,4 +107,13 @@ public class MarcaService {
     private void atualizarDadosMarca(Marca marca, MarcaDTO dto) {
         if (dto.nome() != null) marca.setNome(dto.nome());
     }
+
+    static Marca copiarSemSessao(Marca marca) {
+        return Marca.builder()
+                .id(marca.getId())
+                .versao(marca.getVersao())
+                .nome(marca.getNome())
+                .nomeNormalizado(marca.getNomeNormalizado())
+                .build();
+    }
 }
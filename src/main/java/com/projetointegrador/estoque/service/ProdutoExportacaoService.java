@@ -0,0 +1,141 @@
+package com.projetointegrador.estoque.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.projetointegrador.estoque.dto.ProdutoDTO;
+import com.projetointegrador.estoque.enums.FormatoExportacao;
+import com.projetointegrador.estoque.model.Produto;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ProdutoExportacaoService {
+
+    private static final int LINHAS_POR_FLUSH = 500;
+
+    private static final String CABECALHO_CSV = "id,nome,descricao,valor,quantidade,disponivel,unidadeMedida,codigo,"
+            + "estoqueMinimo,estoqueMaximo,dataValidade,dataEntrada,dataSaida,"
+            + "categoriaId,categoriaNome,marcaId,marcaNome,fornecedorId,fornecedorNome";
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoService produtoService;
+    private final ObjectMapper objectMapper;
+    // Sem o flush por valor do ObjectMapper, quem decide quando escrever no socket é o LINHAS_POR_FLUSH.
+    private final ObjectWriter escritorLinha;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProdutoExportacaoService(ProdutoRepository produtoRepository,
+                                    ProdutoService produtoService,
+                                    ObjectMapper objectMapper) {
+        this.produtoRepository = produtoRepository;
+        this.produtoService = produtoService;
+        this.objectMapper = objectMapper;
+        this.escritorLinha = objectMapper.writerFor(ProdutoDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<Produto> produtos = produtoRepository.streamAll()) {
+            switch (formato) {
+                case NDJSON -> exportarNdjson(produtos.iterator(), saida);
+                case CSV -> exportarCsv(produtos.iterator(), saida);
+            }
+        }
+    }
+
+    private void exportarNdjson(Iterator<Produto> produtos, OutputStream saida) throws IOException {
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        int linhas = 0;
+        while (produtos.hasNext()) {
+            Produto produto = produtos.next();
+            escritorLinha.writeValue(gerador, produtoService.mapearParaDTO(produto));
+            entityManager.detach(produto);
+
+            if (++linhas % LINHAS_POR_FLUSH == 0) {
+                gerador.flush();
+            }
+        }
+        if (linhas > 0) {
+            gerador.writeRaw('\n');
+        }
+        gerador.flush();
+    }
+
+    private void exportarCsv(Iterator<Produto> produtos, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escritor.write(CABECALHO_CSV);
+        escritor.write('\n');
+
+        int linhas = 0;
+        while (produtos.hasNext()) {
+            Produto produto = produtos.next();
+            escreverLinhaCsv(escritor, produto);
+            entityManager.detach(produto);
+
+            if (++linhas % LINHAS_POR_FLUSH == 0) {
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+    }
+
+    private void escreverLinhaCsv(Writer escritor, Produto produto) throws IOException {
+        Object[] colunas = {
+                produto.getId(),
+                produto.getNome(),
+                produto.getDescricao(),
+                produto.getValor() != null ? produto.getValor().toPlainString() : null,
+                produto.getQuantidade(),
+                produto.isDisponivel(),
+                produto.getUnidadeMedida(),
+                produto.getCodigo(),
+                produto.getEstoqueMinimo(),
+                produto.getEstoqueMaximo(),
+                produto.getDataValidade(),
+                produto.getDataEntrada(),
+                produto.getDataSaida(),
+                produto.getCategoria() != null ? produto.getCategoria().getId() : null,
+                produto.getCategoria() != null ? produto.getCategoria().getNome() : null,
+                produto.getMarca() != null ? produto.getMarca().getId() : null,
+                produto.getMarca() != null ? produto.getMarca().getNome() : null,
+                produto.getFornecedor() != null ? produto.getFornecedor().getId() : null,
+                produto.getFornecedor() != null ? produto.getFornecedor().getNome() : null
+        };
+
+        for (int i = 0; i < colunas.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(escaparCsv(colunas[i]));
+        }
+        escritor.write('\n');
+    }
+
+    private String escaparCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
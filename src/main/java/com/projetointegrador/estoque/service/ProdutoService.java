@@ -1,47 +1,161 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.BuscaTextual;
+import com.projetointegrador.estoque.busca.IndiceLucene;
+import com.projetointegrador.estoque.busca.IndiceProduto;
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ProdutoPorCodigoCache;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
+import com.projetointegrador.estoque.dto.CursorProduto;
+import com.projetointegrador.estoque.dto.FacetaDisponibilidadeDTO;
+import com.projetointegrador.estoque.dto.FacetasProdutoDTO;
+import com.projetointegrador.estoque.dto.FiltroProdutoDTO;
+import com.projetointegrador.estoque.dto.PaginaDTO;
 import com.projetointegrador.estoque.dto.ProdutoDTO;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+import com.projetointegrador.estoque.enums.OrdenacaoProduto;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
 import com.projetointegrador.estoque.exeption.*;
 import com.projetointegrador.estoque.model.Categoria;
 import com.projetointegrador.estoque.model.Fornecedor;
 import com.projetointegrador.estoque.model.Marca;
 import com.projetointegrador.estoque.model.Produto;
-import com.projetointegrador.estoque.repository.CategoriaRepository;
-import com.projetointegrador.estoque.repository.FornecedorRepository;
-import com.projetointegrador.estoque.repository.MarcaRepository;
+import com.projetointegrador.estoque.repository.Especificacoes;
+import com.projetointegrador.estoque.repository.EspecificacoesProduto;
 import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.util.TextoUtil;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProdutoService {
 
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+    private static final int LOTE_IDS = 1000;
+    private static final int LIMITE_CODIGOS = 500;
+
     private final ProdutoRepository produtoRepository;
-    private final CategoriaRepository categoriaRepository;
-    private final FornecedorRepository fornecedorRepository;
-    private final MarcaRepository marcaRepository;
+    private final CategoriaService categoriaService;
+    private final MarcaService marcaService;
+    private final FornecedorService fornecedorService;
+    private final IndiceProduto indiceProduto;
+    private final ProdutoPorCodigoCache produtoPorCodigoCache;
+    private final IndiceLucene indiceLucene;
+    private final ResultadoBuscaCache resultadoBuscaCache;
+    private final TelemetriaBusca telemetriaBusca;
+    private final BuscaTextual buscaTextual;
 
     public ProdutoService(
             ProdutoRepository produtoRepository,
-            CategoriaRepository categoriaRepository,
-            MarcaRepository marcaRepository,
-            FornecedorRepository fornecedorRepository
+            CategoriaService categoriaService,
+            MarcaService marcaService,
+            FornecedorService fornecedorService,
+            IndiceProduto indiceProduto,
+            ProdutoPorCodigoCache produtoPorCodigoCache,
+            IndiceLucene indiceLucene,
+            ResultadoBuscaCache resultadoBuscaCache,
+            TelemetriaBusca telemetriaBusca,
+            BuscaTextual buscaTextual
     ) {
         this.produtoRepository = produtoRepository;
-        this.categoriaRepository = categoriaRepository;
-        this.fornecedorRepository = fornecedorRepository;
-        this.marcaRepository = marcaRepository;
+        this.categoriaService = categoriaService;
+        this.marcaService = marcaService;
+        this.fornecedorService = fornecedorService;
+        this.indiceProduto = indiceProduto;
+        this.produtoPorCodigoCache = produtoPorCodigoCache;
+        this.indiceLucene = indiceLucene;
+        this.resultadoBuscaCache = resultadoBuscaCache;
+        this.telemetriaBusca = telemetriaBusca;
+        this.buscaTextual = buscaTextual;
     }
 
-    public List<ProdutoDTO> listarTodos() {
-        return produtoRepository.findAll()
-                .stream()
-                .map(this::mapearParaDTO)
-                .toList();
+    public List<ProdutoListagemDTO> listarTodos() {
+        return produtoRepository.listarProjetado();
+    }
+
+    public PaginaDTO<ProdutoListagemDTO> listarPagina(int limite, String cursor, String ordenacao) {
+        validarLimite(limite);
+
+        OrdenacaoProduto ordenacaoProduto = OrdenacaoProduto.doParametro(ordenacao);
+        CursorProduto apos = decodificarCursor(cursor, ordenacaoProduto);
+
+        List<ProdutoListagemDTO> produtos = produtoRepository.buscarPagina(ordenacaoProduto, apos, limite + 1);
+        return paginar(produtos, limite, ordenacaoProduto);
+    }
+
+    public PaginaDTO<ProdutoListagemDTO> filtrar(FiltroProdutoDTO filtro, int limite, String cursor, String ordenacao) {
+        validarLimite(limite);
+        validarFiltro(filtro);
+
+        OrdenacaoProduto ordenacaoProduto = OrdenacaoProduto.doParametro(ordenacao);
+        CursorProduto apos = decodificarCursor(cursor, ordenacaoProduto);
+
+        List<ProdutoListagemDTO> produtos = produtoRepository.filtrarPagina(EspecificacoesProduto.filtro(filtro),
+                ordenacaoProduto, apos, limite + 1);
+        return paginar(produtos, limite, ordenacaoProduto);
+    }
+
+    public List<Map<String, Object>> listarCampos(String fields) {
+        return produtoRepository.buscarCampos(ProdutoRepository.CAMPOS.interpretar(fields), null);
+    }
+
+    public PaginaDTO<Map<String, Object>> listarPaginaCampos(int limite, String cursor, String ordenacao, String fields) {
+        validarLimite(limite);
+
+        List<String> campos = ProdutoRepository.CAMPOS.interpretar(fields);
+        OrdenacaoProduto ordenacaoProduto = OrdenacaoProduto.doParametro(ordenacao);
+        CursorProduto apos = decodificarCursor(cursor, ordenacaoProduto);
+
+        // O cursor precisa da chave de ordenação e do id, mesmo que o cliente não os tenha pedido.
+        Set<String> consulta = new LinkedHashSet<>(campos);
+        consulta.add("id");
+        consulta.add(ordenacaoProduto.getAtributo());
+
+        List<Map<String, Object>> produtos = produtoRepository.buscarPaginaCampos(
+                List.copyOf(consulta), ordenacaoProduto, apos, limite + 1);
+
+        String proximoCursor = null;
+        if (produtos.size() > limite) {
+            produtos = produtos.subList(0, limite);
+            Map<String, Object> ultimo = produtos.get(limite - 1);
+            proximoCursor = new CursorProduto(ordenacaoProduto, ultimo.get(ordenacaoProduto.getAtributo()),
+                    (Long) ultimo.get("id")).codificar();
+        }
+
+        produtos.forEach(produto -> produto.keySet().retainAll(campos));
+        return new PaginaDTO<>(produtos, proximoCursor);
+    }
+
+    // A disponibilidade particiona o catálogo inteiro, então os totais saem dela sem outra consulta.
+    public FacetasProdutoDTO calcularFacetas() {
+        List<FacetaDisponibilidadeDTO> disponibilidade = produtoRepository.contarPorDisponibilidade();
+
+        long totalProdutos = 0;
+        long totalUnidades = 0;
+        BigDecimal valorEstoqueTotal = BigDecimal.ZERO;
+        for (FacetaDisponibilidadeDTO faceta : disponibilidade) {
+            totalProdutos += faceta.produtos();
+            totalUnidades += faceta.unidades();
+            valorEstoqueTotal = valorEstoqueTotal.add(faceta.valorEstoque());
+        }
+
+        return new FacetasProdutoDTO(totalProdutos, totalUnidades, valorEstoqueTotal,
+                produtoRepository.contarPorCategoria(),
+                produtoRepository.contarPorMarca(),
+                produtoRepository.contarPorFornecedor(),
+                disponibilidade);
     }
 
     public ProdutoDTO buscarPorId(Long id) {
@@ -49,35 +163,96 @@ public class ProdutoService {
         return mapearParaDTO(produto);
     }
 
-    public List<ProdutoDTO> buscarPorNome(String nome) {
-        List<Produto> produtos = produtoRepository.findAllByNomeContainingIgnoreCase(nome);
+    public List<ProdutoListagemDTO> buscarPorNome(String nome, VersaoRecurso versao) {
+        return telemetriaBusca.medir(OperacaoBusca.PRODUTO_NOME, nome, () -> resultadoBuscaCache.obter(TabelaVersionada.PRODUTOS, versao, nome,
+                () -> buscarProjetadosPorIds(indiceProduto.buscarPorNome(nome))));
+    }
 
-        return produtos.stream()
-                .map(this::mapearParaDTO)
+    // Ordem de relevância do índice; produtos removidos desde a última sincronização ficam de fora.
+    public List<ProdutoListagemDTO> pesquisar(String termo, int limite) {
+        List<Long> ids = indiceLucene.pesquisar(termo, limite);
+        Map<Long, ProdutoListagemDTO> porId = new HashMap<>();
+        for (ProdutoListagemDTO produto : buscarProjetadosPorIds(ids)) {
+            porId.put(produto.id(), produto);
+        }
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
-    public List<ProdutoDTO> buscarPorCNPJ(String codigo) {
-        List<Produto> produtos = produtoRepository.findAllByCodigoContainingIgnoreCase(codigo);
-        return produtos.stream()
-                .map(this::mapearParaDTO)
+    public List<ProdutoListagemDTO> buscarPorCNPJ(String codigo) {
+        return buscarProjetadosPorIds(indiceProduto.buscarPorCodigo(codigo));
+    }
+
+    public ProdutoDTO buscarPorCodigo(String codigo) {
+        Optional<ProdutoDTO> emCache = produtoPorCodigoCache.obter(codigo);
+        if (emCache.isPresent()) {
+            return emCache.get();
+        }
+        long geracao = produtoPorCodigoCache.geracao();
+        ProdutoDTO produto = produtoRepository.findByCodigo(codigo)
+                .map(this::mapearParaDTOSemSessao)
+                .orElseThrow(() -> new ProdutoNaoEncontradoException(codigo));
+        produtoPorCodigoCache.guardar(produto, geracao);
+        return produto;
+    }
+
+    // Na ordem pedida; códigos repetidos aparecem uma vez e os desconhecidos ficam de fora.
+    public List<ProdutoDTO> buscarPorCodigos(List<String> codigos) {
+        Set<String> distintos = new LinkedHashSet<>(codigos);
+        if (distintos.size() > LIMITE_CODIGOS) {
+            throw new IllegalArgumentException("No máximo " + LIMITE_CODIGOS + " códigos por consulta.");
+        }
+
+        Map<String, ProdutoDTO> encontrados = new HashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        for (String codigo : distintos) {
+            produtoPorCodigoCache.obter(codigo).ifPresentOrElse(
+                    produto -> encontrados.put(codigo, produto), () -> faltantes.add(codigo));
+        }
+
+        if (!faltantes.isEmpty()) {
+            long geracao = produtoPorCodigoCache.geracao();
+            for (Produto produto : produtoRepository.findAllByCodigoIn(faltantes)) {
+                ProdutoDTO dto = mapearParaDTOSemSessao(produto);
+                produtoPorCodigoCache.guardar(dto, geracao);
+                encontrados.put(dto.codigo(), dto);
+            }
+        }
+
+        return distintos.stream()
+                .map(encontrados::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    public Map<String, Object> buscarCamposPorId(Long id, String fields) {
+        return produtoRepository.buscarCampos(ProdutoRepository.CAMPOS.interpretar(fields), Especificacoes.idIgual(id))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Produto com ID " + id + " não localizado"));
+    }
+
+    public List<Map<String, Object>> buscarCamposPorNome(String nome, String fields) {
+        return produtoRepository.buscarCampos(ProdutoRepository.CAMPOS.interpretar(fields),
+                buscaTextual.contem(Produto.class, BuscaTextual.NOME_NORMALIZADO, TextoUtil.normalizar(nome)));
+    }
+
     public ProdutoDTO cadastrar(ProdutoDTO dto) {
 
-        if (produtoRepository.findByNomeIgnoreCase(dto.nome()).isPresent()) {
+        List<Boolean> conflitos = produtoRepository.buscarConflitos(dto.nome(), TextoUtil.normalizar(dto.nome()), dto.codigo());
+        if (conflitos.contains(true)) {
             throw new ProdutoDuplicadoException(dto.nome());
         }
 
-        Categoria categoria = categoriaRepository.findById(dto.categoria().getId())
-                .orElseThrow(() -> new CategoriaNaoEncontradaException(dto.categoria().getId()));
-
-        Marca marca = marcaRepository.findById(dto.marca().getId())
-                .orElseThrow(() -> new MarcaNaoEncontradaException(dto.marca().getId()));
+        if (!conflitos.isEmpty()) {
+            throw new IllegalArgumentException("Já existe um produto com o código " + dto.codigo());
+        }
 
-        Fornecedor fornecedor = fornecedorRepository.findById(dto.fornecedor().getId())
-                .orElseThrow(() -> new ProdutoNaoEncontradoException(dto.fornecedor().getId()));
+        Categoria categoria = categoriaService.buscarReferencia(dto.categoria().getId());
+        Marca marca = marcaService.buscarReferencia(dto.marca().getId());
+        Fornecedor fornecedor = fornecedorService.buscarReferencia(dto.fornecedor().getId());
 
         if (dto.disponivel() && (dto.quantidade() == null || dto.quantidade() <= 0)) {
             throw new IllegalArgumentException("Produto não pode estar disponível com quantidade zero.");
@@ -122,15 +297,11 @@ public class ProdutoService {
 
     public Optional<ProdutoDTO> atualizar(Long id, ProdutoDTO dto) {
         Produto produto = buscarProduto(id);
+        validarCodigoLivre(produto, dto.codigo());
 
-        Categoria categoria = categoriaRepository.findById(dto.categoria().getId())
-                .orElseThrow(() -> new CategoriaNaoEncontradaException(dto.categoria().getId()));
-
-        Marca marca = marcaRepository.findById(dto.marca().getId())
-                .orElseThrow(() -> new MarcaNaoEncontradaException(dto.marca().getId()));
-
-        Fornecedor fornecedor = fornecedorRepository.findById(dto.fornecedor().getId())
-                .orElseThrow(() -> new FornecedorNaoEncontradoException(dto.fornecedor().getId()));
+        Categoria categoria = categoriaService.buscarReferencia(dto.categoria().getId());
+        Marca marca = marcaService.buscarReferencia(dto.marca().getId());
+        Fornecedor fornecedor = fornecedorService.buscarReferencia(dto.fornecedor().getId());
 
         if (dto.disponivel() && (dto.quantidade() == null || dto.quantidade() <= 0)) {
             throw new IllegalArgumentException("Produto não pode estar disponível com quantidade zero.");
@@ -181,6 +352,7 @@ public class ProdutoService {
 
     public Optional<ProdutoDTO> atualizarAtributo(Long id, ProdutoDTO dto) {
         Produto produto = buscarProduto(id);
+        validarCodigoLivre(produto, dto.codigo());
         atualizarDadosProduto(produto, dto);
 
         return Optional.of(mapearParaDTO(produtoRepository.save(produto)));
@@ -191,7 +363,7 @@ public class ProdutoService {
         produtoRepository.delete(produto);
     }
 
-    private ProdutoDTO mapearParaDTO(Produto produto) {
+    ProdutoDTO mapearParaDTO(Produto produto) {
         return new ProdutoDTO(
                 produto.getId(),
                 produto.getNome(),
@@ -212,11 +384,100 @@ public class ProdutoService {
         );
     }
 
+    // O DTO do cache por código é compartilhado entre requisições: leva cópias sem sessão, não as entidades carregadas.
+    private ProdutoDTO mapearParaDTOSemSessao(Produto produto) {
+        return new ProdutoDTO(
+                produto.getId(),
+                produto.getNome(),
+                produto.getDescricao(),
+                produto.getValor(),
+                produto.getQuantidade(),
+                produto.isDisponivel(),
+                produto.getUnidadeMedida(),
+                produto.getCodigo(),
+                produto.getEstoqueMinimo(),
+                produto.getEstoqueMaximo(),
+                produto.getDataValidade(),
+                produto.getDataEntrada(),
+                produto.getDataSaida(),
+                produto.getCategoria() != null ? CategoriaService.copiarSemSessao(produto.getCategoria()) : null,
+                produto.getMarca() != null ? MarcaService.copiarSemSessao(produto.getMarca()) : null,
+                produto.getFornecedor() != null ? FornecedorService.copiarSemSessao(produto.getFornecedor()) : null
+        );
+    }
+
+    private Object chaveOrdenacao(ProdutoListagemDTO produto, OrdenacaoProduto ordenacao) {
+        return switch (ordenacao) {
+            case NOME -> produto.nome();
+            case VALOR -> produto.valor();
+            case QUANTIDADE -> produto.quantidade();
+            case DATA_VALIDADE -> produto.dataValidade();
+        };
+    }
+
+    // Os ids chegam ordenados, então os lotes já saem na ordem final.
+    private List<ProdutoListagemDTO> buscarProjetadosPorIds(List<Long> ids) {
+        if (ids.size() <= LOTE_IDS) {
+            return ids.isEmpty() ? List.of() : produtoRepository.buscarProjetadoPorIds(ids);
+        }
+        List<ProdutoListagemDTO> produtos = new ArrayList<>(ids.size());
+        for (int inicio = 0; inicio < ids.size(); inicio += LOTE_IDS) {
+            produtos.addAll(produtoRepository.buscarProjetadoPorIds(ids.subList(inicio, Math.min(inicio + LOTE_IDS, ids.size()))));
+        }
+        return produtos;
+    }
+
+    private PaginaDTO<ProdutoListagemDTO> paginar(List<ProdutoListagemDTO> produtos, int limite,
+                                                  OrdenacaoProduto ordenacao) {
+        String proximoCursor = null;
+        if (produtos.size() > limite) {
+            produtos = produtos.subList(0, limite);
+            ProdutoListagemDTO ultimo = produtos.get(limite - 1);
+            proximoCursor = new CursorProduto(ordenacao, chaveOrdenacao(ultimo, ordenacao), ultimo.id()).codificar();
+        }
+        return new PaginaDTO<>(produtos, proximoCursor);
+    }
+
+    private void validarFiltro(FiltroProdutoDTO filtro) {
+        if (filtro == null) {
+            return;
+        }
+        if (filtro.valorMinimo() != null && filtro.valorMaximo() != null
+                && filtro.valorMinimo().compareTo(filtro.valorMaximo()) > 0) {
+            throw new IllegalArgumentException("O valor mínimo não pode ser maior que o valor máximo.");
+        }
+        if (filtro.validadeDe() != null && filtro.validadeAte() != null
+                && filtro.validadeDe().isAfter(filtro.validadeAte())) {
+            throw new DatasInvalidasException("O início do intervalo de validade não pode ser posterior ao fim.");
+        }
+        if (filtro.entradaDe() != null && filtro.entradaAte() != null
+                && filtro.entradaDe().isAfter(filtro.entradaAte())) {
+            throw new DatasInvalidasException("O início do intervalo de entrada não pode ser posterior ao fim.");
+        }
+    }
+
+    private void validarLimite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+    }
+
+    private CursorProduto decodificarCursor(String cursor, OrdenacaoProduto ordenacao) {
+        return cursor == null || cursor.isBlank() ? null : CursorProduto.decodificar(cursor, ordenacao);
+    }
+
     private Produto buscarProduto(Long id) {
         return produtoRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Produto com ID " + id + " não localizado"));
     }
 
+    // Consultado só quando o código muda, antes de alterar a entidade para não disparar o flush dela.
+    private void validarCodigoLivre(Produto produto, String codigo) {
+        if (codigo != null && !codigo.equals(produto.getCodigo()) && produtoRepository.existsByCodigo(codigo)) {
+            throw new IllegalArgumentException("Já existe um produto com o código " + codigo);
+        }
+    }
+
     private void atualizarDadosProduto(Produto produto, ProdutoDTO dto) {
         if (dto.nome() != null) produto.setNome(dto.nome());
         if (dto.descricao() != null) produto.setDescricao(dto.descricao());
@@ -267,21 +528,15 @@ public class ProdutoService {
         }
 
         if (dto.categoria() != null && dto.categoria().getId() != null) {
-            Categoria categoria = categoriaRepository.findById(dto.categoria().getId())
-                    .orElseThrow(() -> new CategoriaNaoEncontradaException(dto.categoria().getId()));
-            produto.setCategoria(categoria);
+            produto.setCategoria(categoriaService.buscarReferencia(dto.categoria().getId()));
         }
 
         if (dto.marca() != null && dto.marca().getId() != null) {
-            Marca marca = marcaRepository.findById(dto.marca().getId())
-                    .orElseThrow(() -> new MarcaNaoEncontradaException(dto.marca().getId()));
-            produto.setMarca(marca);
+            produto.setMarca(marcaService.buscarReferencia(dto.marca().getId()));
         }
 
         if (dto.fornecedor() != null && dto.fornecedor().getId() != null) {
-            Fornecedor fornecedor = fornecedorRepository.findById(dto.fornecedor().getId())
-                    .orElseThrow(() -> new FornecedorNaoEncontradoException(dto.fornecedor().getId()));
-            produto.setFornecedor(fornecedor);
+            produto.setFornecedor(fornecedorService.buscarReferencia(dto.fornecedor().getId()));
         }
     }
 }
@@ -0,0 +1,46 @@
+package com.projetointegrador.estoque.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.projetointegrador.estoque.enums.FormatoCatalogo;
+import com.projetointegrador.estoque.protobuf.ConversorProtobuf;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/*
+ * Mantém um ObjectMapper por formato binário, todos copiados do mapper do Spring Boot para que
+ * datas, módulos e demais configurações sejam idênticos aos do JSON.
+ */
+@Service
+public class SerializadorCatalogo {
+
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    public SerializadorCatalogo(ObjectMapper objectMapper) {
+        this.json = objectMapper;
+        this.cbor = objectMapper.copyWith(new CBORFactory());
+        this.smile = objectMapper.copyWith(new SmileFactory());
+    }
+
+    public ObjectMapper getCbor() {
+        return cbor;
+    }
+
+    public ObjectMapper getSmile() {
+        return smile;
+    }
+
+    public byte[] serializarLista(List<?> itens, Class<?> tipo, FormatoCatalogo formato) throws JsonProcessingException {
+        return switch (formato) {
+            case JSON -> json.writeValueAsBytes(itens);
+            case CBOR -> cbor.writeValueAsBytes(itens);
+            case SMILE -> smile.writeValueAsBytes(itens);
+            case PROTOBUF -> ConversorProtobuf.paraLista(itens, tipo).toByteArray();
+        };
+    }
+}
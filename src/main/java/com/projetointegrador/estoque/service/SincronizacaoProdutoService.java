@@ -0,0 +1,94 @@
+package com.projetointegrador.estoque.service;
+
+import com.projetointegrador.estoque.dto.AlteracoesProdutoDTO;
+import com.projetointegrador.estoque.dto.PosicaoAlteracao;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.ProdutoRemovidoRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Sincronização incremental do catálogo: devolve os produtos inseridos/alterados e os excluídos
+ * depois do token informado, intercalados pela sequência de alteração.
+ */
+@Service
+public class SincronizacaoProdutoService {
+
+    private static final int LIMITE_MAXIMO = 1000;
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoRemovidoRepository produtoRemovidoRepository;
+    private final VersaoTabelaRepository versaoTabelaRepository;
+
+    public SincronizacaoProdutoService(
+            ProdutoRepository produtoRepository,
+            ProdutoRemovidoRepository produtoRemovidoRepository,
+            VersaoTabelaRepository versaoTabelaRepository
+    ) {
+        this.produtoRepository = produtoRepository;
+        this.produtoRemovidoRepository = produtoRemovidoRepository;
+        this.versaoTabelaRepository = versaoTabelaRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public AlteracoesProdutoDTO listarAlteracoes(String since, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        PosicaoAlteracao apos = since == null || since.isBlank() ? PosicaoAlteracao.INICIO
+                : PosicaoAlteracao.decodificar(since);
+
+        // Só vai até a última versão confirmada; transações em andamento recebem versões maiores.
+        long ate = versaoTabelaRepository.findById(TabelaVersionada.PRODUTOS.name())
+                .map(VersaoTabela::getVersao)
+                .orElse(0L);
+
+        Pageable pagina = PageRequest.of(0, limite + 1);
+        List<PosicaoAlteracao> alterados = produtoRepository.buscarAlteracoesApos(apos.sequencia(), apos.id(), ate, pagina);
+        List<PosicaoAlteracao> removidos = produtoRemovidoRepository.buscarRemocoesApos(apos.sequencia(), apos.id(), ate, pagina);
+
+        List<Long> idsAlterados = new ArrayList<>();
+        List<Long> idsRemovidos = new ArrayList<>();
+        PosicaoAlteracao ultima = null;
+        int a = 0;
+        int r = 0;
+        while (idsAlterados.size() + idsRemovidos.size() < limite && (a < alterados.size() || r < removidos.size())) {
+            if (r >= removidos.size() || (a < alterados.size() && alterados.get(a).compareTo(removidos.get(r)) < 0)) {
+                ultima = alterados.get(a++);
+                idsAlterados.add(ultima.id());
+            } else {
+                ultima = removidos.get(r++);
+                idsRemovidos.add(ultima.id());
+            }
+        }
+
+        boolean temMais = a < alterados.size() || r < removidos.size();
+        PosicaoAlteracao proxima = temMais ? ultima
+                : ate >= apos.sequencia() ? new PosicaoAlteracao(ate, Long.MAX_VALUE) : apos;
+
+        return new AlteracoesProdutoDTO(buscarNaOrdem(idsAlterados), idsRemovidos, proxima.codificar(), temMais);
+    }
+
+    // Um produto excluído entre as duas consultas some daqui e aparece como removido na próxima chamada.
+    private List<ProdutoListagemDTO> buscarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProdutoListagemDTO> porId = produtoRepository.buscarProjetadoPorIds(ids).stream()
+                .collect(Collectors.toMap(ProdutoListagemDTO::id, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+}
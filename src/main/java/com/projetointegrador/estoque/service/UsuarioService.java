@@ -1,14 +1,17 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
 import com.projetointegrador.estoque.dto.UsuarioDTO;
 import com.projetointegrador.estoque.dto.UsuarioLoginDTO;
 import com.projetointegrador.estoque.dto.UsuarioRequestDTO;
+import com.projetointegrador.estoque.enums.OperacaoBusca;
 import com.projetointegrador.estoque.enums.Role;
 import com.projetointegrador.estoque.exeption.AcessoNegadoException;
 import com.projetointegrador.estoque.exeption.UsuarioNaoAutorizadoException;
 import com.projetointegrador.estoque.exeption.UsuarioNaoEncontradoException;
 import com.projetointegrador.estoque.model.Usuario;
 import com.projetointegrador.estoque.repository.UsuarioRepository;
+import com.projetointegrador.estoque.security.CachePrincipais;
 import com.projetointegrador.estoque.security.JwtService;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +44,12 @@ public class UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TelemetriaBusca telemetriaBusca;
+
+    @Autowired
+    private CachePrincipais cachePrincipais;
+
     public String criptografarSenha(String senha) {
         return passwordEncoder.encode(senha);
     }
@@ -68,10 +77,12 @@ public class UsuarioService {
     }
 
     public List<UsuarioRequestDTO> listarTodos(String emailAutenticado) {
-        if (!emailAutenticado.equals(adminEmail)) {
-            throw new AcessoNegadoException("Apenas o ADMIN pode visualizar todos os usuários.");
-        }
+        verificarAcessoATodos(emailAutenticado);
+        return listarTodos();
+    }
 
+    // Sem checagem de acesso: quem chama faz antes uma das verificarAcesso*.
+    public List<UsuarioRequestDTO> listarTodos() {
         return usuarioRepository.findAll()
                 .stream()
                 .map(this::mapearParaDTO)
@@ -79,41 +90,64 @@ public class UsuarioService {
     }
 
     public UsuarioRequestDTO buscarPorId(Long id, String emailAutenticado) {
-        Usuario usuarioAutenticado = usuarioRepository.findByEmail(emailAutenticado)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário autenticado não encontrado"));
+        verificarAcessoAoUsuario(id, emailAutenticado);
+        return buscarPorId(id);
+    }
 
-        boolean isAdmin = emailAutenticado.equals(adminEmail);
-        boolean isProprioUsuario = usuarioAutenticado.getId().equals(id);
+    public UsuarioRequestDTO buscarPorId(Long id) {
+        return mapearParaDTO(buscarUsuario(id));
+    }
 
-        if (!isAdmin && !isProprioUsuario) {
-            throw new AcessoNegadoException("Você não tem permissão para visualizar este usuário.");
-        }
+    public UsuarioRequestDTO buscarPorEmail(String emailSolicitado, String emailAutenticado) {
+        verificarAcessoAoEmail(emailSolicitado, emailAutenticado);
+        return buscarPorEmail(emailSolicitado);
+    }
+
+    public UsuarioRequestDTO buscarPorEmail(String email) {
+        Usuario usuario = usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email informado."));
 
-        Usuario usuario = buscarUsuario(id);
         return mapearParaDTO(usuario);
     }
 
-    public UsuarioRequestDTO buscarPorEmail(String emailSolicitado, String emailAutenticado) {
+    /*
+     * As checagens de acesso ficam separadas da leitura para que o controller possa fazê-las antes
+     * de conferir a ETag e só carregar o usuário quando a resposta não for 304.
+     */
+    public void verificarAcessoATodos(String emailAutenticado) {
+        if (!emailAutenticado.equals(adminEmail)) {
+            throw new AcessoNegadoException("Apenas o ADMIN pode visualizar todos os usuários.");
+        }
+    }
+
+    public void verificarAcessoAoUsuario(Long id, String emailAutenticado) {
+        if (emailAutenticado.equals(adminEmail)) {
+            return;
+        }
+
+        Long idAutenticado = usuarioRepository.buscarIdPorEmail(emailAutenticado)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário autenticado não encontrado"));
+
+        if (!idAutenticado.equals(id)) {
+            throw new AcessoNegadoException("Você não tem permissão para visualizar este usuário.");
+        }
+    }
+
+    public void verificarAcessoAoEmail(String emailSolicitado, String emailAutenticado) {
         boolean isAdmin = emailAutenticado.equals(adminEmail);
         boolean isProprioUsuario = emailAutenticado.equals(emailSolicitado);
 
         if (!isAdmin && !isProprioUsuario) {
             throw new AcessoNegadoException("Você não tem permissão para visualizar este usuário.");
         }
-
-        Usuario usuario = usuarioRepository.findByEmail(emailSolicitado)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email informado."));
-
-        return mapearParaDTO(usuario);
     }
 
     public List<UsuarioRequestDTO> buscarPorNome(String nome) {
-
-        List<Usuario> usuarios = usuarioRepository.findAllByNomeContainingIgnoreCase(nome);
-
-        return usuarios.stream()
-                .map(this::mapearParaDTO)
-                .toList();
+        return telemetriaBusca.medir(OperacaoBusca.USUARIO_NOME, nome,
+                () -> usuarioRepository.findAllByNomeContainingIgnoreCase(nome)
+                        .stream()
+                        .map(this::mapearParaDTO)
+                        .toList());
     }
 
 
@@ -130,6 +164,8 @@ public class UsuarioService {
 
         atribuirRolePadraoSeNecessario(usuario);
         usuario.setSenha(criptografarSenha(usuario.getSenha()));
+        // Com @Version, um id vindo no corpo faria o save tentar persistir uma entidade destacada.
+        usuario.setId(null);
 
         Usuario salvo = usuarioRepository.save(usuario);
 
@@ -150,23 +186,34 @@ public class UsuarioService {
                         throw new IllegalArgumentException("E-mail cadastrado para outro usuário");
                     });
 
+            String emailAnterior = existingUser.getEmail();
+            boolean credenciaisAlteradas = false;
             existingUser.setNome(usuario.getNome());
 
             if (!existingUser.getEmail().equals(usuario.getEmail())) {
                 existingUser.setEmail(usuario.getEmail());
+                credenciaisAlteradas = true;
             }
 
             if (usuario.getSenha() != null && !usuario.getSenha().isBlank()) {
                 if (!passwordEncoder.matches(usuario.getSenha(), existingUser.getSenha())) {
                     existingUser.setSenha(passwordEncoder.encode(usuario.getSenha()));
+                    credenciaisAlteradas = true;
                 }
             }
 
             if (usuario.getRoles() != null && !usuario.getRoles().isEmpty()) {
+                credenciaisAlteradas |= !usuario.getRoles().equals(existingUser.getRoles());
                 existingUser.setRoles(usuario.getRoles());
             }
 
-            return usuarioRepository.save(existingUser);
+            if (credenciaisAlteradas) {
+                existingUser.setVersaoToken(existingUser.getVersaoToken() + 1);
+            }
+
+            Usuario salvo = usuarioRepository.save(existingUser);
+            cachePrincipais.invalidar(emailAnterior, salvo.getEmail());
+            return salvo;
         });
     }
 
@@ -183,7 +230,7 @@ public class UsuarioService {
             Usuario usuario = usuarioRepository.findByEmail(usuarioLoginDTO.email())
                     .orElseThrow(() -> new UsuarioNaoEncontradoException("Usuário não encontrado"));
 
-            String token = "Bearer " + jwtService.generateToken(usuario.getEmail(), usuario.getRoles());
+            String token = "Bearer " + jwtService.generateToken(usuario);
 
             return Optional.of(new UsuarioDTO(
                     usuario.getId(),
@@ -215,6 +262,7 @@ public class UsuarioService {
 
         if (isAdminPadrao || isProprioUsuario) {
             usuarioRepository.delete(usuarioParaExcluir);
+            cachePrincipais.invalidar(usuarioParaExcluir.getEmail());
         } else {
             throw new AcessoNegadoException("Você não tem permissão para excluir este usuário.");
         }
@@ -0,0 +1,119 @@
+package com.projetointegrador.estoque.service;
+
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.*;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class VersaoService {
+
+    private final VersaoTabelaRepository versaoTabelaRepository;
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final MarcaRepository marcaRepository;
+    private final FornecedorRepository fornecedorRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    public VersaoService(
+            VersaoTabelaRepository versaoTabelaRepository,
+            ProdutoRepository produtoRepository,
+            CategoriaRepository categoriaRepository,
+            MarcaRepository marcaRepository,
+            FornecedorRepository fornecedorRepository,
+            UsuarioRepository usuarioRepository
+    ) {
+        this.versaoTabelaRepository = versaoTabelaRepository;
+        this.produtoRepository = produtoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.marcaRepository = marcaRepository;
+        this.fornecedorRepository = fornecedorRepository;
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    @PostConstruct
+    public void registrarTabelas() {
+        for (TabelaVersionada tabela : TabelaVersionada.values()) {
+            if (!versaoTabelaRepository.existsById(tabela.name())) {
+                versaoTabelaRepository.save(new VersaoTabela(tabela.name(), 0L, System.currentTimeMillis()));
+            }
+        }
+    }
+
+    public VersaoRecurso daTabela(TabelaVersionada... tabelas) {
+        Map<String, VersaoTabela> versoes = buscarVersoes(tabelas);
+
+        StringBuilder etag = new StringBuilder("\"");
+        long ultimaModificacao = 0;
+        for (TabelaVersionada tabela : tabelas) {
+            VersaoTabela versao = versoes.get(tabela.name());
+            if (etag.length() > 1) {
+                etag.append('.');
+            }
+            etag.append(versao == null ? 0 : versao.getVersao());
+            if (versao != null) {
+                ultimaModificacao = Math.max(ultimaModificacao, versao.getUltimaModificacao());
+            }
+        }
+        return new VersaoRecurso(etag.append('"').toString(), ultimaModificacao);
+    }
+
+    /*
+     * Para respostas que saem de um índice em memória: a tabela indexada entra na ETag com a
+     * versão que o índice já aplicou, não com a do banco, para que uma escrita de outra instância
+     * ainda não indexada não troque a ETag de um corpo antigo. Vai sem Last-Modified, que o
+     * índice não tem; a revalidação fica só com a ETag.
+     */
+    public VersaoRecurso doIndice(TabelaVersionada indexada, long versaoAplicada, TabelaVersionada... demais) {
+        String etag = "\"" + versaoAplicada + "\"";
+        if (demais.length > 0) {
+            etag = etag.substring(0, etag.length() - 1) + "." + daTabela(demais).etag().substring(1);
+        }
+        return new VersaoRecurso(etag, 0);
+    }
+
+    public Optional<VersaoRecurso> doProduto(Long id) {
+        return produtoRepository.buscarVersaoComReferencias(id)
+                .map(versao -> doRegistro(versao, TabelaVersionada.PRODUTOS, TabelaVersionada.CATEGORIAS,
+                        TabelaVersionada.MARCAS, TabelaVersionada.FORNECEDORES));
+    }
+
+    public Optional<VersaoRecurso> daCategoria(Long id) {
+        return categoriaRepository.buscarVersao(id).map(versao -> doRegistro(versao, TabelaVersionada.CATEGORIAS));
+    }
+
+    public Optional<VersaoRecurso> daMarca(Long id) {
+        return marcaRepository.buscarVersao(id).map(versao -> doRegistro(versao, TabelaVersionada.MARCAS));
+    }
+
+    public Optional<VersaoRecurso> doFornecedor(Long id) {
+        return fornecedorRepository.buscarVersao(id).map(versao -> doRegistro(versao, TabelaVersionada.FORNECEDORES));
+    }
+
+    public Optional<VersaoRecurso> doUsuario(Long id) {
+        return usuarioRepository.buscarVersao(id).map(versao -> doRegistro(versao, TabelaVersionada.USUARIOS));
+    }
+
+    private VersaoRecurso doRegistro(Object versao, TabelaVersionada... tabelas) {
+        long ultimaModificacao = buscarVersoes(tabelas).values().stream()
+                .mapToLong(VersaoTabela::getUltimaModificacao)
+                .max()
+                .orElse(0);
+        return new VersaoRecurso("\"" + versao + "\"", ultimaModificacao);
+    }
+
+    private Map<String, VersaoTabela> buscarVersoes(TabelaVersionada... tabelas) {
+        List<String> nomes = Arrays.stream(tabelas).map(TabelaVersionada::name).toList();
+        return versaoTabelaRepository.findAllById(nomes).stream()
+                .collect(Collectors.toMap(VersaoTabela::getTabela, Function.identity()));
+    }
+}
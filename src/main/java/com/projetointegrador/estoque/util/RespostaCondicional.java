@@ -0,0 +1,88 @@
+package com.projetointegrador.estoque.util;
+
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.FormatoCatalogo;
+import com.projetointegrador.estoque.protobuf.ConversorProtobuf;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class RespostaCondicional {
+
+    // Sem isso o Spring Security devolve no-store e o cliente nunca revalida.
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private static final Set<FormatoCatalogo> SEM_PROTOBUF = EnumSet.complementOf(EnumSet.of(FormatoCatalogo.PROTOBUF));
+
+    public static <T> ResponseEntity<T> responder(WebRequest request, VersaoRecurso versao, Supplier<T> corpo) {
+        return responder(request, versao, HttpHeaders.EMPTY, corpo);
+    }
+
+    public static <T> ResponseEntity<T> responder(WebRequest request, VersaoRecurso versao, HttpHeaders cabecalhos,
+                                                  Supplier<T> corpo) {
+        // JSON, CBOR, Smile e protobuf do mesmo estado são representações distintas: cada uma tem sua ETag.
+        FormatoCatalogo formato = formatoEscrito(request, cabecalhos);
+        if (formato.getSufixoEtag() != null) {
+            versao = versao.comSufixo(formato.getSufixoEtag());
+        }
+
+        HttpHeaders variantes = new HttpHeaders();
+        variantes.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        variantes.addAll(cabecalhos);
+
+        if (request.checkNotModified(versao.etag(), versao.ultimaModificacao())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(variantes).cacheControl(REVALIDAR).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).headers(variantes).cacheControl(REVALIDAR).body(corpo.get());
+    }
+
+    /*
+     * O formato em que o corpo vai de fato sair: o Content-Type fixado pelo chamador ou, senão, o
+     * negociado entre os conversores capazes de escrever o tipo de retorno do handler. Protobuf só
+     * cobre os DTOs do catálogo; para os demais tipos o Spring cai em outro formato do Accept, e a
+     * ETag tem de acompanhar.
+     */
+    private static FormatoCatalogo formatoEscrito(WebRequest request, HttpHeaders cabecalhos) {
+        MediaType fixado = cabecalhos.getContentType();
+        if (fixado != null) {
+            for (FormatoCatalogo formato : FormatoCatalogo.values()) {
+                if (formato.getMediaType().equalsTypeAndSubtype(fixado)) {
+                    return formato;
+                }
+            }
+            return FormatoCatalogo.JSON;
+        }
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof HandlerMethod handler) {
+            ResolvableType retorno = ResolvableType.forMethodParameter(handler.getReturnType());
+            if (HttpEntity.class.isAssignableFrom(retorno.toClass())) {
+                retorno = retorno.as(HttpEntity.class).getGeneric(0);
+            }
+            if (ConversorProtobuf.elemento(retorno.getType()) == null) {
+                return FormatoCatalogo.negociar(accept, SEM_PROTOBUF);
+            }
+        }
+        return FormatoCatalogo.negociar(accept);
+    }
+
+    // Registro inexistente: deixa o serviço produzir o erro de sempre.
+    public static <T> ResponseEntity<T> responder(WebRequest request, Optional<VersaoRecurso> versao, Supplier<T> corpo) {
+        return versao.map(encontrada -> responder(request, encontrada, corpo))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.OK).body(corpo.get()));
+    }
+}
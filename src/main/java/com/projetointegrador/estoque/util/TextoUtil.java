@@ -0,0 +1,29 @@
+package com.projetointegrador.estoque.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class TextoUtil {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D+");
+
+    // "Açúcar Cristal" -> "acucar cristal": forma gravada em nome_normalizado e usada nas buscas por nome.
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // "11.222.333/0001-81" -> "11222333000181"; null quando não sobra nenhum dígito.
+    public static String somenteDigitos(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String digitos = NAO_DIGITOS.matcher(texto).replaceAll("");
+        return digitos.isEmpty() ? null : digitos;
+    }
+}
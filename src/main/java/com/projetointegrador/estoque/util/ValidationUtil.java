@@ -5,4 +5,26 @@ public class ValidationUtil {
     public static boolean isEmailValid(String email) {
         return email != null && email.matches("^[A-Za-z0-9+_.-]+@(.+)$");
     }
+
+    // Espera só os 14 dígitos; confere os dois dígitos verificadores.
+    public static boolean isCnpjValido(String digitos) {
+        if (digitos == null || !digitos.matches("\\d{14}") || digitos.chars().distinct().count() == 1) {
+            return false;
+        }
+        return digitos.charAt(12) - '0' == digitoVerificadorCnpj(digitos, 12)
+                && digitos.charAt(13) - '0' == digitoVerificadorCnpj(digitos, 13);
+    }
+
+    private static int digitoVerificadorCnpj(String digitos, int tamanho) {
+        int soma = 0;
+        int peso = tamanho - 7;
+        for (int i = 0; i < tamanho; i++) {
+            soma += (digitos.charAt(i) - '0') * peso--;
+            if (peso < 2) {
+                peso = 9;
+            }
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
 }
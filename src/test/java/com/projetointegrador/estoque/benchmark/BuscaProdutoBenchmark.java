@@ -0,0 +1,68 @@
+package com.projetointegrador.estoque.benchmark;
+
+import com.projetointegrador.estoque.busca.IndiceProduto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por trecho do nome: like '%x%' no banco (varredura da tabela) contra o índice de
+ * trigramas em memória. Os dois devolvem só os ids, ordenados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaProdutoBenchmark {
+
+    @Param({"100000"})
+    private int produtos;
+
+    @Param({"to 4242", "produto 9"})
+    private String termo;
+
+    private ConfigurableApplicationContext contexto;
+    private JdbcTemplate jdbc;
+    private IndiceProduto indiceProduto;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        ContextoBenchmark.popularCatalogo(contexto, produtos);
+        jdbc = contexto.getBean(JdbcTemplate.class);
+        indiceProduto = contexto.getBean(IndiceProduto.class);
+        indiceProduto.sincronizar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Long> like() {
+        return jdbc.queryForList("select id from tb_produtos where upper(nome) like ? order by id", Long.class,
+                "%" + termo.toUpperCase() + "%");
+    }
+
+    @Benchmark
+    public List<Long> indice() {
+        return indiceProduto.buscarPorNome(termo);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BuscaProdutoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.projetointegrador.estoque.benchmark;
+
+import com.projetointegrador.estoque.EstoqueApplication;
+import com.projetointegrador.estoque.util.TextoUtil;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sobe a aplicação em porta aleatória sobre um H2 em memória e popula o catálogo via JDBC,
+ * para que os benchmarks meçam apenas o caminho de leitura.
+ */
+final class ContextoBenchmark {
+
+    static final int CATEGORIAS = 20;
+    static final int MARCAS = 50;
+    static final int FORNECEDORES = 100;
+
+    private static final int LOTE = 5_000;
+
+    private ContextoBenchmark() {
+    }
+
+    // Propriedades extras no formato chave=valor substituem as padrão de mesma chave.
+    static ConfigurableApplicationContext iniciar(String... propriedadesExtras) {
+        Map<String, String> propriedades = new LinkedHashMap<>();
+        propriedades.put("spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        propriedades.put("server.port", "0");
+        propriedades.put("spring.jpa.show-sql", "false");
+        propriedades.put("logging.level.root", "WARN");
+        propriedades.put("jwt.secret", "dGhpc2lzYXZlcnlsb25nc2VjcmV0a2V5Zm9ydGVzdGluZ3B1cnBvc2VzMTIzNDU2Nzg5MA==");
+        propriedades.put("admin.email", "admin@benchmark.com");
+        propriedades.put("admin.password", "admin12345");
+        propriedades.put("admin.name", "Admin");
+        for (String propriedade : propriedadesExtras) {
+            String[] chaveValor = propriedade.split("=", 2);
+            propriedades.put(chaveValor[0], chaveValor[1]);
+        }
+
+        return new SpringApplicationBuilder(EstoqueApplication.class)
+                .run(propriedades.entrySet().stream()
+                        .map(propriedade -> "--" + propriedade.getKey() + "=" + propriedade.getValue())
+                        .toArray(String[]::new));
+    }
+
+    static void popularCatalogo(ConfigurableApplicationContext contexto, int produtos) {
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+
+        for (int i = 1; i <= CATEGORIAS; i++) {
+            jdbc.update("insert into tb_categorias (nome, nome_normalizado) values (?, ?)",
+                    "Categoria " + i, TextoUtil.normalizar("Categoria " + i));
+        }
+        for (int i = 1; i <= MARCAS; i++) {
+            jdbc.update("insert into tb_marcas (nome, nome_normalizado) values (?, ?)",
+                    "Marca " + i, TextoUtil.normalizar("Marca " + i));
+        }
+        for (int i = 1; i <= FORNECEDORES; i++) {
+            jdbc.update("insert into tb_fornecedores (nome, nome_normalizado, cnpj, cnpj_digitos, email, telefone, "
+                            + "endereco) values (?, ?, ?, ?, ?, ?, ?)",
+                    "Fornecedor " + i, TextoUtil.normalizar("Fornecedor " + i),
+                    String.format("%014d", i), String.format("%014d", i), "fornecedor" + i + "@email.com",
+                    "1199999-0000", "Rua " + i + ", Centro");
+        }
+
+        Long primeiraCategoria = jdbc.queryForObject("select min(id) from tb_categorias", Long.class);
+        Long primeiraMarca = jdbc.queryForObject("select min(id) from tb_marcas", Long.class);
+        Long primeiroFornecedor = jdbc.queryForObject("select min(id) from tb_fornecedores", Long.class);
+
+        // O que os listeners de entidade fariam se as linhas tivessem sido gravadas pelo JPA.
+        jdbc.update("update tb_versoes_tabela set versao = versao + 1, ultima_modificacao = ?",
+                System.currentTimeMillis());
+        Long sequencia = jdbc.queryForObject("select versao from tb_versoes_tabela where tabela = 'PRODUTOS'",
+                Long.class);
+
+        String insert = "insert into tb_produtos (nome, nome_normalizado, descricao, valor, quantidade, unidade_medida, codigo, "
+                + "estoque_minimo, estoque_maximo, data_validade, data_entrada, disponivel, "
+                + "categoria_id, marca_id, fornecedor_id, sequencia_alteracao) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        LocalDate hoje = LocalDate.now();
+        for (int i = 1; i <= produtos; i++) {
+            int quantidade = i % 200;
+            lote.add(new Object[]{
+                    "Produto " + i,
+                    "produto " + i,
+                    "Descrição do produto " + i,
+                    BigDecimal.valueOf(i % 10_000, 2),
+                    quantidade,
+                    "UNIDADE",
+                    String.format("789%010d", i),
+                    5,
+                    500,
+                    Date.valueOf(hoje.plusDays(i % 720)),
+                    Date.valueOf(hoje.minusDays(i % 365)),
+                    quantidade > 0,
+                    primeiraCategoria + i % CATEGORIAS,
+                    primeiraMarca + i % MARCAS,
+                    primeiroFornecedor + i % FORNECEDORES,
+                    sequencia
+            });
+            if (lote.size() == LOTE) {
+                jdbc.batchUpdate(insert, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbc.batchUpdate(insert, lote);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.projetointegrador.estoque.benchmark;
+
+import com.projetointegrador.estoque.dto.FiltroProdutoDTO;
+import com.projetointegrador.estoque.dto.PaginaDTO;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.service.ProdutoService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primeira página de POST /produtos/filtro em combinações comuns, com e sem os índices
+ * compostos do filtro (indices=false os remove antes da medição).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class FiltroProdutoBenchmark {
+
+    private static final List<String> INDICES_FILTRO = List.of(
+            "idx_produtos_categoria_nome_id", "idx_produtos_categoria_valor_id", "idx_produtos_marca_nome_id",
+            "idx_produtos_fornecedor_nome_id", "idx_produtos_disponivel_nome_id", "idx_produtos_data_entrada_id");
+
+    private static final int LIMITE = 50;
+
+    @Param({"1000000"})
+    private int produtos;
+
+    @Param({"true", "false"})
+    private boolean indices;
+
+    private ConfigurableApplicationContext contexto;
+    private ProdutoService produtoService;
+    private FiltroProdutoDTO categoria;
+    private FiltroProdutoDTO categoriaFaixaDePreco;
+    private FiltroProdutoDTO marcaDisponivel;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        // Um milhão de linhas e seus índices não cabem num H2 em memória com folga.
+        contexto = ContextoBenchmark.iniciar(
+                "spring.datasource.url=jdbc:h2:file:./target/benchmark/filtro;MODE=MySQL");
+        ContextoBenchmark.popularCatalogo(contexto, produtos);
+        produtoService = contexto.getBean(ProdutoService.class);
+
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        if (!indices) {
+            INDICES_FILTRO.forEach(indice -> jdbc.execute("drop index if exists " + indice));
+        }
+        jdbc.execute("analyze");
+
+        Long idCategoria = jdbc.queryForObject("select min(id) from tb_categorias", Long.class);
+        Long idMarca = jdbc.queryForObject("select min(id) from tb_marcas", Long.class);
+        categoria = new FiltroProdutoDTO(List.of(idCategoria), null, null, null, null, null, null,
+                null, null, null, null);
+        categoriaFaixaDePreco = new FiltroProdutoDTO(List.of(idCategoria), null, null,
+                new BigDecimal("10.00"), new BigDecimal("20.00"), null, null, null, null, null, null);
+        marcaDisponivel = new FiltroProdutoDTO(null, List.of(idMarca), null, null, null, true, null,
+                null, null, LocalDate.now().minusDays(30), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public PaginaDTO<ProdutoListagemDTO> categoriaPorNome() {
+        return produtoService.filtrar(categoria, LIMITE, null, "nome");
+    }
+
+    @Benchmark
+    public PaginaDTO<ProdutoListagemDTO> categoriaFaixaDePrecoPorValor() {
+        return produtoService.filtrar(categoriaFaixaDePreco, LIMITE, null, "valor");
+    }
+
+    @Benchmark
+    public PaginaDTO<ProdutoListagemDTO> marcaDisponivelEntradaRecentePorNome() {
+        return produtoService.filtrar(marcaDisponivel, LIMITE, null, "nome");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FiltroProdutoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
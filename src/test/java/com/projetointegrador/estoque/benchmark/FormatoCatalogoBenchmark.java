@@ -0,0 +1,126 @@
+package com.projetointegrador.estoque.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.enums.FormatoCatalogo;
+import com.projetointegrador.estoque.enums.UnidadeMedida;
+import com.projetointegrador.estoque.protobuf.ConversorProtobuf;
+import com.projetointegrador.estoque.protobuf.ProdutoListagemLista;
+import com.projetointegrador.estoque.service.SerializadorCatalogo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo de codificar e decodificar a listagem de produtos em cada formato negociável.
+ * O main imprime antes o tamanho no fio de cada formato, cru e com gzip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoCatalogoBenchmark {
+
+    private static final TypeReference<List<ProdutoListagemDTO>> LISTA = new TypeReference<>() {
+    };
+
+    @Param({"10000"})
+    private int produtos;
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    private FormatoCatalogo formato;
+
+    private SerializadorCatalogo serializador;
+    private ObjectMapper mapper;
+    private List<ProdutoListagemDTO> itens;
+    private byte[] codificado;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        serializador = criarSerializador();
+        mapper = switch (formato) {
+            case CBOR -> serializador.getCbor();
+            case SMILE -> serializador.getSmile();
+            default -> criarMapperJson();
+        };
+        itens = gerarItens(produtos);
+        codificado = serializador.serializarLista(itens, ProdutoListagemDTO.class, formato);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        return serializador.serializarLista(itens, ProdutoListagemDTO.class, formato);
+    }
+
+    @Benchmark
+    public List<ProdutoListagemDTO> decodificar() throws IOException {
+        if (formato == FormatoCatalogo.PROTOBUF) {
+            return ConversorProtobuf.deProdutoListagemLista(ProdutoListagemLista.parseFrom(codificado));
+        }
+        return mapper.readValue(codificado, LISTA);
+    }
+
+    private static ObjectMapper criarMapperJson() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static SerializadorCatalogo criarSerializador() {
+        return new SerializadorCatalogo(criarMapperJson());
+    }
+
+    private static List<ProdutoListagemDTO> gerarItens(int quantidade) {
+        List<ProdutoListagemDTO> itens = new ArrayList<>(quantidade);
+        LocalDate hoje = LocalDate.now();
+        for (int i = 1; i <= quantidade; i++) {
+            long categoria = i % ContextoBenchmark.CATEGORIAS + 1;
+            long marca = i % ContextoBenchmark.MARCAS + 1;
+            long fornecedor = i % ContextoBenchmark.FORNECEDORES + 1;
+            itens.add(new ProdutoListagemDTO((long) i, "Produto " + i, "Descrição do produto " + i,
+                    BigDecimal.valueOf(i % 10_000, 2), i % 200, i % 200 > 0, UnidadeMedida.UNIDADE,
+                    String.format("789%010d", i), 5, 500, hoje.plusDays(i % 365), hoje.minusDays(i % 90), null,
+                    categoria, "Categoria " + categoria, marca, "Marca " + marca,
+                    fornecedor, "Fornecedor " + fornecedor));
+        }
+        return itens;
+    }
+
+    private static int comprimido(byte[] bytes) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(bytes);
+        }
+        return saida.size();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        SerializadorCatalogo serializador = criarSerializador();
+        List<ProdutoListagemDTO> itens = gerarItens(10_000);
+        for (FormatoCatalogo formato : FormatoCatalogo.values()) {
+            byte[] bytes = serializador.serializarLista(itens, ProdutoListagemDTO.class, formato);
+            System.out.printf("%-9s %,10d bytes  %,9d bytes com gzip%n", formato, bytes.length, comprimido(bytes));
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(FormatoCatalogoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.projetointegrador.estoque.benchmark;
+
+import com.projetointegrador.estoque.busca.IndiceLucene;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pesquisa livre: like '%x%' em nome, descrição, código, marca e categoria contra o índice do
+ * Lucene. O like só encontra o termo exato; o Lucene também tolera erro de digitação e ranqueia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PesquisaLuceneBenchmark {
+
+    private static final int LIMITE = 20;
+
+    @Param({"100000"})
+    private int produtos;
+
+    @Param({"marca 42", "produto 4242"})
+    private String termo;
+
+    private ConfigurableApplicationContext contexto;
+    private JdbcTemplate jdbc;
+    private IndiceLucene indiceLucene;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        ContextoBenchmark.popularCatalogo(contexto, produtos);
+        jdbc = contexto.getBean(JdbcTemplate.class);
+        indiceLucene = contexto.getBean(IndiceLucene.class);
+        indiceLucene.reconstruir().join();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Long> like() {
+        String padrao = "%" + termo.toUpperCase() + "%";
+        return jdbc.queryForList("select p.id from tb_produtos p "
+                        + "left join tb_marcas m on m.id = p.marca_id "
+                        + "left join tb_categorias c on c.id = p.categoria_id "
+                        + "where upper(p.nome) like ? or upper(p.descricao) like ? or upper(p.codigo) like ? "
+                        + "or upper(m.nome) like ? or upper(c.nome) like ? order by p.id limit " + LIMITE,
+                Long.class, padrao, padrao, padrao, padrao, padrao);
+    }
+
+    @Benchmark
+    public List<Long> lucene() {
+        return indiceLucene.pesquisar(termo, LIMITE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PesquisaLuceneBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
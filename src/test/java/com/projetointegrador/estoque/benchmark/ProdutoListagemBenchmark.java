@@ -0,0 +1,91 @@
+package com.projetointegrador.estoque.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetointegrador.estoque.dto.ProdutoDTO;
+import com.projetointegrador.estoque.model.Produto;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a listagem antiga (entidades completas + ProdutoDTO com as referências embutidas)
+ * com a projeção em ProdutoListagemDTO, incluindo a serialização JSON da resposta.
+ * Rode pelo main com o profiler de GC para ver a alocação por operação (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProdutoListagemBenchmark {
+
+    @Param({"10000"})
+    private int produtos;
+
+    private ConfigurableApplicationContext contexto;
+    private ProdutoRepository produtoRepository;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        ContextoBenchmark.popularCatalogo(contexto, produtos);
+        produtoRepository = contexto.getBean(ProdutoRepository.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] entidades() throws Exception {
+        List<ProdutoDTO> dtos = produtoRepository.findAll()
+                .stream()
+                .map(ProdutoListagemBenchmark::mapearEntidade)
+                .toList();
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] projecao() throws Exception {
+        return objectMapper.writeValueAsBytes(produtoRepository.listarProjetado());
+    }
+
+    private static ProdutoDTO mapearEntidade(Produto produto) {
+        return new ProdutoDTO(
+                produto.getId(),
+                produto.getNome(),
+                produto.getDescricao(),
+                produto.getValor(),
+                produto.getQuantidade(),
+                produto.isDisponivel(),
+                produto.getUnidadeMedida(),
+                produto.getCodigo(),
+                produto.getEstoqueMinimo(),
+                produto.getEstoqueMaximo(),
+                produto.getDataValidade(),
+                produto.getDataEntrada(),
+                produto.getDataSaida(),
+                produto.getCategoria(),
+                produto.getMarca(),
+                produto.getFornecedor()
+        );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProdutoListagemBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
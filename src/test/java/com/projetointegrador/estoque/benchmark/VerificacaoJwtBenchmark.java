@@ -0,0 +1,78 @@
+package com.projetointegrador.estoque.benchmark;
+
+import com.projetointegrador.estoque.enums.Role;
+import com.projetointegrador.estoque.security.JwtService;
+import com.projetointegrador.estoque.security.TokenVerificado;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do JWT por requisição autenticada: o caminho antigo, que decodificava a chave e verificava
+ * o token três vezes, contra uma verificação só com chave e parser prontos, e contra o
+ * JwtService, que na segunda requisição com o mesmo token só calcula o SHA-256.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerificacaoJwtBenchmark {
+
+    private static final String SEGREDO = "dGhpc2lzYXZlcnlsb25nc2VjcmV0a2V5Zm9ydGVzdGluZ3B1cnBvc2VzMTIzNDU2Nzg5MA==";
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        jwtService = new JwtService(SEGREDO, 10_000);
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SEGREDO))).build();
+        token = jwtService.generateToken("admin@email.com", Set.of(Role.ADMIN));
+    }
+
+    @Benchmark
+    public void tresVerificacoes(Blackhole bh) {
+        bh.consume(Jwts.parserBuilder().setSigningKey(chave()).build().parseClaimsJws(token).getBody().getSubject());
+        bh.consume(Jwts.parserBuilder().setSigningKey(chave()).build().parseClaimsJws(token).getBody().get("roles", List.class));
+        bh.consume(Jwts.parserBuilder().setSigningKey(chave()).build().parseClaimsJws(token).getBody().getExpiration()
+                .before(new Date()));
+    }
+
+    @Benchmark
+    public Claims verificacaoUnica() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public TokenVerificado jwtService() {
+        return jwtService.verificar(token);
+    }
+
+    private static Key chave() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SEGREDO));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VerificacaoJwtBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
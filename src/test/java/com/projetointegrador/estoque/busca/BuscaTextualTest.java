@@ -0,0 +1,27 @@
+package com.projetointegrador.estoque.busca;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BuscaTextualTest {
+
+    @Test
+    void identificar_DeveSepararOsBancosComIndiceTextual() {
+        assertEquals(BuscaTextual.Banco.POSTGRES, BuscaTextual.identificar(new PostgreSQLDialect()));
+        assertEquals(BuscaTextual.Banco.MYSQL, BuscaTextual.identificar(new MySQLDialect()));
+        assertEquals(BuscaTextual.Banco.OUTRO, BuscaTextual.identificar(new MariaDBDialect()));
+        assertEquals(BuscaTextual.Banco.OUTRO, BuscaTextual.identificar(new H2Dialect()));
+    }
+
+    @Test
+    void fraseBooleana_DeveExigirCadaTrechoComoFraseEIgnorarTrechosCurtos() {
+        assertEquals("+\"arroz\" +\"5kg\"", BuscaTextual.fraseBooleana("arroz a 5kg"));
+        assertEquals("+\"abc\" +\"def\"", BuscaTextual.fraseBooleana("abc\"def"));
+        assertEquals("", BuscaTextual.fraseBooleana(" x "));
+    }
+}
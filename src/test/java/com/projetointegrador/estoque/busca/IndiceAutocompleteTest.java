@@ -0,0 +1,76 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.NomeIndexavelDTO;
+import com.projetointegrador.estoque.dto.SugestaoDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.CategoriaRepository;
+import com.projetointegrador.estoque.repository.FornecedorRepository;
+import com.projetointegrador.estoque.repository.MarcaRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndiceAutocompleteTest {
+
+    private MarcaRepository marcaRepository;
+    private VersaoTabelaRepository versaoTabelaRepository;
+    private IndiceAutocomplete indice;
+
+    @BeforeEach
+    void setup() {
+        marcaRepository = mock(MarcaRepository.class);
+        versaoTabelaRepository = mock(VersaoTabelaRepository.class);
+        indice = new IndiceAutocomplete(mock(IndiceProduto.class), marcaRepository, mock(CategoriaRepository.class),
+                mock(FornecedorRepository.class), versaoTabelaRepository, Duration.ZERO);
+    }
+
+    @AfterEach
+    void encerrar() {
+        indice.encerrar();
+    }
+
+    private List<String> nomes(String termo) {
+        return indice.sugerir(termo, 10).stream().map(SugestaoDTO::nome).toList();
+    }
+
+    @Test
+    void sugerir_NaoDeveEsperarARecargaDeUmaEscritaDeOutraInstancia() throws Exception {
+        when(marcaRepository.listarNomes()).thenReturn(List.of(new NomeIndexavelDTO(1L, "Nike")));
+        indice.carregar();
+
+        CountDownLatch liberarRecarga = new CountDownLatch(1);
+        when(versaoTabelaRepository.findAllById(any()))
+                .thenReturn(List.of(new VersaoTabela(TabelaVersionada.MARCAS.name(), 2L, 0L)));
+        when(marcaRepository.listarNomes()).thenAnswer(invocacao -> {
+            liberarRecarga.await(5, TimeUnit.SECONDS);
+            return List.of(new NomeIndexavelDTO(1L, "Nike"), new NomeIndexavelDTO(2L, "Nivea"));
+        });
+
+        // A recarga fica presa no banco; as teclas seguem com o índice já publicado.
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertEquals(List.of("Nike"), nomes("ni"));
+            assertEquals(List.of("Nike"), nomes("ni"));
+        });
+
+        liberarRecarga.countDown();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (nomes("ni").size() < 2 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(nomes("ni").contains("Nivea"));
+    }
+}
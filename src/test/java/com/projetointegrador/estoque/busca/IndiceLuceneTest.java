@@ -0,0 +1,73 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.ProdutoDocumentoDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.ProdutoRemovidoRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndiceLuceneTest {
+
+    private ProdutoRepository produtoRepository;
+    private VersaoTabelaRepository versaoTabelaRepository;
+    private IndiceLucene indice;
+
+    @BeforeEach
+    void setup() {
+        produtoRepository = mock(ProdutoRepository.class);
+        versaoTabelaRepository = mock(VersaoTabelaRepository.class);
+        indice = new IndiceLucene(produtoRepository, mock(ProdutoRemovidoRepository.class), versaoTabelaRepository,
+                "", 1, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void fechar() throws Exception {
+        indice.fechar();
+    }
+
+    private void versao(long versao) {
+        when(versaoTabelaRepository.findById(TabelaVersionada.PRODUTOS.name()))
+                .thenReturn(Optional.of(new VersaoTabela(TabelaVersionada.PRODUTOS.name(), versao, 0L)));
+    }
+
+    @Test
+    void reconstruir_QuandoUmaFaixaFalha_NaoDevePublicarOIndiceParcial() {
+        versao(1);
+        when(produtoRepository.buscarMaiorId()).thenReturn(2L);
+        when(produtoRepository.buscarDocumentosEntre(anyLong(), anyLong(), any()))
+                .thenReturn(List.of(new ProdutoDocumentoDTO(1L, "Arroz Integral", null, "ARZ-1", null, null)));
+        assertEquals(1, indice.reconstruir().join());
+
+        when(produtoRepository.buscarDocumentosEntre(anyLong(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("conexão perdida"));
+        assertThrows(CompletionException.class, () -> indice.reconstruir().join());
+        assertEquals(List.of(1L), indice.pesquisar("arroz", 10));
+
+        // Uma escrita qualquer depois da falha refaz o índice inteiro, em vez de aplicar só a diferença.
+        versao(2);
+        doReturn(List.of(new ProdutoDocumentoDTO(1L, "Arroz Integral", null, "ARZ-1", null, null)))
+                .when(produtoRepository).buscarDocumentosEntre(anyLong(), anyLong(), any());
+        indice.aoAlterarTabelas(new TabelasAlteradasEvent(Set.of(TabelaVersionada.PRODUTOS)));
+        indice.aguardarIndexacao();
+        assertEquals(List.of(1L), indice.pesquisar("arroz", 10));
+    }
+}
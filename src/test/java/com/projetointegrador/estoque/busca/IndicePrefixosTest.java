@@ -0,0 +1,46 @@
+package com.projetointegrador.estoque.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IndicePrefixosTest {
+
+    private IndicePrefixos indice;
+
+    @BeforeEach
+    void setup() {
+        indice = new IndicePrefixos();
+        indice.adicionar(1, "Arroz Integral", "arroz integral");
+        indice.adicionar(2, "Arroz", "arroz");
+        indice.adicionar(3, "Feijão", "feijão");
+        indice.adicionar(4, "ARROZ", "arroz");
+    }
+
+    private List<Long> coletar(String prefixo, int limite) {
+        List<IndicePrefixos.Entrada> entradas = new ArrayList<>();
+        indice.coletar(prefixo, limite, entradas);
+        return entradas.stream().map(IndicePrefixos.Entrada::id).toList();
+    }
+
+    @Test
+    void coletar_DeveRetornarEmOrdemAlfabeticaAteOLimite() {
+        assertEquals(List.of(2L, 4L, 1L), coletar("arr", 10));
+        assertEquals(List.of(2L, 4L), coletar("arr", 2));
+        assertEquals(List.of(), coletar("b", 10));
+    }
+
+    @Test
+    void adicionar_ComIdExistente_DeveSubstituirONomeAnterior() {
+        indice.adicionar(1, "Feijoada", "feijoada");
+        indice.remover(3);
+
+        assertEquals(List.of(2L, 4L), coletar("arroz", 10));
+        assertEquals(List.of(1L), coletar("fei", 10));
+        assertEquals(3, indice.tamanho());
+    }
+}
@@ -0,0 +1,74 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.ProdutoIndexavelDTO;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.ProdutoRemovidoRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndiceProdutoTest {
+
+    private ProdutoRepository produtoRepository;
+    private VersaoTabelaRepository versaoTabelaRepository;
+    private IndiceProduto indice;
+
+    @BeforeEach
+    void setup() {
+        produtoRepository = mock(ProdutoRepository.class);
+        versaoTabelaRepository = mock(VersaoTabelaRepository.class);
+        indice = new IndiceProduto(produtoRepository, mock(ProdutoRemovidoRepository.class),
+                versaoTabelaRepository, Duration.ofHours(1));
+    }
+
+    private Optional<VersaoTabela> versao(long versao) {
+        return Optional.of(new VersaoTabela(TabelaVersionada.PRODUTOS.name(), versao, 0L));
+    }
+
+    @Test
+    void sincronizar_DeveAplicarAsAlteracoesDesdeAUltimaVersao() {
+        when(versaoTabelaRepository.findById(TabelaVersionada.PRODUTOS.name())).thenReturn(versao(1), versao(2));
+        when(produtoRepository.buscarIndexaveisAlterados(-1L, 1L))
+                .thenReturn(List.of(new ProdutoIndexavelDTO(1L, "Arroz Integral", "ARZ-1")));
+        when(produtoRepository.buscarIndexaveisAlterados(1L, 2L))
+                .thenReturn(List.of(new ProdutoIndexavelDTO(1L, "Feijão Preto", "ARZ-1")));
+
+        indice.sincronizar();
+        assertEquals(List.of(1L), indice.buscarPorNome("arroz"));
+
+        indice.sincronizar();
+        assertEquals(List.of(), indice.buscarPorNome("arroz"));
+        assertEquals(List.of(1L), indice.buscarPorNome("feijao"));
+    }
+
+    @Test
+    void sincronizar_NaoDeveBloquearAsBuscasEnquantoConsultaOBanco() {
+        when(versaoTabelaRepository.findById(TabelaVersionada.PRODUTOS.name())).thenReturn(versao(1), versao(2));
+        when(produtoRepository.buscarIndexaveisAlterados(-1L, 1L))
+                .thenReturn(List.of(new ProdutoIndexavelDTO(1L, "Arroz Integral", "ARZ-1")));
+        indice.sincronizar();
+
+        // A busca roda em outra thread no meio da consulta; com a escrita travada ela não terminaria.
+        when(produtoRepository.buscarIndexaveisAlterados(1L, 2L)).thenAnswer(invocacao -> {
+            List<Long> encontrados = CompletableFuture.supplyAsync(() -> indice.buscarPorNome("arroz"))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(1L), encontrados);
+            return List.of(new ProdutoIndexavelDTO(2L, "Arroz Parboilizado", "ARZ-2"));
+        });
+        indice.sincronizar();
+
+        assertEquals(List.of(1L, 2L), indice.buscarPorNome("arroz"));
+    }
+}
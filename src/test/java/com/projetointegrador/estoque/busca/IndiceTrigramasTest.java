@@ -0,0 +1,43 @@
+package com.projetointegrador.estoque.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class IndiceTrigramasTest {
+
+    private IndiceTrigramas indice;
+
+    @BeforeEach
+    void setup() {
+        indice = new IndiceTrigramas();
+        indice.adicionar(0, "arroz integral");
+        indice.adicionar(1, "feijão carioca");
+        indice.adicionar(2, "arroz parboilizado");
+        indice.adicionar(3, null);
+        indice.adicionar(4, "abcxbcd");
+    }
+
+    @Test
+    void buscar_DeveRetornarDocumentosQueContemOTrecho() {
+        assertArrayEquals(new int[]{0, 2}, indice.buscar("arroz", documento -> true));
+        assertArrayEquals(new int[]{1}, indice.buscar("ão car", documento -> true));
+        assertArrayEquals(new int[0], indice.buscar("macarrão", documento -> true));
+    }
+
+    @Test
+    void buscar_ComTrigramasPresentesForaDeOrdem_NaoDeveRetornarFalsoPositivo() {
+        assertArrayEquals(new int[0], indice.buscar("abcd", documento -> true));
+    }
+
+    @Test
+    void buscar_ComTermoCurto_DeveVarrerOsTextos() {
+        assertArrayEquals(new int[]{0, 2}, indice.buscar("rr", documento -> true));
+    }
+
+    @Test
+    void buscar_DeveIgnorarDocumentosInativos() {
+        assertArrayEquals(new int[]{2}, indice.buscar("arroz", documento -> documento != 0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.projetointegrador.estoque.busca;
+
+import com.projetointegrador.estoque.dto.EstatisticasBuscaDTO;
+import com.projetointegrador.estoque.dto.TelemetriaBuscaDTO;
+import com.projetointegrador.estoque.dto.TermoPesadoDTO;
+import com.projetointegrador.estoque.enums.OperacaoBusca;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TelemetriaBuscaTest {
+
+    private TelemetriaBusca telemetria;
+
+    @BeforeEach
+    void setup() {
+        telemetria = new TelemetriaBusca(Duration.ofMillis(100));
+    }
+
+    private EstatisticasBuscaDTO estatisticas(TelemetriaBuscaDTO relatorio, OperacaoBusca operacao) {
+        return relatorio.operacoes().stream()
+                .filter(estatisticas -> estatisticas.operacao() == operacao)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void relatorio_DeveResumirLatenciaEResultadosPorOperacao() {
+        for (int i = 0; i < 99; i++) {
+            telemetria.registrar(OperacaoBusca.MARCA_NOME, "nike", 1_000, 2);
+        }
+        telemetria.registrar(OperacaoBusca.MARCA_NOME, "a", 150_000, 40);
+
+        TelemetriaBuscaDTO relatorio = telemetria.relatorio();
+        EstatisticasBuscaDTO marcas = estatisticas(relatorio, OperacaoBusca.MARCA_NOME);
+
+        assertEquals(100, marcas.buscas());
+        // 1 ms cai na faixa de 2^10 us.
+        assertEquals(1.024, marcas.latenciaP50Ms());
+        assertEquals(1.024, marcas.latenciaP99Ms());
+        assertEquals(150, marcas.latenciaMaximaMs());
+        assertEquals(40, marcas.resultadosMaximo());
+        assertEquals(0, estatisticas(relatorio, OperacaoBusca.PRODUTO_NOME).buscas());
+
+        assertEquals(1, relatorio.buscasLentas().size());
+        assertEquals("a", relatorio.buscasLentas().get(0).termo());
+    }
+
+    @Test
+    void relatorio_DeveManterOsTermosMaisPesadosComMemoriaLimitada() {
+        telemetria.registrar(OperacaoBusca.PRODUTO_NOME, "Açúcar", 50_000, 10);
+        telemetria.registrar(OperacaoBusca.PRODUTO_NOME, "ACUCAR", 50_000, 12);
+        for (int i = 0; i < 1_000; i++) {
+            telemetria.registrar(OperacaoBusca.PRODUTO_NOME, "termo " + i, 10, 1);
+        }
+
+        List<TermoPesadoDTO> termos = estatisticas(telemetria.relatorio(), OperacaoBusca.PRODUTO_NOME).termosPesados();
+
+        assertEquals(10, termos.size());
+        assertEquals("acucar", termos.get(0).termo());
+        assertEquals(2, termos.get(0).buscas());
+        assertEquals(100, termos.get(0).tempoTotalMs());
+        assertEquals(12, termos.get(0).resultadosMaximo());
+    }
+}
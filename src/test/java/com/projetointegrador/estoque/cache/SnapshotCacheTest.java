@@ -0,0 +1,124 @@
+package com.projetointegrador.estoque.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetointegrador.estoque.dto.CategoriaDTO;
+import com.projetointegrador.estoque.enums.FormatoCatalogo;
+import com.projetointegrador.estoque.enums.SnapshotCatalogo;
+import com.projetointegrador.estoque.service.CategoriaService;
+import com.projetointegrador.estoque.service.MarcaService;
+import com.projetointegrador.estoque.service.ProdutoService;
+import com.projetointegrador.estoque.service.SerializadorCatalogo;
+import com.projetointegrador.estoque.service.VersaoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SnapshotCacheTest {
+
+    @Mock
+    private VersaoService versaoService;
+
+    @Mock
+    private ProdutoService produtoService;
+
+    @Mock
+    private CategoriaService categoriaService;
+
+    @Mock
+    private MarcaService marcaService;
+
+    private ExecutorService executor;
+    private SnapshotCache snapshotCache;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newCachedThreadPool();
+        snapshotCache = new SnapshotCache(versaoService, new SerializadorCatalogo(new ObjectMapper()), executor,
+                produtoService, categoriaService, marcaService, true);
+    }
+
+    @AfterEach
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void obter_ComLeiturasSimultaneasDuranteReconstrucao_DeveConsultarUmaUnicaVez() throws Exception {
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        when(categoriaService.listarTodas()).thenAnswer(invocacao -> {
+            liberarConsulta.await(5, TimeUnit.SECONDS);
+            return List.of(new CategoriaDTO(1L, "Bebidas"));
+        });
+
+        List<Future<SnapshotSerializado>> leituras = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            leituras.add(executor.submit(() -> snapshotCache.obter(SnapshotCatalogo.CATEGORIAS, FormatoCatalogo.JSON, "\"1\"")));
+        }
+        Thread.sleep(200);
+        liberarConsulta.countDown();
+
+        SnapshotSerializado primeiro = leituras.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<SnapshotSerializado> leitura : leituras) {
+            assertSame(primeiro, leitura.get(5, TimeUnit.SECONDS));
+        }
+        verify(categoriaService, times(1)).listarTodas();
+        assertEquals("[{\"id\":1,\"nome\":\"Bebidas\"}]", new String(primeiro.bruto()));
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(primeiro.gzip()))) {
+            assertArrayEquals(primeiro.bruto(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void obter_QuandoVersaoMuda_DeveReconstruirSnapshot() {
+        when(marcaService.listarTodas()).thenReturn(List.of(), List.of());
+
+        SnapshotSerializado original = snapshotCache.obter(SnapshotCatalogo.MARCAS, FormatoCatalogo.JSON, "\"1\"");
+
+        assertSame(original, snapshotCache.obter(SnapshotCatalogo.MARCAS, FormatoCatalogo.JSON, "\"1\""));
+        assertNotSame(original, snapshotCache.obter(SnapshotCatalogo.MARCAS, FormatoCatalogo.JSON, "\"2\""));
+        verify(marcaService, times(2)).listarTodas();
+    }
+
+    @Test
+    void obter_QuandoReconstrucaoAntigaTerminaDepois_DeveManterSnapshotMaisNovo() throws Exception {
+        CountDownLatch liberarVersao1 = new CountDownLatch(1);
+        CountDownLatch liberarVersao3 = new CountDownLatch(1);
+        when(marcaService.listarTodas()).thenAnswer(invocacao -> {
+            liberarVersao1.await(5, TimeUnit.SECONDS);
+            return List.of();
+        }).thenReturn(List.of()).thenAnswer(invocacao -> {
+            liberarVersao3.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        Future<SnapshotSerializado> versao1 = executor.submit(
+                () -> snapshotCache.obter(SnapshotCatalogo.MARCAS, FormatoCatalogo.JSON, "\"1\""));
+        verify(marcaService, timeout(5000).times(1)).listarTodas();
+        SnapshotSerializado versao2 = snapshotCache.obter(SnapshotCatalogo.MARCAS, FormatoCatalogo.JSON, "\"2\"");
+        Future<SnapshotSerializado> versao3 = executor.submit(
+                () -> snapshotCache.obter(SnapshotCatalogo.MARCAS, FormatoCatalogo.JSON, "\"3\""));
+        verify(marcaService, timeout(5000).times(3)).listarTodas();
+
+        liberarVersao1.countDown();
+        versao1.get(5, TimeUnit.SECONDS);
+
+        assertSame(versao2, snapshotCache.obter(SnapshotCatalogo.MARCAS, FormatoCatalogo.JSON, "\"2\""));
+        verify(marcaService, times(3)).listarTodas();
+
+        liberarVersao3.countDown();
+        versao3.get(5, TimeUnit.SECONDS);
+    }
+}
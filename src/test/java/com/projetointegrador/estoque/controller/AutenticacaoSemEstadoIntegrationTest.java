@@ -0,0 +1,115 @@
+package com.projetointegrador.estoque.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetointegrador.estoque.dto.UsuarioDTO;
+import com.projetointegrador.estoque.dto.UsuarioLoginDTO;
+import com.projetointegrador.estoque.enums.Role;
+import com.projetointegrador.estoque.model.Usuario;
+import com.projetointegrador.estoque.repository.UsuarioRepository;
+import com.projetointegrador.estoque.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application.properties", properties = "estoque.seguranca.sem-estado=true")
+class AutenticacaoSemEstadoIntegrationTest {
+
+    private static final String EMAIL = "maria@exemplo.com";
+    private static final String SENHA = "senha12345";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuarioRepository.deleteAll();
+
+        usuario = new Usuario();
+        usuario.setNome("Maria");
+        usuario.setEmail(EMAIL);
+        usuario.setSenha(passwordEncoder.encode(SENHA));
+        usuario.setRoles(Set.of(Role.USER));
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    private String logar(String senha) throws Exception {
+        MvcResult result = mockMvc.perform(post("/usuarios/logar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UsuarioLoginDTO(EMAIL, senha))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), UsuarioDTO.class).token();
+    }
+
+    @Test
+    void requisicaoAutenticada_NaoDeveConsultarOUsuario() throws Exception {
+        String token = logar(SENHA);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/categorias/all").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        assertEquals(0, statistics.getEntityStatistics(Usuario.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void alterarSenha_DeveRevogarTokensEmitidosAntes() throws Exception {
+        String tokenAntigo = logar(SENHA);
+
+        Usuario alteracao = new Usuario(usuario.getId(), "Maria", EMAIL, "novaSenha123", null);
+        mockMvc.perform(put("/usuarios/atualizar")
+                        .header("Authorization", tokenAntigo)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alteracao)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/categorias/all").header("Authorization", tokenAntigo))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/categorias/all").header("Authorization", logar("novaSenha123")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tokenSemVersao_DeveSerRecusado() throws Exception {
+        String token = jwtService.generateToken(EMAIL, Set.of(Role.USER));
+
+        mockMvc.perform(get("/categorias/all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+}
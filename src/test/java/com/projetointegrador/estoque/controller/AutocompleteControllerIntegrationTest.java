@@ -0,0 +1,155 @@
+package com.projetointegrador.estoque.controller;
+
+import com.projetointegrador.estoque.enums.Role;
+import com.projetointegrador.estoque.model.Categoria;
+import com.projetointegrador.estoque.model.Fornecedor;
+import com.projetointegrador.estoque.model.Marca;
+import com.projetointegrador.estoque.model.Produto;
+import com.projetointegrador.estoque.model.Usuario;
+import com.projetointegrador.estoque.repository.CategoriaRepository;
+import com.projetointegrador.estoque.repository.FornecedorRepository;
+import com.projetointegrador.estoque.repository.MarcaRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.repository.UsuarioRepository;
+import com.projetointegrador.estoque.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application.properties")
+class AutocompleteControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private MarcaRepository marcaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Value("${admin.name}")
+    private String adminName;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    private Marca marca;
+
+    @BeforeEach
+    void setup() {
+        usuarioRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        marcaRepository.deleteAll();
+        fornecedorRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome(adminName);
+        usuario.setEmail(adminEmail);
+        usuario.setSenha(passwordEncoder.encode(adminPassword));
+        usuario.setRoles(Set.of(Role.ADMIN));
+        usuarioRepository.save(usuario);
+
+        Categoria categoria = categoriaRepository.save(Categoria.builder().nome("Arroz").build());
+        marca = marcaRepository.save(Marca.builder().nome("Arroz Tio João").build());
+        Fornecedor fornecedor = fornecedorRepository.save(Fornecedor.builder()
+                .nome("Arrozeira Sul")
+                .cnpj("11111111000111")
+                .build());
+        for (String nome : new String[]{"Arroz Integral 1kg", "Feijão Carioca"}) {
+            produtoRepository.save(Produto.builder()
+                    .nome(nome)
+                    .valor(BigDecimal.TEN)
+                    .categoria(categoria)
+                    .marca(marca)
+                    .fornecedor(fornecedor)
+                    .build());
+        }
+    }
+
+    private String gerarToken() {
+        return jwtService.generateToken(adminEmail, Set.of(Role.ADMIN));
+    }
+
+    @Test
+    void sugerir_DeveRanquearExatoPrimeiroEDepoisOsNomesMaisCurtos() throws Exception {
+        mockMvc.perform(get("/autocomplete")
+                        .param("q", "ARROZ")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].tipo").value("CATEGORIA"))
+                .andExpect(jsonPath("$[0].nome").value("Arroz"))
+                .andExpect(jsonPath("$[1].nome").value("Arrozeira Sul"))
+                .andExpect(jsonPath("$[2].nome").value("Arroz Tio João"))
+                .andExpect(jsonPath("$[3].tipo").value("PRODUTO"));
+
+        mockMvc.perform(get("/autocomplete")
+                        .param("q", "arroz")
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void sugerir_DeveRefletirAlteracoesFeitasPelasEscritas() throws Exception {
+        mockMvc.perform(put("/marcas/" + marca.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Camil\"}")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/autocomplete")
+                        .param("q", "cam")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].tipo").value("MARCA"))
+                .andExpect(jsonPath("$[0].id").value(marca.getId()));
+    }
+
+    @Test
+    void sugerir_ComLimiteAcimaDoMaximo_DeveRetornarBadRequest() throws Exception {
+        mockMvc.perform(get("/autocomplete")
+                        .param("q", "a")
+                        .param("limit", "21")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isBadRequest());
+    }
+}
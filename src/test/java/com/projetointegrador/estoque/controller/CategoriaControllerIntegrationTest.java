@@ -1,11 +1,17 @@
 package com.projetointegrador.estoque.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetointegrador.estoque.busca.NormalizacaoColunas;
+import com.projetointegrador.estoque.configuration.CacheSegundoNivelConfig;
 import com.projetointegrador.estoque.dto.CategoriaDTO;
 import com.projetointegrador.estoque.enums.Role;
 import com.projetointegrador.estoque.model.Usuario;
+import com.projetointegrador.estoque.repository.CategoriaRepository;
 import com.projetointegrador.estoque.repository.UsuarioRepository;
 import com.projetointegrador.estoque.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +19,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +30,9 @@ import org.springframework.test.web.servlet.MvcResult;
 import java.util.List;
 import java.util.Set;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,6 +56,18 @@ class CategoriaControllerIntegrationTest {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NormalizacaoColunas normalizacaoColunas;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Value("${admin.name}")
     private String adminName;
 
@@ -84,6 +106,26 @@ class CategoriaControllerIntegrationTest {
         return objectMapper.readValue(result.getResponse().getContentAsString(), CategoriaDTO.class);
     }
 
+    @Test
+    void cacheSegundoNivel_DeveServirCategoriaPorIdEBuscaPorNomeSemConsultarOBanco() throws Exception {
+        CategoriaDTO categoria = cadastrarCategoria("Hortifruti");
+        categoriaRepository.findById(categoria.id());
+        categoriaRepository.findByNomeIgnoreCase("hortifruti");
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        assertTrue(categoriaRepository.findById(categoria.id()).isPresent());
+        assertEquals("Hortifruti", categoriaRepository.findByNomeIgnoreCase("hortifruti").orElseThrow().getNome());
+
+        assertTrue(estatisticas.getDomainDataRegionStatistics(CacheSegundoNivelConfig.REGIAO_CATEGORIAS).getHitCount() > 0);
+        assertTrue(estatisticas.getQueryCacheHitCount() > 0);
+
+        mockMvc.perform(get("/admin/cache/hibernate")
+                        .header("Authorization", "Bearer " + gerarTokenAutenticado()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.regiao == 'categorias' && @.acertos > 0)]").isNotEmpty());
+    }
+
     @Test
     void listarTodas_DeveRetornarStatusOk() throws Exception {
         String token = gerarTokenAutenticado();
@@ -93,6 +135,31 @@ class CategoriaControllerIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void listarTodas_ComEtagAtual_DeveResponderNotModifiedAteNovaAlteracao() throws Exception {
+        String token = gerarTokenAutenticado();
+
+        String etag = mockMvc.perform(get("/categorias/all")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/categorias/all")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        cadastrarCategoria("Categoria Etag");
+
+        mockMvc.perform(get("/categorias/all")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
     @Test
     void cadastrar_DeveRetornarStatusCreated() throws Exception {
         String token = gerarTokenAutenticado();
@@ -128,6 +195,44 @@ class CategoriaControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].nome").value("Esportes"));
     }
 
+    @Test
+    void buscarPorNome_DeveIgnorarAcentosECaixaInclusiveAposRenomear() throws Exception {
+        String token = gerarTokenAutenticado();
+        CategoriaDTO categoria = cadastrarCategoria("Açúcar e Adoçantes");
+
+        mockMvc.perform(get("/categorias/buscar/ACUCAR")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Açúcar e Adoçantes"));
+
+        mockMvc.perform(put("/categorias/" + categoria.id())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CategoriaDTO(null, "Cafés Especiais"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/categorias/buscar/cafe")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(categoria.id()));
+        mockMvc.perform(get("/categorias/buscar/adocantes")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void preencherNomesNormalizados_DeveCobrirLinhasGravadasSemAColuna() throws Exception {
+        jdbcTemplate.update("insert into tb_categorias (nome) values (?)", "Higiene Ótima");
+
+        normalizacaoColunas.preencher();
+
+        mockMvc.perform(get("/categorias/buscar/otima")
+                        .header("Authorization", "Bearer " + gerarTokenAutenticado()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Higiene Ótima"));
+    }
+
     @Test
     void atualizar_DeveRetornarCategoriaAtualizada() throws Exception {
         String token = gerarTokenAutenticado();
@@ -135,6 +135,69 @@ class FornecedorControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].nome").value("Fornecedor ABC"));
     }
 
+    @Test
+    void buscarPorCNPJ_DeveAceitarPrefixoFormatadoEIgnorarTrechosDoMeio() throws Exception {
+        String token = gerarTokenAutenticado();
+        cadastrarFornecedor("Fornecedor Prefixo", "11222333000181", "forprefixo@email.com", "11944444444", "Rua F, 303");
+
+        mockMvc.perform(get("/fornecedores/buscar/cnpj/11.222.333")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Fornecedor Prefixo"));
+        mockMvc.perform(get("/fornecedores/buscar/cnpj/222333")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/fornecedores/buscar/cnpj/abc")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void resolverCNPJs_DeveIndicarValidadeEFornecedorDeCadaCNPJ() throws Exception {
+        String token = gerarTokenAutenticado();
+        cadastrarFornecedor("Fornecedor Importado", "11444777000161", "forimportado@email.com", "11933333333", "Rua G, 404");
+
+        mockMvc.perform(post("/fornecedores/cnpj/resolver")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"11.444.777/0001-61\", \"33445566000186\", \"11444777000162\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].cnpj").value("11.444.777/0001-61"))
+                .andExpect(jsonPath("$[0].fornecedor.nome").value("Fornecedor Importado"))
+                .andExpect(jsonPath("$[1].valido").value(true))
+                .andExpect(jsonPath("$[1].fornecedor").doesNotExist())
+                .andExpect(jsonPath("$[2].valido").value(false));
+    }
+
+    @Test
+    void buscarCamposPorCNPJ_DeveRetornarApenasOsCamposSolicitados() throws Exception {
+        String token = gerarTokenAutenticado();
+        cadastrarFornecedor("Fornecedor Campos", "70707070000170", "forcampos@email.com", "11955555555", "Rua E, 202");
+
+        mockMvc.perform(get("/fornecedores/buscar/cnpj/70707070")
+                        .param("fields", "nome,cnpj")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Fornecedor Campos"))
+                .andExpect(jsonPath("$[0].cnpj").value("70707070000170"))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+
+    @Test
+    void buscarCamposPorId_ComCampoInexistente_DeveRetornarBadRequest() throws Exception {
+        String token = gerarTokenAutenticado();
+        FornecedorDTO fornecedor = cadastrarFornecedor("Fornecedor W", "80808080000180", "forw@email.com", "11944444444", "Rua F, 303");
+
+        mockMvc.perform(get("/fornecedores/" + fornecedor.id())
+                        .param("fields", "nome,produtos")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void atualizar_DeveRetornarFornecedorAtualizado() throws Exception {
         String token = gerarTokenAutenticado();
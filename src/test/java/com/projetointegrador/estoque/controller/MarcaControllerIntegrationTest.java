@@ -18,8 +18,14 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -86,6 +92,42 @@ class MarcaControllerIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void listarTodas_AposCadastro_DeveRefletirNovaMarca() throws Exception {
+        String token = gerarToken();
+        mockMvc.perform(get("/marcas/all")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        cadastrarMarca("Marca Snapshot");
+
+        mockMvc.perform(get("/marcas/all")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[?(@.nome == 'Marca Snapshot')]").exists());
+    }
+
+    @Test
+    void listarTodas_ComAcceptEncodingGzip_DeveRetornarCorpoComprimido() throws Exception {
+        String token = gerarToken();
+        cadastrarMarca("Marca Comprimida");
+
+        MvcResult resultado = mockMvc.perform(get("/marcas/all")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("Accept-Encoding"))))
+                .andReturn();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(resultado.getResponse().getContentAsByteArray()))) {
+            String json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("Marca Comprimida"));
+        }
+    }
+
     @Test
     void cadastrar_DeveRetornarStatusCreated() throws Exception {
         String token = gerarToken();
@@ -1,35 +1,70 @@
 package com.projetointegrador.estoque.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetointegrador.estoque.busca.IndiceLucene;
+import com.projetointegrador.estoque.busca.IndiceProduto;
+import com.projetointegrador.estoque.cache.SnapshotCache;
 import com.projetointegrador.estoque.dto.CategoriaDTO;
 import com.projetointegrador.estoque.dto.ProdutoDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.FormatoCatalogo;
+import com.projetointegrador.estoque.enums.FormatoExportacao;
 import com.projetointegrador.estoque.enums.Role;
+import com.projetointegrador.estoque.enums.SnapshotCatalogo;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
 import com.projetointegrador.estoque.enums.UnidadeMedida;
 import com.projetointegrador.estoque.model.Categoria;
 import com.projetointegrador.estoque.model.Fornecedor;
 import com.projetointegrador.estoque.model.Marca;
+import com.projetointegrador.estoque.model.Produto;
 import com.projetointegrador.estoque.model.Usuario;
+import com.projetointegrador.estoque.protobuf.ProdutoListagemLista;
 import com.projetointegrador.estoque.repository.CategoriaRepository;
 import com.projetointegrador.estoque.repository.FornecedorRepository;
 import com.projetointegrador.estoque.repository.MarcaRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
 import com.projetointegrador.estoque.repository.UsuarioRepository;
 import com.projetointegrador.estoque.security.JwtService;
+import com.projetointegrador.estoque.service.ProdutoExportacaoService;
+import com.projetointegrador.estoque.service.ProdutoService;
+import com.projetointegrador.estoque.service.SerializadorCatalogo;
+import com.projetointegrador.estoque.service.VersaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -62,6 +97,40 @@ class ProdutoControllerIntegrationTest {
     @Autowired
     private FornecedorRepository fornecedorRepository;
 
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private IndiceProduto indiceProduto;
+
+    @Autowired
+    private ProdutoExportacaoService produtoExportacaoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SerializadorCatalogo serializadorCatalogo;
+
+    @Autowired
+    private SnapshotCache snapshotCache;
+
+    @Autowired
+    private IndiceLucene indiceLucene;
+
+    @Autowired
+    private VersaoService versaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Os listeners de versão e sequência escrevem pelo JdbcTemplate, fora das estatísticas do Hibernate.
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
     @Value("${admin.name}")
     private String adminName;
 
@@ -120,7 +189,7 @@ class ProdutoControllerIntegrationTest {
                 10,
                 true,
                 UnidadeMedida.CAIXA, // Exemplo, ajuste conforme seu enum
-                "COD123",
+                "COD-" + nome,
                 1,
                 100,
                 LocalDate.now().plusMonths(6),
@@ -143,6 +212,97 @@ class ProdutoControllerIntegrationTest {
         return objectMapper.readValue(result.getResponse().getContentAsString(), ProdutoDTO.class);
     }
 
+    private void cadastrarProdutoComReferenciasProprias(String nome, int indice) throws Exception {
+        Categoria categoriaPropria = categoriaRepository.save(Categoria.builder().nome("Categoria " + indice).build());
+        Marca marcaPropria = marcaRepository.save(Marca.builder().nome("Marca " + indice).build());
+        Fornecedor fornecedorProprio = fornecedorRepository.save(Fornecedor.builder()
+                .nome("Fornecedor " + indice)
+                .cnpj(String.format("%014d", indice))
+                .build());
+
+        ProdutoDTO base = criarProdutoDTO(nome);
+        ProdutoDTO dto = new ProdutoDTO(null, base.nome(), base.descricao(), base.valor(), base.quantidade(),
+                base.disponivel(), base.unidadeMedida(), base.codigo(), base.estoqueMinimo(), base.estoqueMaximo(),
+                base.dataValidade(), base.dataEntrada(), base.dataSaida(),
+                categoriaPropria, marcaPropria, fornecedorProprio);
+
+        mockMvc.perform(post("/produtos/cadastrar")
+                        .header("Authorization", "Bearer " + gerarToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+    }
+
+    private JsonNode buscarAlteracoes(String since, int limite) throws Exception {
+        MockHttpServletRequestBuilder requisicao = get("/produtos/changes")
+                .param("limit", String.valueOf(limite))
+                .header("Authorization", "Bearer " + gerarToken());
+        if (since != null) {
+            requisicao.param("since", since);
+        }
+        String corpo = mockMvc.perform(requisicao)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo);
+    }
+
+    // Reconstruções de snapshot e a indexação disparadas pelas escritas rodam em outras threads e entrariam na contagem.
+    private void aguardarTarefasEmSegundoPlano() {
+        indiceLucene.aguardarIndexacao();
+        for (SnapshotCatalogo snapshot : SnapshotCatalogo.values()) {
+            String etag = versaoService.daTabela(snapshot.getTabelas()).etag();
+            for (FormatoCatalogo formato : FormatoCatalogo.values()) {
+                snapshotCache.obter(snapshot, formato, etag);
+            }
+        }
+    }
+
+    private long contarComandosSql(Runnable leitura) {
+        aguardarTarefasEmSegundoPlano();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        leitura.run();
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    /*
+     * Comandos da escrita, pelo Hibernate e pelo JdbcTemplate, contados antes do commit para que
+     * as tarefas disparadas depois dele não entrem na conta.
+     */
+    private long contarComandosSqlDaEscrita(Runnable escrita) {
+        aguardarTarefasEmSegundoPlano();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return transactionTemplate.execute(status -> {
+            estatisticas.clear();
+            clearInvocations(jdbcTemplate);
+            escrita.run();
+            long comandosJdbc = mockingDetails(jdbcTemplate).getInvocations().stream()
+                    .filter(invocacao -> invocacao.getMethod().getName().equals("applyStatementSettings"))
+                    .count();
+            return estatisticas.getPrepareStatementCount() + comandosJdbc;
+        });
+    }
+
+    @Test
+    void leituras_DevemExecutarUmUnicoComandoSqlIndependenteDoCatalogo() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            cadastrarProdutoComReferenciasProprias("Produto Catalogo " + i, i);
+        }
+        Long id = produtoRepository.findAll().get(0).getId();
+
+        assertEquals(1, contarComandosSql(() -> produtoService.listarTodos()));
+        assertEquals(1, contarComandosSql(() -> produtoService.listarPagina(3, null, "valor")));
+        VersaoRecurso versao = versaoService.daTabela(TabelaVersionada.PRODUTOS);
+        assertEquals(1, contarComandosSql(() -> produtoService.buscarPorNome("Catalogo", versao)));
+        assertEquals(1, contarComandosSql(() -> produtoService.listarCampos("nome,marcaNome,fornecedorNome")));
+        assertEquals(1, contarComandosSql(() -> produtoService.listarPaginaCampos(3, null, "valor", "nome")));
+        assertEquals(1, contarComandosSql(() -> produtoService.buscarPorId(id).categoria().getNome()));
+        assertEquals(1, contarComandosSql(() -> produtoRepository.findAll()
+                .forEach(produto -> produto.getFornecedor().getNome())));
+        assertEquals(1, contarComandosSql(() -> produtoRepository.findAllByNomeContainingIgnoreCase("Catalogo")
+                .forEach(produto -> produto.getMarca().getNome())));
+    }
+
     @Test
     void listarTodos_DeveRetornarStatusOk() throws Exception {
         String token = gerarToken();
@@ -151,6 +311,253 @@ class ProdutoControllerIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void listarPagina_DevePercorrerTodasAsPaginasPeloCursor() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto A");
+        cadastrarProduto("Produto B");
+        cadastrarProduto("Produto C");
+
+        MvcResult primeiraPagina = mockMvc.perform(get("/produtos/all")
+                        .param("limit", "2")
+                        .param("sort", "nome")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].nome").value("Produto A"))
+                .andExpect(jsonPath("$.itens[1].nome").value("Produto B"))
+                .andExpect(jsonPath("$.proximoCursor").isNotEmpty())
+                .andReturn();
+
+        String cursor = objectMapper.readTree(primeiraPagina.getResponse().getContentAsString())
+                .get("proximoCursor").asText();
+
+        mockMvc.perform(get("/produtos/all")
+                        .param("limit", "2")
+                        .param("sort", "nome")
+                        .param("after", cursor)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("Produto C"))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void filtrar_DeveAplicarSoOsCriteriosInformadosEPaginarPeloCursor() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto A");
+        cadastrarProduto("Produto B");
+        cadastrarProduto("Produto C");
+        cadastrarProdutoComReferenciasProprias("Produto AA Outra Categoria", 3);
+        String filtro = "{\"categorias\": [" + categoria.getId() + "], \"valorMinimo\": 50, \"disponivel\": true}";
+
+        MvcResult primeiraPagina = mockMvc.perform(post("/produtos/filtro")
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(filtro))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].nome").value("Produto A"))
+                .andExpect(jsonPath("$.itens[1].nome").value("Produto B"))
+                .andReturn();
+        String cursor = objectMapper.readTree(primeiraPagina.getResponse().getContentAsString())
+                .get("proximoCursor").asText();
+
+        mockMvc.perform(post("/produtos/filtro")
+                        .param("limit", "2")
+                        .param("after", cursor)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(filtro))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("Produto C"))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        mockMvc.perform(post("/produtos/filtro")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"valorMinimo\": 100.01}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(0));
+    }
+
+    @Test
+    void filtrar_ComIntervaloInvertido_DeveRetornarBadRequest() throws Exception {
+        mockMvc.perform(post("/produtos/filtro")
+                        .header("Authorization", "Bearer " + gerarToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"valorMinimo\": 10, \"valorMaximo\": 5}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/produtos/filtro")
+                        .header("Authorization", "Bearer " + gerarToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"entradaDe\": \"2025-02-01\", \"entradaAte\": \"2025-01-01\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listarPagina_ComOrdenacaoInvalida_DeveRetornarBadRequest() throws Exception {
+        String token = gerarToken();
+
+        mockMvc.perform(get("/produtos/all")
+                        .param("limit", "10")
+                        .param("sort", "descricao")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listarCampos_DeveRetornarApenasOsCamposSolicitados() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto Campos");
+
+        mockMvc.perform(get("/produtos/all")
+                        .param("fields", "nome, marcaNome")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Produto Campos"))
+                .andExpect(jsonPath("$[0].marcaNome").value(marca.getNome()))
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+    }
+
+    @Test
+    void listarPaginaCampos_DevePaginarSemExporCamposDoCursor() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto A");
+        cadastrarProduto("Produto B");
+        cadastrarProduto("Produto C");
+
+        MvcResult primeiraPagina = mockMvc.perform(get("/produtos/all")
+                        .param("limit", "2")
+                        .param("sort", "valor")
+                        .param("fields", "nome")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].length()").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("Produto A"))
+                .andExpect(jsonPath("$.proximoCursor").isNotEmpty())
+                .andReturn();
+
+        String cursor = objectMapper.readTree(primeiraPagina.getResponse().getContentAsString())
+                .get("proximoCursor").asText();
+
+        mockMvc.perform(get("/produtos/all")
+                        .param("limit", "2")
+                        .param("sort", "valor")
+                        .param("fields", "nome")
+                        .param("after", cursor)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("Produto C"))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void buscarCamposPorNome_DeveIgnorarAcentosComoABuscaCompleta() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Açúcar Cristal");
+
+        mockMvc.perform(get("/produtos/buscar/ACUCAR")
+                        .param("fields", "nome")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Açúcar Cristal"));
+    }
+
+    @Test
+    void buscarCamposPorId_DeveRetornarApenasOsCamposSolicitados() throws Exception {
+        String token = gerarToken();
+        ProdutoDTO produto = cadastrarProduto("Produto Parcial");
+
+        mockMvc.perform(get("/produtos/" + produto.id())
+                        .param("fields", "id,valor,categoriaNome")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$.id").value(produto.id()))
+                .andExpect(jsonPath("$.categoriaNome").value("Categoria Teste"))
+                .andExpect(jsonPath("$.nome").doesNotExist());
+    }
+
+    @Test
+    void buscarCamposPorNome_ComCampoInexistente_DeveRetornarBadRequest() throws Exception {
+        String token = gerarToken();
+
+        mockMvc.perform(get("/produtos/buscar/Produto")
+                        .param("fields", "nome,senha")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportar_EmNdjson_DeveEscreverUmProdutoPorLinha() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto Exportado 1");
+        cadastrarProduto("Produto Exportado 2");
+
+        MvcResult resultado = mockMvc.perform(get("/produtos/export")
+                        .param("format", "ndjson")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.strip().split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals("Produto Exportado 1", objectMapper.readTree(linhas[0]).get("nome").asText());
+    }
+
+    @Test
+    void exportar_EmNdjson_NaoDeveDarFlushACadaLinha() throws Exception {
+        cadastrarProduto("Produto Exportado 1");
+        cadastrarProduto("Produto Exportado 2");
+        cadastrarProduto("Produto Exportado 3");
+        int[] flushes = new int[1];
+        ByteArrayOutputStream saida = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        produtoExportacaoService.exportar(FormatoExportacao.NDJSON, saida);
+
+        assertEquals(3, saida.toString(StandardCharsets.UTF_8).strip().split("\n").length);
+        assertEquals(1, flushes[0]);
+    }
+
+    @Test
+    void exportar_EmCsv_DeveEscreverCabecalhoELinhas() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto, com virgula");
+
+        MvcResult resultado = mockMvc.perform(get("/produtos/export")
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.strip().split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].startsWith("id,nome,"));
+        assertTrue(linhas[1].contains("\"Produto, com virgula\""));
+    }
+
     @Test
     void cadastrar_DeveRetornarStatusCreated() throws Exception {
         String token = gerarToken();
@@ -175,6 +582,245 @@ class ProdutoControllerIntegrationTest {
                 .andExpect(jsonPath("$.nome").value("Produto Y"));
     }
 
+    @Test
+    void buscarPorId_ComEtagAtual_DeveResponderNotModifiedSemCarregarOProduto() throws Exception {
+        String token = gerarToken();
+        ProdutoDTO produto = cadastrarProduto("Produto Etag");
+
+        MvcResult primeira = mockMvc.perform(get("/produtos/" + produto.id())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = primeira.getResponse().getHeader("ETag");
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get("/produtos/" + produto.id())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertEquals(0, estatisticas.getEntityStatistics(Produto.class.getName()).getLoadCount());
+
+        mockMvc.perform(put("/categorias/" + categoria.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CategoriaDTO(null, "Categoria Renomeada"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/produtos/" + produto.id())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoria.nome").value("Categoria Renomeada"));
+    }
+
+    @Test
+    void listarTodos_AposAlteracao_DeveTrocarEtag() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto Lista");
+
+        String etag = mockMvc.perform(get("/produtos/all")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/produtos/all")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        cadastrarProduto("Produto Lista 2");
+
+        mockMvc.perform(get("/produtos/all")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void listarTodos_EmProtobuf_DeveRetornarListaDecodificavel() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto Protobuf");
+
+        MvcResult resultado = mockMvc.perform(get("/produtos/all")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andExpect(header().string("ETag", endsWith("-protobuf\"")))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("Accept"))))
+                .andReturn();
+
+        ProdutoListagemLista lista = ProdutoListagemLista.parseFrom(resultado.getResponse().getContentAsByteArray());
+        assertEquals(1, lista.getItensCount());
+        assertEquals("Produto Protobuf", lista.getItens(0).getNome());
+        assertEquals("Categoria Teste", lista.getItens(0).getCategoriaNome());
+
+        mockMvc.perform(get("/produtos/all")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/x-protobuf")
+                        .header("If-None-Match", resultado.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void calcularFacetas_PedindoProtobufOuJson_DeveUsarAETagDoJson() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto Facetas");
+
+        String etagJson = mockMvc.perform(get("/produtos/facets")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/produtos/facets")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/x-protobuf, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", etagJson));
+    }
+
+    @Test
+    void buscarPorId_EmCbor_DeveRetornarOMesmoConteudoDoJson() throws Exception {
+        String token = gerarToken();
+        ProdutoDTO produto = cadastrarProduto("Produto Cbor");
+
+        MvcResult resultado = mockMvc.perform(get("/produtos/" + produto.id())
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string("ETag", endsWith("-cbor\"")))
+                .andReturn();
+
+        ProdutoDTO lido = serializadorCatalogo.getCbor()
+                .readValue(resultado.getResponse().getContentAsByteArray(), ProdutoDTO.class);
+        assertEquals("Produto Cbor", lido.nome());
+        assertEquals(0, new BigDecimal("100.00").compareTo(lido.valor()));
+        assertEquals("Marca Teste", lido.marca().getNome());
+    }
+
+    @Test
+    void listarPagina_EmSmile_DeveRetornarPaginaComCursor() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Produto Smile A");
+        cadastrarProduto("Produto Smile B");
+
+        MvcResult resultado = mockMvc.perform(get("/produtos/all")
+                        .param("limit", "1")
+                        .param("sort", "nome")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        var pagina = serializadorCatalogo.getSmile().readTree(resultado.getResponse().getContentAsByteArray());
+        assertEquals("Produto Smile A", pagina.get("itens").get(0).get("nome").asText());
+        assertTrue(pagina.hasNonNull("proximoCursor"));
+    }
+
+    @Test
+    void listarAlteracoes_DeveRetornarSomenteOQueMudouDepoisDoToken() throws Exception {
+        String token = gerarToken();
+        ProdutoDTO alterado = cadastrarProduto("Produto Sync A");
+        ProdutoDTO removido = cadastrarProduto("Produto Sync B");
+        cadastrarProduto("Produto Sync C");
+
+        JsonNode inicial = buscarAlteracoes(null, 1000);
+        assertFalse(inicial.get("temMais").asBoolean());
+
+        mockMvc.perform(put("/produtos/" + alterado.id())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarProdutoDTO("Produto Sync A2"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/produtos/" + removido.id())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        JsonNode delta = buscarAlteracoes(inicial.get("proximoToken").asText(), 1000);
+        assertEquals(1, delta.get("atualizados").size());
+        assertEquals("Produto Sync A2", delta.get("atualizados").get(0).get("nome").asText());
+        assertEquals(1, delta.get("removidos").size());
+        assertEquals(removido.id(), delta.get("removidos").get(0).asLong());
+
+        JsonNode semAlteracoes = buscarAlteracoes(delta.get("proximoToken").asText(), 1000);
+        assertEquals(0, semAlteracoes.get("atualizados").size());
+        assertEquals(0, semAlteracoes.get("removidos").size());
+
+        mockMvc.perform(put("/categorias/" + categoria.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CategoriaDTO(null, "Categoria Sync"))))
+                .andExpect(status().isOk());
+
+        JsonNode aposRenomear = buscarAlteracoes(semAlteracoes.get("proximoToken").asText(), 1000);
+        assertEquals(2, aposRenomear.get("atualizados").size());
+        assertEquals("Categoria Sync", aposRenomear.get("atualizados").get(0).get("categoriaNome").asText());
+    }
+
+    @Test
+    void listarAlteracoes_ComLimite_DevePaginarAlteracoesERemocoesPeloToken() throws Exception {
+        String inicio = buscarAlteracoes(null, 1000).get("proximoToken").asText();
+        ProdutoDTO removido = cadastrarProduto("Produto Sync X");
+        ProdutoDTO mantido = cadastrarProduto("Produto Sync Y");
+        mockMvc.perform(delete("/produtos/" + removido.id())
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isNoContent());
+
+        JsonNode primeira = buscarAlteracoes(inicio, 1);
+        assertTrue(primeira.get("temMais").asBoolean());
+        assertEquals(mantido.id(), primeira.get("atualizados").get(0).get("id").asLong());
+        assertEquals(0, primeira.get("removidos").size());
+
+        JsonNode segunda = buscarAlteracoes(primeira.get("proximoToken").asText(), 1);
+        assertFalse(segunda.get("temMais").asBoolean());
+        assertEquals(0, segunda.get("atualizados").size());
+        assertEquals(removido.id(), segunda.get("removidos").get(0).asLong());
+    }
+
+    @Test
+    void listarAlteracoes_ComTokenInvalido_DeveRetornarBadRequest() throws Exception {
+        mockMvc.perform(get("/produtos/changes")
+                        .param("since", "token-invalido")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void calcularFacetas_DeveAgruparPorReferenciaEDisponibilidade() throws Exception {
+        cadastrarProduto("Produto Faceta A");
+        cadastrarProduto("Produto Faceta B");
+        cadastrarProdutoComReferenciasProprias("Produto Faceta C", 7);
+
+        mockMvc.perform(get("/produtos/facets")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.totalProdutos").value(3))
+                .andExpect(jsonPath("$.totalUnidades").value(30))
+                .andExpect(jsonPath("$.valorEstoqueTotal").value(3000.0))
+                .andExpect(jsonPath("$.categorias.length()").value(2))
+                .andExpect(jsonPath("$.categorias[0].nome").value("Categoria 7"))
+                .andExpect(jsonPath("$.categorias[0].produtos").value(1))
+                .andExpect(jsonPath("$.categorias[1].nome").value("Categoria Teste"))
+                .andExpect(jsonPath("$.categorias[1].produtos").value(2))
+                .andExpect(jsonPath("$.categorias[1].unidades").value(20))
+                .andExpect(jsonPath("$.categorias[1].valorEstoque").value(2000.0))
+                .andExpect(jsonPath("$.marcas.length()").value(2))
+                .andExpect(jsonPath("$.fornecedores.length()").value(2))
+                .andExpect(jsonPath("$.disponibilidade.length()").value(1))
+                .andExpect(jsonPath("$.disponibilidade[0].disponivel").value(true))
+                .andExpect(jsonPath("$.disponibilidade[0].produtos").value(3));
+    }
+
     @Test
     void buscarPorNome_DeveRetornarProduto() throws Exception {
         String token = gerarToken();
@@ -183,7 +829,228 @@ class ProdutoControllerIntegrationTest {
         mockMvc.perform(get("/produtos/buscar/Produto Z")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].nome").value("Produto Z"));
+                .andExpect(jsonPath("$[0].nome").value("Produto Z"))
+                .andExpect(jsonPath("$[0].categoriaNome").value("Categoria Teste"))
+                .andExpect(jsonPath("$[0].fornecedorId").value(fornecedor.getId()));
+    }
+
+    @Test
+    void buscarPorNome_AposRenomearEExcluir_DeveRefletirAsAlteracoes() throws Exception {
+        String token = gerarToken();
+        ProdutoDTO renomeado = cadastrarProduto("Sabonete Neutro");
+        ProdutoDTO excluido = cadastrarProduto("Sabonete Glicerina");
+
+        mockMvc.perform(get("/produtos/buscar/sabonete")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(put("/produtos/" + renomeado.id())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarProdutoDTO("Detergente Neutro"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/produtos/" + excluido.id())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/produtos/buscar/sabonete")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/produtos/buscar/NEUTRO")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Detergente Neutro"));
+    }
+
+    @Test
+    void buscarPorNome_ComEscritaDeOutraInstanciaAindaNaoIndexada_DeveManterAETagDoIndice() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Sabao em Po");
+        String etag = mockMvc.perform(get("/produtos/buscar/sabao")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        indiceProduto.aguardarVerificacao();
+
+        // Como outra instância: a versão muda no banco sem evento local, e o índice só a vê na próxima verificação.
+        jdbcTemplate.update("update tb_versoes_tabela set versao = versao + 1 where tabela = 'PRODUTOS'");
+        mockMvc.perform(get("/produtos/buscar/sabao")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        indiceProduto.sincronizar();
+        mockMvc.perform(get("/produtos/buscar/sabao")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void buscarPorNome_DeveIgnorarAcentos() throws Exception {
+        String token = gerarToken();
+        cadastrarProduto("Açúcar Cristal");
+
+        mockMvc.perform(get("/produtos/buscar/acucar")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Açúcar Cristal"));
+    }
+
+    private JsonNode pesquisar(String termo) throws Exception {
+        indiceLucene.aguardarIndexacao();
+        String corpo = mockMvc.perform(get("/produtos/pesquisa")
+                        .param("q", termo)
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(corpo);
+    }
+
+    @Test
+    void pesquisar_DeveTolerarErrosDeDigitacaoEAcompanharAsEscritas() throws Exception {
+        ProdutoDTO acucar = cadastrarProduto("Açúcar Refinado");
+        cadastrarProduto("Arroz Agulhinha");
+
+        JsonNode comErro = pesquisar("acucr refin");
+        assertEquals(1, comErro.size());
+        assertEquals("Açúcar Refinado", comErro.get(0).get("nome").asText());
+        assertEquals(2, pesquisar("marca teste").size());
+
+        mockMvc.perform(delete("/produtos/" + acucar.id())
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isNoContent());
+        assertEquals(0, pesquisar("acucar").size());
+
+        mockMvc.perform(post("/admin/busca/reconstruir")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/admin/busca/reconstrucao"))
+                .andExpect(jsonPath("$.inicio").exists());
+        JsonNode aposReconstruir = pesquisar("agulinha");
+        assertEquals(1, aposReconstruir.size());
+        assertEquals("Arroz Agulhinha", aposReconstruir.get(0).get("nome").asText());
+
+        mockMvc.perform(get("/admin/busca/reconstrucao")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.situacao").value("CONCLUIDA"))
+                .andExpect(jsonPath("$.indexados").isNumber())
+                .andExpect(jsonPath("$.erro").doesNotExist());
+    }
+
+    @Test
+    void buscarPorCodigo_DeveRetornarOProdutoERefletirAtualizacoes() throws Exception {
+        String token = gerarToken();
+        ProdutoDTO produto = cadastrarProduto("Leite Integral");
+
+        mockMvc.perform(get("/produtos/codigo/COD-Leite Integral")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(produto.id()));
+
+        mockMvc.perform(put("/produtos/" + produto.id())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarProdutoDTO("Leite Desnatado"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/produtos/codigo/COD-Leite Integral")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/produtos/codigo/COD-Leite Desnatado")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Leite Desnatado"));
+    }
+
+    @Test
+    void buscarPorCodigos_DeveResolverOsCodigosEmUmaUnicaConsulta() throws Exception {
+        cadastrarProduto("Cafe");
+        cadastrarProduto("Acucar");
+
+        assertEquals(1, contarComandosSql(() -> produtoService.buscarPorCodigos(
+                List.of("COD-Acucar", "COD-Inexistente", "COD-Cafe"))));
+
+        mockMvc.perform(get("/produtos/codigo")
+                        .param("codigos", "COD-Acucar,COD-Inexistente,COD-Cafe")
+                        .header("Authorization", "Bearer " + gerarToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Acucar"))
+                .andExpect(jsonPath("$[1].nome").value("Cafe"));
+    }
+
+    @Test
+    void cadastrar_ComReferenciasEmCache_NaoDeveConsultarCategoriaMarcaNemFornecedor() throws Exception {
+        cadastrarProduto("Cafe");
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Checagem de nome e código, insert, contador da tabela e sequência do produto.
+        assertEquals(4, contarComandosSqlDaEscrita(() -> produtoService.cadastrar(criarProdutoDTO("Acucar"))));
+        assertEquals(0, estatisticas.getEntityStatistics(Categoria.class.getName()).getLoadCount());
+        assertEquals(0, estatisticas.getEntityStatistics(Marca.class.getName()).getLoadCount());
+        assertEquals(0, estatisticas.getEntityStatistics(Fornecedor.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void cadastrar_ComIdNoCorpo_DeveCriarUmNovoProduto() throws Exception {
+        ProdutoDTO existente = cadastrarProduto("Feijao");
+        ProdutoDTO base = criarProdutoDTO("Feijao Preto");
+        ProdutoDTO comId = new ProdutoDTO(existente.id(), base.nome(), base.descricao(), base.valor(), base.quantidade(),
+                base.disponivel(), base.unidadeMedida(), base.codigo(), base.estoqueMinimo(), base.estoqueMaximo(),
+                base.dataValidade(), base.dataEntrada(), base.dataSaida(), categoria, marca, fornecedor);
+
+        mockMvc.perform(post("/produtos/cadastrar")
+                        .header("Authorization", "Bearer " + gerarToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(comId)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(not(existente.id().intValue())));
+
+        assertEquals("Feijao", produtoRepository.findById(existente.id()).orElseThrow().getNome());
+    }
+
+    @Test
+    void cadastrar_ComCodigoDuplicado_DeveRetornarBadRequest() throws Exception {
+        cadastrarProduto("Arroz");
+        ProdutoDTO base = criarProdutoDTO("Arroz Integral");
+        ProdutoDTO duplicado = new ProdutoDTO(null, base.nome(), base.descricao(), base.valor(), base.quantidade(),
+                base.disponivel(), base.unidadeMedida(), "COD-Arroz", base.estoqueMinimo(), base.estoqueMaximo(),
+                base.dataValidade(), base.dataEntrada(), base.dataSaida(), categoria, marca, fornecedor);
+
+        mockMvc.perform(post("/produtos/cadastrar")
+                        .header("Authorization", "Bearer " + gerarToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicado)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cadastrar_ComNomeQueDifereSoNaCaixa_DeveRetornarBadRequest() throws Exception {
+        cadastrarProduto("Arroz");
+
+        mockMvc.perform(post("/produtos/cadastrar")
+                        .header("Authorization", "Bearer " + gerarToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarProdutoDTO("ARROZ"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("ARROZ")));
+    }
+
+    @Test
+    void cadastrar_ComNomeQueDifereSoNosAcentos_DeveCadastrar() throws Exception {
+        cadastrarProduto("Acai");
+
+        mockMvc.perform(post("/produtos/cadastrar")
+                        .header("Authorization", "Bearer " + gerarToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarProdutoDTO("Açaí"))))
+                .andExpect(status().isCreated());
     }
 
     @Test
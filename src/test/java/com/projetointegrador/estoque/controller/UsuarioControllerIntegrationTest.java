@@ -16,7 +16,10 @@ import com.projetointegrador.estoque.repository.FornecedorRepository;
 import com.projetointegrador.estoque.repository.MarcaRepository;
 import com.projetointegrador.estoque.repository.UsuarioRepository;
 import com.projetointegrador.estoque.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +28,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -36,6 +40,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -56,6 +61,9 @@ public class UsuarioControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Value("${admin.name}")
     private String adminName;
 
@@ -146,6 +154,23 @@ public class UsuarioControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("novoteste@exemplo.com"));
     }
 
+    @Test
+    void cadastrar_ComIdNoCorpo_DeveCriarUmNovoUsuario() throws Exception {
+        Usuario novoUsuario = new Usuario();
+        novoUsuario.setId(usuarioTesteComum.getId());
+        novoUsuario.setEmail("comid@exemplo.com");
+        novoUsuario.setSenha("senha123");
+        novoUsuario.setNome("Usuário Com Id");
+
+        mockMvc.perform(post("/usuarios/cadastrar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(novoUsuario)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.email").value("comid@exemplo.com"));
+
+        assertEquals("novo@exemplo.com", usuarioRepository.findById(usuarioTesteComum.getId()).orElseThrow().getEmail());
+    }
+
     @Test
     void deveDeletarUsuario() throws Exception {
         mockMvc.perform(delete("/usuarios/{id}", usuarioTesteComum.getId())
@@ -161,5 +186,34 @@ public class UsuarioControllerIntegrationTest {
                 .andExpect(status().isForbidden()); // ou is4xx dependendo do seu tratamento
     }
 
-}
+    @Test
+    void listarTodos_ComEtagAtual_DeveResponder304SemConsultarOsUsuarios() throws Exception {
+        String etag = mockMvc.perform(get("/usuarios/all")
+                        .header("Authorization", tokenTeste))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        mockMvc.perform(get("/usuarios/all")
+                        .header("Authorization", tokenTeste)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Só a versão da tabela de usuários.
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
 
+    @Test
+    void buscarPorId_DeOutroUsuario_DeveSerNegadoMesmoComEtag() throws Exception {
+        String tokenComum = objectMapper.readValue(mockMvc.perform(post("/usuarios/logar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UsuarioLoginDTO("novo@exemplo.com", "senha123"))))
+                .andReturn().getResponse().getContentAsString(), UsuarioDTO.class).token();
+
+        mockMvc.perform(get("/usuarios/{id}", usuarioTeste.getId())
+                        .header("Authorization", tokenComum)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isForbidden());
+    }
+}
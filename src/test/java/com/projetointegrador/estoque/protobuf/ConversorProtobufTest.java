@@ -0,0 +1,33 @@
+package com.projetointegrador.estoque.protobuf;
+
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.enums.UnidadeMedida;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversorProtobufTest {
+
+    @Test
+    void paraLista_DeveManterValoresENulosDaListagem() throws Exception {
+        ProdutoListagemDTO completo = new ProdutoListagemDTO(1L, "Arroz", "Tipo 1", new BigDecimal("-1234567890.125"),
+                10, true, UnidadeMedida.CAIXA, "COD1", 1, 100, LocalDate.of(2026, 1, 31), LocalDate.of(1969, 12, 31),
+                null, 2L, "Grãos", 3L, "Marca", 4L, "Fornecedor");
+        ProdutoListagemDTO vazio = new ProdutoListagemDTO(5L, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null);
+
+        byte[] bytes = ConversorProtobuf.paraLista(List.of(completo, vazio), ProdutoListagemDTO.class).toByteArray();
+
+        assertEquals(List.of(completo, vazio),
+                ConversorProtobuf.deProdutoListagemLista(ProdutoListagemLista.parseFrom(bytes)));
+    }
+
+    @Test
+    void paraLista_ComTipoSemMensagem_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> ConversorProtobuf.paraLista(List.of(), String.class));
+    }
+}
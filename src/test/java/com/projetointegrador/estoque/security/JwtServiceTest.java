@@ -0,0 +1,67 @@
+package com.projetointegrador.estoque.security;
+
+import com.projetointegrador.estoque.enums.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private static final String SEGREDO = "dGhpc2lzYXZlcnlsb25nc2VjcmV0a2V5Zm9ydGVzdGluZ3B1cnBvc2VzMTIzNDU2Nzg5MA==";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setup() {
+        jwtService = new JwtService(SEGREDO, 100);
+    }
+
+    @Test
+    void verificar_DeveDevolverUsuarioERolesDoToken() {
+        String token = jwtService.generateToken("maria@email.com", Set.of(Role.ADMIN));
+
+        TokenVerificado verificado = jwtService.verificar(token);
+
+        assertEquals("maria@email.com", verificado.usuario());
+        assertEquals(List.of("ADMIN"), verificado.roles());
+        assertTrue(verificado.expiracao().toEpochMilli() > System.currentTimeMillis());
+        assertSame(verificado, jwtService.verificar(token));
+    }
+
+    @Test
+    void verificar_QuandoAssinaturaNaoConfere_DeveLancarExcecao() {
+        String token = jwtService.generateToken("maria@email.com", Set.of(Role.USER));
+        String adulterado = Jwts.builder()
+                .setSubject("maria@email.com")
+                .claim("roles", List.of("ADMIN"))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(new byte[32]), SignatureAlgorithm.HS256)
+                .compact();
+
+        jwtService.verificar(token);
+
+        assertThrows(SignatureException.class, () -> jwtService.verificar(adulterado));
+    }
+
+    @Test
+    void verificar_QuandoTokenExpirou_DeveLancarExcecao() {
+        String expirado = Jwts.builder()
+                .setSubject("maria@email.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SEGREDO)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verificar(expirado));
+    }
+}
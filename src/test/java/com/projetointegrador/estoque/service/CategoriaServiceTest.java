@@ -1,6 +1,13 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ReferenciaCache;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
 import com.projetointegrador.estoque.dto.CategoriaDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
+import com.projetointegrador.estoque.exeption.CategoriaNaoEncontradaException;
 import com.projetointegrador.estoque.model.Categoria;
 import com.projetointegrador.estoque.repository.CategoriaRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,27 +15,65 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class CategoriaServiceTest {
 
+    private static final VersaoRecurso VERSAO = new VersaoRecurso("\"1\"", 0);
+
     @InjectMocks
     private CategoriaService categoriaService;
 
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Spy
+    private ResultadoBuscaCache resultadoBuscaCache = new ResultadoBuscaCache(1000, Duration.ofMinutes(1));
+
+    @Spy
+    private TelemetriaBusca telemetriaBusca = new TelemetriaBusca(Duration.ofMillis(200));
+
+    @Spy
+    private ReferenciaCache referenciaCache = new ReferenciaCache(100, Duration.ofMinutes(1));
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    void buscarReferencia_DeveGuardarUmaCopiaAteUmaEscritaEmCategorias() {
+        Categoria categoria = Categoria.builder().id(1L).nome("Bebidas").produtos(new ArrayList<>()).build();
+        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
+
+        Categoria referencia = categoriaService.buscarReferencia(1L);
+        assertSame(referencia, categoriaService.buscarReferencia(1L));
+        assertNotSame(categoria, referencia);
+        assertEquals("Bebidas", referencia.getNome());
+        assertNull(referencia.getProdutos());
+        verify(categoriaRepository, times(1)).findById(1L);
+
+        referenciaCache.aoAlterarTabelas(new TabelasAlteradasEvent(Set.of(TabelaVersionada.CATEGORIAS)));
+        categoriaService.buscarReferencia(1L);
+        verify(categoriaRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void buscarReferencia_QuandoNaoExiste_DeveLancarExcecao() {
+        when(categoriaRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(CategoriaNaoEncontradaException.class, () -> categoriaService.buscarReferencia(9L));
+    }
+
     @Test
     void listarTodas_DeveRetornarListaDTO() {
         Categoria categoria = Categoria.builder()
@@ -104,7 +149,7 @@ public class CategoriaServiceTest {
         when(categoriaRepository.findAllByNomeContainingIgnoreCase("Doce"))
                 .thenReturn(List.of(categoria));
 
-        List<CategoriaDTO> resultado = categoriaService.buscarPorNome("Doce");
+        List<CategoriaDTO> resultado = categoriaService.buscarPorNome("Doce", VERSAO);
 
         assertEquals(1, resultado.size());
         assertEquals("Doces", resultado.get(0).nome());
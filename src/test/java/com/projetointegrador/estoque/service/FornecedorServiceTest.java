@@ -1,6 +1,10 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
+import com.projetointegrador.estoque.dto.CnpjResolvidoDTO;
 import com.projetointegrador.estoque.dto.FornecedorDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
 import com.projetointegrador.estoque.exeption.FornecedorDuplicadoException;
 import com.projetointegrador.estoque.model.Fornecedor;
 import com.projetointegrador.estoque.repository.FornecedorRepository;
@@ -9,21 +13,32 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class FornecedorServiceTest {
 
+    private static final VersaoRecurso VERSAO = new VersaoRecurso("\"1\"", 0);
+
     @InjectMocks
     private FornecedorService fornecedorService;
 
     @Mock
     private FornecedorRepository fornecedorRepository;
 
+    @Spy
+    private ResultadoBuscaCache resultadoBuscaCache = new ResultadoBuscaCache(1000, Duration.ofMinutes(1));
+
+    @Spy
+    private TelemetriaBusca telemetriaBusca = new TelemetriaBusca(Duration.ofMillis(200));
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
@@ -87,7 +102,7 @@ class FornecedorServiceTest {
         when(fornecedorRepository.findAllByNomeContainingIgnoreCase("Fornecedor"))
                 .thenReturn(List.of(fornecedor));
 
-        List<FornecedorDTO> resultado = fornecedorService.buscarPorNome("Fornecedor");
+        List<FornecedorDTO> resultado = fornecedorService.buscarPorNome("Fornecedor", VERSAO);
 
         assertEquals(1, resultado.size());
         assertEquals("Fornecedor C", resultado.get(0).nome());
@@ -104,15 +119,65 @@ class FornecedorServiceTest {
                 .endereco("Rua W")
                 .build();
 
-        when(fornecedorRepository.findAllByCnpjContainingIgnoreCase("4444"))
+        when(fornecedorRepository.findAllByCnpjDigitosBetweenOrderByIdAsc("4444", "44449999999999"))
                 .thenReturn(List.of(fornecedor));
 
-        List<FornecedorDTO> resultado = fornecedorService.buscarPorCNPJ("4444");
+        List<FornecedorDTO> resultado = fornecedorService.buscarPorCNPJ("44.44");
 
         assertEquals(1, resultado.size());
         assertEquals("44444444444444", resultado.get(0).cnpj());
     }
 
+    @Test
+    void buscarPorCNPJ_ComMaisDe14Digitos_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> fornecedorService.buscarPorCNPJ("112223330001811"));
+        verifyNoInteractions(fornecedorRepository);
+    }
+
+    @Test
+    void resolverCNPJs_DeveValidarEResolverTodosNumaUnicaConsulta() {
+        Fornecedor fornecedor = Fornecedor.builder()
+                .id(1L)
+                .nome("Fornecedor Importado")
+                .cnpj("11222333000181")
+                .cnpjDigitos("11222333000181")
+                .build();
+        when(fornecedorRepository.findAllByCnpjDigitosIn(Set.of("11222333000181", "11444777000161")))
+                .thenReturn(List.of(fornecedor));
+
+        List<CnpjResolvidoDTO> resultado = fornecedorService.resolverCNPJs(
+                List.of("11.222.333/0001-81", "11444777000161", "11222333000182"));
+
+        assertEquals(3, resultado.size());
+        assertEquals("Fornecedor Importado", resultado.get(0).fornecedor().nome());
+        assertTrue(resultado.get(1).valido());
+        assertNull(resultado.get(1).fornecedor());
+        assertFalse(resultado.get(2).valido());
+        verify(fornecedorRepository, times(1)).findAllByCnpjDigitosIn(any());
+    }
+
+    @Test
+    void resolverCNPJs_ComCNPJRepetido_DeveResponderCadaEntradaEConsultarUmaVez() {
+        Fornecedor fornecedor = Fornecedor.builder()
+                .id(1L)
+                .nome("Fornecedor Importado")
+                .cnpj("11222333000181")
+                .cnpjDigitos("11222333000181")
+                .build();
+        when(fornecedorRepository.findAllByCnpjDigitosIn(Set.of("11222333000181")))
+                .thenReturn(List.of(fornecedor));
+
+        List<CnpjResolvidoDTO> resultado = fornecedorService.resolverCNPJs(
+                List.of("11222333000181", "11.222.333/0001-81", "11222333000181"));
+
+        assertEquals(3, resultado.size());
+        assertEquals("11222333000181", resultado.get(0).cnpj());
+        assertEquals("11.222.333/0001-81", resultado.get(1).cnpj());
+        assertEquals("11222333000181", resultado.get(2).cnpj());
+        resultado.forEach(r -> assertEquals("Fornecedor Importado", r.fornecedor().nome()));
+        verify(fornecedorRepository, times(1)).findAllByCnpjDigitosIn(Set.of("11222333000181"));
+    }
+
     @Test
     void cadastrar_QuandoNomeNaoExiste_DeveCadastrarFornecedor() {
         FornecedorDTO dto = new FornecedorDTO(null, "Novo Fornecedor", "55555555555555", "novo@email.com", "5555-5555", "Rua Nova");
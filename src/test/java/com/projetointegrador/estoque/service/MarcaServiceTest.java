@@ -1,6 +1,11 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
 import com.projetointegrador.estoque.dto.MarcaDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.TabelaVersionada;
+import com.projetointegrador.estoque.event.TabelasAlteradasEvent;
 import com.projetointegrador.estoque.model.Marca;
 import com.projetointegrador.estoque.repository.MarcaRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,22 +13,33 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class MarcaServiceTest {
 
+    private static final VersaoRecurso VERSAO = new VersaoRecurso("\"1\"", 0);
+
     @InjectMocks
     private MarcaService marcaService;
 
     @Mock
     private MarcaRepository marcaRepository;
 
+    @Spy
+    private ResultadoBuscaCache resultadoBuscaCache = new ResultadoBuscaCache(1000, Duration.ofMinutes(1));
+
+    @Spy
+    private TelemetriaBusca telemetriaBusca = new TelemetriaBusca(Duration.ofMillis(200));
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -71,12 +87,45 @@ public class MarcaServiceTest {
 
         when(marcaRepository.findAllByNomeContainingIgnoreCase("Ree")).thenReturn(List.of(marca));
 
-        List<MarcaDTO> resultado = marcaService.buscarPorNome("Ree");
+        List<MarcaDTO> resultado = marcaService.buscarPorNome("Ree", VERSAO);
 
         assertEquals(1, resultado.size());
         assertEquals("Reebok", resultado.get(0).nome());
     }
 
+    @Test
+    void buscarPorNome_DeveReaproveitarOResultadoAteUmaEscritaEmMarcas() {
+        Marca marca = new Marca();
+        marca.setId(1L);
+        marca.setNome("Reebok");
+        when(marcaRepository.findAllByNomeContainingIgnoreCase(anyString())).thenReturn(List.of(marca));
+
+        marcaService.buscarPorNome("Ree", VERSAO);
+        marcaService.buscarPorNome("REÉ", VERSAO);
+        verify(marcaRepository, times(1)).findAllByNomeContainingIgnoreCase(anyString());
+
+        resultadoBuscaCache.aoAlterarTabelas(new TabelasAlteradasEvent(Set.of(TabelaVersionada.CATEGORIAS)));
+        marcaService.buscarPorNome("Ree", VERSAO);
+        verify(marcaRepository, times(1)).findAllByNomeContainingIgnoreCase(anyString());
+
+        resultadoBuscaCache.aoAlterarTabelas(new TabelasAlteradasEvent(Set.of(TabelaVersionada.MARCAS)));
+        marcaService.buscarPorNome("Ree", VERSAO);
+        verify(marcaRepository, times(2)).findAllByNomeContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    void buscarPorNome_ComOutraVersaoDaTabela_DeveConsultarDeNovo() {
+        Marca marca = new Marca();
+        marca.setId(1L);
+        marca.setNome("Reebok");
+        when(marcaRepository.findAllByNomeContainingIgnoreCase(anyString())).thenReturn(List.of(marca));
+
+        // Escrita de outra instância: não chega evento aqui, só a versão lida para a ETag muda.
+        marcaService.buscarPorNome("Ree", VERSAO);
+        marcaService.buscarPorNome("Ree", new VersaoRecurso("\"2\"", 0));
+        verify(marcaRepository, times(2)).findAllByNomeContainingIgnoreCase(anyString());
+    }
+
     @Test
     void cadastrar_QuandoNomeNaoExiste_DeveSalvar() {
         MarcaDTO dto = new MarcaDTO(null, "Puma");
@@ -1,17 +1,25 @@
 package com.projetointegrador.estoque.service;
 
+import com.projetointegrador.estoque.busca.IndiceLucene;
+import com.projetointegrador.estoque.busca.IndiceProduto;
+import com.projetointegrador.estoque.busca.TelemetriaBusca;
+import com.projetointegrador.estoque.cache.ProdutoPorCodigoCache;
+import com.projetointegrador.estoque.cache.ResultadoBuscaCache;
 import com.projetointegrador.estoque.dto.CategoriaDTO;
+import com.projetointegrador.estoque.dto.CursorProduto;
 import com.projetointegrador.estoque.dto.FornecedorDTO;
 import com.projetointegrador.estoque.dto.MarcaDTO;
+import com.projetointegrador.estoque.dto.PaginaDTO;
 import com.projetointegrador.estoque.dto.ProdutoDTO;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.dto.VersaoRecurso;
+import com.projetointegrador.estoque.enums.OrdenacaoProduto;
 import com.projetointegrador.estoque.enums.UnidadeMedida;
+import com.projetointegrador.estoque.exeption.ProdutoNaoEncontradoException;
 import com.projetointegrador.estoque.model.Categoria;
 import com.projetointegrador.estoque.model.Fornecedor;
 import com.projetointegrador.estoque.model.Marca;
 import com.projetointegrador.estoque.model.Produto;
-import com.projetointegrador.estoque.repository.CategoriaRepository;
-import com.projetointegrador.estoque.repository.FornecedorRepository;
-import com.projetointegrador.estoque.repository.MarcaRepository;
 import com.projetointegrador.estoque.repository.ProdutoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,9 +27,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Date;
@@ -33,6 +43,8 @@ import static org.mockito.Mockito.*;
 
 public class ProdutoServiceTest {
 
+    private static final VersaoRecurso VERSAO = new VersaoRecurso("\"1\"", 0);
+
     @InjectMocks
     private ProdutoService produtoService;
 
@@ -40,13 +52,19 @@ public class ProdutoServiceTest {
     private ProdutoRepository produtoRepository;
 
     @Mock
-    private CategoriaRepository categoriaRepository;
+    private IndiceProduto indiceProduto;
 
     @Mock
-    private FornecedorRepository fornecedorRepository;
+    private IndiceLucene indiceLucene;
 
-    @Mock
-    private MarcaRepository marcaRepository;
+    @Spy
+    private ProdutoPorCodigoCache produtoPorCodigoCache = new ProdutoPorCodigoCache(100, Duration.ofMinutes(1));
+
+    @Spy
+    private ResultadoBuscaCache resultadoBuscaCache = new ResultadoBuscaCache(1000, Duration.ofMinutes(1));
+
+    @Spy
+    private TelemetriaBusca telemetriaBusca = new TelemetriaBusca(Duration.ofMillis(200));
 
     @Mock
     private CategoriaService categoriaService;
@@ -131,6 +149,102 @@ public class ProdutoServiceTest {
         assertThrows(IllegalArgumentException.class, () -> produtoService.buscarPorId(1L));
     }
 
+    @Test
+    void listarPagina_QuandoHaMaisItens_DeveRetornarProximoCursor() {
+        ProdutoListagemDTO primeiro = criarListagem(1L, "Produto Teste");
+        ProdutoListagemDTO segundo = criarListagem(2L, "Produto Teste 2");
+
+        when(produtoRepository.buscarPagina(OrdenacaoProduto.NOME, null, 2)).thenReturn(List.of(primeiro, segundo));
+
+        PaginaDTO<ProdutoListagemDTO> pagina = produtoService.listarPagina(1, null, "nome");
+
+        assertEquals(1, pagina.itens().size());
+        assertEquals("Produto Teste", pagina.itens().get(0).nome());
+
+        CursorProduto cursor = CursorProduto.decodificar(pagina.proximoCursor(), OrdenacaoProduto.NOME);
+        assertEquals(1L, cursor.id());
+        assertEquals("Produto Teste", cursor.chave());
+    }
+
+    @Test
+    void buscarPorNome_DeveCarregarProjecaoDosIdsEncontradosNoIndice() {
+        ProdutoListagemDTO listagem = criarListagem(1L, "Produto Teste");
+        when(indiceProduto.buscarPorNome("Teste")).thenReturn(List.of(1L));
+        when(produtoRepository.buscarProjetadoPorIds(List.of(1L))).thenReturn(List.of(listagem));
+
+        List<ProdutoListagemDTO> resultado = produtoService.buscarPorNome("Teste", VERSAO);
+
+        assertEquals(1, resultado.size());
+        assertEquals("Hortifruti", resultado.get(0).categoriaNome());
+    }
+
+    @Test
+    void buscarPorNome_SemResultadosNoIndice_NaoDeveConsultarORepositorio() {
+        when(indiceProduto.buscarPorNome("Inexistente")).thenReturn(List.of());
+
+        assertTrue(produtoService.buscarPorNome("Inexistente", VERSAO).isEmpty());
+        verify(produtoRepository, never()).buscarProjetadoPorIds(any());
+    }
+
+    @Test
+    void pesquisar_DeveManterAOrdemDeRelevanciaDoIndice() {
+        when(indiceLucene.pesquisar("arroz", 20)).thenReturn(List.of(2L, 1L, 3L));
+        when(produtoRepository.buscarProjetadoPorIds(List.of(2L, 1L, 3L)))
+                .thenReturn(List.of(criarListagem(1L, "Arroz Integral"), criarListagem(2L, "Arroz")));
+
+        List<ProdutoListagemDTO> resultado = produtoService.pesquisar("arroz", 20);
+
+        assertEquals(List.of(2L, 1L), resultado.stream().map(ProdutoListagemDTO::id).toList());
+    }
+
+    @Test
+    void buscarPorCodigo_SegundaLeitura_DeveVirDoCache() {
+        when(produtoRepository.findByCodigo("ABC123")).thenReturn(Optional.of(produto));
+
+        assertEquals("Produto Teste", produtoService.buscarPorCodigo("ABC123").nome());
+        assertEquals("Produto Teste", produtoService.buscarPorCodigo("ABC123").nome());
+
+        verify(produtoRepository, times(1)).findByCodigo("ABC123");
+    }
+
+    @Test
+    void buscarPorCodigo_DeveGuardarCopiasDaCategoriaMarcaEFornecedor() {
+        when(produtoRepository.findByCodigo("ABC123")).thenReturn(Optional.of(produto));
+
+        ProdutoDTO resultado = produtoService.buscarPorCodigo("ABC123");
+
+        assertNotSame(produto.getCategoria(), resultado.categoria());
+        assertNotSame(produto.getMarca(), resultado.marca());
+        assertNotSame(produto.getFornecedor(), resultado.fornecedor());
+        assertEquals(produto.getCategoria().getId(), resultado.categoria().getId());
+        assertEquals(produto.getFornecedor().getCnpj(), resultado.fornecedor().getCnpj());
+    }
+
+    @Test
+    void buscarPorCodigo_QuandoNaoEncontrado_DeveLancarExcecao() {
+        when(produtoRepository.findByCodigo("XYZ")).thenReturn(Optional.empty());
+
+        assertThrows(ProdutoNaoEncontradoException.class, () -> produtoService.buscarPorCodigo("XYZ"));
+    }
+
+    @Test
+    void buscarPorCodigos_DeveConsultarSoOsAusentesDoCacheEManterAOrdemPedida() {
+        Produto outro = Produto.builder().id(2L).nome("Outro").codigo("DEF456").build();
+        when(produtoRepository.findByCodigo("ABC123")).thenReturn(Optional.of(produto));
+        when(produtoRepository.findAllByCodigoIn(List.of("DEF456", "NADA"))).thenReturn(List.of(outro));
+        produtoService.buscarPorCodigo("ABC123");
+
+        List<ProdutoDTO> resultado = produtoService.buscarPorCodigos(List.of("DEF456", "ABC123", "NADA", "DEF456"));
+
+        assertEquals(List.of("DEF456", "ABC123"), resultado.stream().map(ProdutoDTO::codigo).toList());
+        verify(produtoRepository).findAllByCodigoIn(List.of("DEF456", "NADA"));
+    }
+
+    @Test
+    void listarPagina_QuandoLimiteInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> produtoService.listarPagina(0, null, "nome"));
+    }
+
     @Test
     void cadastrar_DeveRetornarProdutoDTO_QuandoDadosValidos() {
 
@@ -177,10 +291,10 @@ public class ProdutoServiceTest {
         produtoSalvo.setMarca(marca);
         produtoSalvo.setFornecedor(fornecedor);
 
-        when(produtoRepository.findByNomeIgnoreCase("Banana")).thenReturn(Optional.empty());
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
-        when(marcaRepository.findById(1L)).thenReturn(Optional.of(marca));
-        when(fornecedorRepository.findById(1L)).thenReturn(Optional.of(fornecedor));
+        when(produtoRepository.buscarConflitos("Banana", "banana", dto.codigo())).thenReturn(List.of());
+        when(categoriaService.buscarReferencia(1L)).thenReturn(categoria);
+        when(marcaService.buscarReferencia(1L)).thenReturn(marca);
+        when(fornecedorService.buscarReferencia(1L)).thenReturn(fornecedor);
         when(produtoRepository.save(any(Produto.class))).thenReturn(produtoSalvo);
 
         ProdutoDTO resultado = produtoService.cadastrar(dto);
@@ -250,9 +364,9 @@ public class ProdutoServiceTest {
         );
 
         when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
-        when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoria));
-        when(marcaRepository.findById(1L)).thenReturn(Optional.of(marca));
-        when(fornecedorRepository.findById(1L)).thenReturn(Optional.of(fornecedor));
+        when(categoriaService.buscarReferencia(1L)).thenReturn(categoria);
+        when(marcaService.buscarReferencia(1L)).thenReturn(marca);
+        when(fornecedorService.buscarReferencia(1L)).thenReturn(fornecedor);
         when(produtoRepository.save(any(Produto.class))).thenReturn(atualizado);
 
         Optional<ProdutoDTO> resultado = produtoService.atualizar(1L, dto);
@@ -260,6 +374,46 @@ public class ProdutoServiceTest {
         assertEquals("Atualizado", resultado.get().nome());
     }
 
+    @Test
+    void atualizar_ComCodigoDeOutroProduto_DeveLancarExcecao() {
+        ProdutoDTO dto = new ProdutoDTO(null, produto.getNome(), produto.getDescricao(), produto.getValor(),
+                produto.getQuantidade(), produto.isDisponivel(), produto.getUnidadeMedida(), "DEF456",
+                produto.getEstoqueMinimo(), produto.getEstoqueMaximo(), null, produto.getDataEntrada(), null,
+                produto.getCategoria(), produto.getMarca(), produto.getFornecedor());
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.existsByCodigo("DEF456")).thenReturn(true);
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> produtoService.atualizar(1L, dto));
+
+        assertEquals("Já existe um produto com o código DEF456", erro.getMessage());
+        assertEquals("ABC123", produto.getCodigo());
+        verify(produtoRepository, never()).save(any());
+    }
+
+    @Test
+    void atualizarAtributo_ComCodigoDeOutroProduto_DeveLancarExcecao() {
+        ProdutoDTO dto = new ProdutoDTO(null, null, null, null, null, null, null, "DEF456",
+                null, null, null, null, null, null, null, null);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.existsByCodigo("DEF456")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> produtoService.atualizarAtributo(1L, dto));
+
+        verify(produtoRepository, never()).save(any());
+    }
+
+    @Test
+    void atualizarAtributo_ComOProprioCodigo_NaoDeveConsultarConflito() {
+        ProdutoDTO dto = new ProdutoDTO(null, "Novo nome", null, null, null, null, null, "ABC123",
+                null, null, null, null, null, null, null, null);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.save(produto)).thenReturn(produto);
+
+        assertEquals("Novo nome", produtoService.atualizarAtributo(1L, dto).get().nome());
+
+        verify(produtoRepository, never()).existsByCodigo(any());
+    }
+
     @Test
     void excluir_QuandoIdValido_DeveChamarDelete() {
         when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
@@ -269,5 +423,9 @@ public class ProdutoServiceTest {
         verify(produtoRepository).delete(produto);
     }
 
+    private ProdutoListagemDTO criarListagem(Long id, String nome) {
+        return new ProdutoListagemDTO(id, nome, "Descrição", BigDecimal.TEN, 10, true, UnidadeMedida.UNIDADE,
+                "ABC123", 1, 100, null, LocalDate.now(), null,
+                1L, "Hortifruti", 1L, "Marca", 1L, "Fornecedor Existente");
+    }
 }
-
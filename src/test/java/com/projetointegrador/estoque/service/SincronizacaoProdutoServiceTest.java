@@ -0,0 +1,83 @@
+package com.projetointegrador.estoque.service;
+
+import com.projetointegrador.estoque.dto.AlteracoesProdutoDTO;
+import com.projetointegrador.estoque.dto.PosicaoAlteracao;
+import com.projetointegrador.estoque.dto.ProdutoListagemDTO;
+import com.projetointegrador.estoque.model.VersaoTabela;
+import com.projetointegrador.estoque.repository.ProdutoRemovidoRepository;
+import com.projetointegrador.estoque.repository.ProdutoRepository;
+import com.projetointegrador.estoque.repository.VersaoTabelaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SincronizacaoProdutoServiceTest {
+
+    @InjectMocks
+    private SincronizacaoProdutoService sincronizacaoProdutoService;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private ProdutoRemovidoRepository produtoRemovidoRepository;
+
+    @Mock
+    private VersaoTabelaRepository versaoTabelaRepository;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(versaoTabelaRepository.findById("PRODUTOS")).thenReturn(Optional.of(new VersaoTabela("PRODUTOS", 9L, 0L)));
+    }
+
+    private static ProdutoListagemDTO produto(Long id) {
+        return new ProdutoListagemDTO(id, "Produto " + id, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    void listarAlteracoes_DeveIntercalarAlteracoesERemocoesPelaSequencia() {
+        when(produtoRepository.buscarAlteracoesApos(eq(-1L), eq(0L), eq(9L), any())).thenReturn(List.of(
+                new PosicaoAlteracao(1L, 7L), new PosicaoAlteracao(3L, 2L)));
+        when(produtoRemovidoRepository.buscarRemocoesApos(eq(-1L), eq(0L), eq(9L), any())).thenReturn(List.of(
+                new PosicaoAlteracao(2L, 5L)));
+        when(produtoRepository.buscarProjetadoPorIds(List.of(7L))).thenReturn(List.of(produto(7L)));
+
+        AlteracoesProdutoDTO alteracoes = sincronizacaoProdutoService.listarAlteracoes(null, 2);
+
+        assertEquals(List.of(produto(7L)), alteracoes.atualizados());
+        assertEquals(List.of(5L), alteracoes.removidos());
+        assertTrue(alteracoes.temMais());
+        assertEquals(new PosicaoAlteracao(2L, 5L), PosicaoAlteracao.decodificar(alteracoes.proximoToken()));
+    }
+
+    @Test
+    void listarAlteracoes_QuandoNaoHaMais_DeveAvancarOTokenAteAVersaoAtual() {
+        PosicaoAlteracao apos = new PosicaoAlteracao(4L, 3L);
+        when(produtoRepository.buscarAlteracoesApos(eq(4L), eq(3L), eq(9L), any())).thenReturn(List.of());
+        when(produtoRemovidoRepository.buscarRemocoesApos(eq(4L), eq(3L), eq(9L), any())).thenReturn(List.of());
+
+        AlteracoesProdutoDTO alteracoes = sincronizacaoProdutoService.listarAlteracoes(apos.codificar(), 100);
+
+        assertTrue(alteracoes.atualizados().isEmpty());
+        assertFalse(alteracoes.temMais());
+        assertEquals(new PosicaoAlteracao(9L, Long.MAX_VALUE), PosicaoAlteracao.decodificar(alteracoes.proximoToken()));
+        verify(produtoRepository, never()).buscarProjetadoPorIds(any());
+    }
+
+    @Test
+    void listarAlteracoes_ComLimiteInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> sincronizacaoProdutoService.listarAlteracoes(null, 0));
+    }
+}
@@ -6,21 +6,27 @@ import com.projetointegrador.estoque.enums.UnidadeMedida;
 import com.projetointegrador.estoque.exeption.AcessoNegadoException;
 import com.projetointegrador.estoque.model.*;
 import com.projetointegrador.estoque.repository.*;
+import com.projetointegrador.estoque.security.CachePrincipais;
 import com.projetointegrador.estoque.security.JwtService;
+import com.projetointegrador.estoque.security.UserDetailsImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,6 +50,9 @@ class UsuarioServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private CachePrincipais cachePrincipais = new CachePrincipais(100, Duration.ofMinutes(1));
+
     private final String ADMIN_EMAIL = "admin@email.com";
 
     @BeforeEach
@@ -110,7 +119,7 @@ class UsuarioServiceTest {
         UsuarioLoginDTO login = new UsuarioLoginDTO("maria@email.com", "123");
 
         when(usuarioRepository.findByEmail("maria@email.com")).thenReturn(Optional.of(usuario));
-        when(jwtService.generateToken(anyString(), anySet())).thenReturn("token123");
+        when(jwtService.generateToken(usuario)).thenReturn("token123");
 
         Optional<UsuarioDTO> resultado = usuarioService.autenticarUsuario(login);
 
@@ -118,4 +127,64 @@ class UsuarioServiceTest {
         assertEquals("Maria", resultado.get().nome());
         assertEquals("Bearer token123", resultado.get().token());
     }
+
+    @Test
+    void atualizar_QuandoEmailMuda_DeveDescartarPrincipalDoEmailAntigoEDoNovo() {
+        Usuario existente = new Usuario(1L, "Maria", "maria@email.com", "hash", new HashSet<>(Set.of(Role.USER)));
+        Usuario alteracao = new Usuario(1L, "Maria", "maria.nova@email.com", null, null);
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        cachePrincipais.obter("maria@email.com", email -> carregar(existente, carregamentos));
+        cachePrincipais.obter("maria@email.com", email -> carregar(existente, carregamentos));
+        assertEquals(1, carregamentos.get());
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(existente));
+        when(usuarioRepository.findByEmail("maria.nova@email.com")).thenReturn(Optional.empty());
+        when(usuarioRepository.save(existente)).thenReturn(existente);
+
+        usuarioService.atualizar(alteracao);
+
+        verify(cachePrincipais).invalidar("maria@email.com", "maria.nova@email.com");
+        assertEquals(1, existente.getVersaoToken());
+        cachePrincipais.obter("maria@email.com", email -> carregar(existente, carregamentos));
+        assertEquals(2, carregamentos.get());
+    }
+
+    @Test
+    void atualizar_QuandoSoONomeMuda_NaoDeveAlterarAVersaoDoToken() {
+        Usuario existente = new Usuario(1L, "Maria", "maria@email.com", "hash", new HashSet<>(Set.of(Role.USER)));
+        Usuario alteracao = new Usuario(1L, "Maria Souza", "maria@email.com", null, Set.of(Role.USER));
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(existente));
+        when(usuarioRepository.findByEmail("maria@email.com")).thenReturn(Optional.of(existente));
+        when(usuarioRepository.save(existente)).thenReturn(existente);
+
+        usuarioService.atualizar(alteracao);
+
+        assertEquals("Maria Souza", existente.getNome());
+        assertEquals(0, existente.getVersaoToken());
+    }
+
+    @Test
+    void deletar_DeveDescartarPrincipalDoUsuarioExcluido() {
+        Usuario admin = new Usuario(1L, "Administrador", ADMIN_EMAIL, "hash", Set.of(Role.ADMIN));
+        Usuario excluido = new Usuario(2L, "João", "joao@email.com", "hash", Set.of(Role.USER));
+        AtomicInteger carregamentos = new AtomicInteger();
+        cachePrincipais.obter("joao@email.com", email -> carregar(excluido, carregamentos));
+
+        when(usuarioRepository.findByEmail(ADMIN_EMAIL)).thenReturn(Optional.of(admin));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(excluido));
+
+        usuarioService.deletar(2L, ADMIN_EMAIL);
+
+        verify(usuarioRepository).delete(excluido);
+        verify(cachePrincipais).invalidar("joao@email.com");
+        cachePrincipais.obter("joao@email.com", email -> carregar(excluido, carregamentos));
+        assertEquals(2, carregamentos.get());
+    }
+
+    private UserDetails carregar(Usuario usuario, AtomicInteger carregamentos) {
+        carregamentos.incrementAndGet();
+        return new UserDetailsImpl(usuario);
+    }
 }